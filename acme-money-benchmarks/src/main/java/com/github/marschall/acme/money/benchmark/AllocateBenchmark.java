@@ -0,0 +1,95 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.marschall.acme.money.FastMoney6;
+import com.github.marschall.acme.money.FastMoney6Allocator;
+
+/**
+ * Compares allocating an amount by ratios with {@link FastMoney6Allocator}
+ * to allocating with {@link FastMoney6#multiply(Number)} and
+ * {@link FastMoney6#divide(long)}, which loses the remainders.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class AllocateBenchmark {
+
+  private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  private FastMoney6 total;
+
+  private long[] ratios;
+
+  private long ratioSum;
+
+  private long[] result;
+
+  private FastMoney6[] amounts;
+
+  @Setup
+  public void setup() {
+    this.total = FastMoney6.of(BigDecimal.valueOf(123456789_12L, 2), EURO);
+    Random random = new Random(42L);
+    this.ratios = new long[this.size];
+    this.ratioSum = 0L;
+    for (int i = 0; i < this.ratios.length; i++) {
+      this.ratios[i] = 1L + random.nextInt(1_000);
+      this.ratioSum += this.ratios[i];
+    }
+    this.result = new long[this.size];
+    this.amounts = new FastMoney6[this.size];
+  }
+
+  @Benchmark
+  public long[] allocateLargestRemainder() {
+    FastMoney6Allocator.allocate(this.total, this.ratios, this.result);
+    return this.result;
+  }
+
+  @Benchmark
+  public long[] allocateRoundRobin() {
+    FastMoney6Allocator.allocateRoundRobin(this.total, this.ratios, this.result);
+    return this.result;
+  }
+
+  @Benchmark
+  public long[] split() {
+    FastMoney6Allocator.split(this.total, this.size, this.result);
+    return this.result;
+  }
+
+  @Benchmark
+  public FastMoney6[] allocateMultiplyDivide() {
+    for (int i = 0; i < this.amounts.length; i++) {
+      this.amounts[i] = this.total.multiply(this.ratios[i]).divide(this.ratioSum);
+    }
+    return this.amounts;
+  }
+
+}
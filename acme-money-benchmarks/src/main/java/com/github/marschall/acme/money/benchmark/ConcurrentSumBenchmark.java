@@ -0,0 +1,87 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+import static org.openjdk.jmh.results.format.ResultFormatType.TEXT;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.marschall.acme.money.FastMoney6;
+import com.github.marschall.acme.money.FastMoney6Adder;
+
+/**
+ * Compares a {@link FastMoney6Adder} to a CAS loop on an {@link AtomicReference}
+ * under contention.
+ *
+ * <p>
+ * Use {@link #main(String[])} to run with 1 to 64 threads.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class ConcurrentSumBenchmark {
+
+  private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+  private static final FastMoney6 AMOUNT = FastMoney6.of(BigDecimal.valueOf(25, 2), EURO);
+
+  private FastMoney6Adder adder;
+
+  private AtomicReference<FastMoney6> reference;
+
+  @Setup
+  public void setup() {
+    this.adder = new FastMoney6Adder(EURO);
+    this.reference = new AtomicReference<>(FastMoney6.of(0L, EURO));
+  }
+
+  @Benchmark
+  public void addAdder() {
+    this.adder.add(AMOUNT);
+  }
+
+  @Benchmark
+  public void addCas() {
+    FastMoney6 current;
+    FastMoney6 updated;
+    do {
+      current = this.reference.get();
+      updated = current.add(AMOUNT);
+    } while (!this.reference.compareAndSet(current, updated));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    for (int threads = 1; threads <= 64; threads *= 2) {
+      Options options = new OptionsBuilder()
+              .include(ConcurrentSumBenchmark.class.getName())
+              .threads(threads)
+              .resultFormat(TEXT)
+              .output(args[0] + '-' + threads)
+              .build();
+      new Runner(options).run();
+    }
+  }
+
+}
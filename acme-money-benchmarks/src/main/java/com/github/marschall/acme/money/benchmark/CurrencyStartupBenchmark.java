@@ -0,0 +1,36 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.SingleShotTime;
+
+import javax.money.CurrencyQueryBuilder;
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the first lookup of a currency in a fresh JVM, this includes
+ * loading the currency table.
+ */
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@BenchmarkMode(SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+public class CurrencyStartupBenchmark {
+
+  @Benchmark
+  public CurrencyUnit firstGetCurrency() {
+    return Monetary.getCurrency(CurrencyQueryBuilder.of()
+            .setProviderName("acme")
+            .setCurrencyCodes("EUR")
+            .build());
+  }
+
+}
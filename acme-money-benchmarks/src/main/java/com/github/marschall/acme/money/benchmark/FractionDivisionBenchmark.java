@@ -0,0 +1,122 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import java.math.BigDecimal;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.RoundedMoney;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.marschall.acme.money.Fraction;
+import com.github.marschall.acme.money.FractionMoney;
+
+/**
+ * Compares the integral division and remainder operations of
+ * {@link FractionMoney} with {@link RoundedMoney}.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class FractionDivisionBenchmark {
+
+  private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+  private static final BigDecimal ONE_POINT_FIVE = BigDecimal.valueOf(15, 1);
+  private static final Fraction ONE_POINT_FIVE_FRACTION = Fraction.of(3L, 2L);
+
+  private RoundedMoney roundedMoney;
+  private FractionMoney fractionMoney;
+
+  @Setup
+  public void setup() {
+    this.roundedMoney = RoundedMoney.of(BigDecimal.valueOf(1995, 2), EURO);
+    this.fractionMoney = FractionMoney.of(1995L, 100L, EURO);
+  }
+
+  @Benchmark
+  public MonetaryAmount remainderLongRounded() {
+    return this.roundedMoney.remainder(3L);
+  }
+
+  @Benchmark
+  public MonetaryAmount remainderLongFraction() {
+    return this.fractionMoney.remainder(3L);
+  }
+
+  @Benchmark
+  public MonetaryAmount remainderDoubleRounded() {
+    return this.roundedMoney.remainder(1.5d);
+  }
+
+  @Benchmark
+  public MonetaryAmount remainderDoubleFraction() {
+    return this.fractionMoney.remainder(1.5d);
+  }
+
+  @Benchmark
+  public MonetaryAmount remainderNumberRounded() {
+    return this.roundedMoney.remainder(ONE_POINT_FIVE);
+  }
+
+  @Benchmark
+  public MonetaryAmount remainderNumberFraction() {
+    return this.fractionMoney.remainder(ONE_POINT_FIVE_FRACTION);
+  }
+
+  @Benchmark
+  public MonetaryAmount divideToIntegralValueLongRounded() {
+    return this.roundedMoney.divideToIntegralValue(3L);
+  }
+
+  @Benchmark
+  public MonetaryAmount divideToIntegralValueLongFraction() {
+    return this.fractionMoney.divideToIntegralValue(3L);
+  }
+
+  @Benchmark
+  public MonetaryAmount divideToIntegralValueNumberRounded() {
+    return this.roundedMoney.divideToIntegralValue(ONE_POINT_FIVE);
+  }
+
+  @Benchmark
+  public MonetaryAmount divideToIntegralValueNumberFraction() {
+    return this.fractionMoney.divideToIntegralValue(ONE_POINT_FIVE_FRACTION);
+  }
+
+  @Benchmark
+  public MonetaryAmount[] divideAndRemainderLongRounded() {
+    return this.roundedMoney.divideAndRemainder(3L);
+  }
+
+  @Benchmark
+  public MonetaryAmount[] divideAndRemainderLongFraction() {
+    return this.fractionMoney.divideAndRemainder(3L);
+  }
+
+  @Benchmark
+  public MonetaryAmount[] divideAndRemainderNumberRounded() {
+    return this.roundedMoney.divideAndRemainder(ONE_POINT_FIVE);
+  }
+
+  @Benchmark
+  public MonetaryAmount[] divideAndRemainderNumberFraction() {
+    return this.fractionMoney.divideAndRemainder(ONE_POINT_FIVE_FRACTION);
+  }
+
+}
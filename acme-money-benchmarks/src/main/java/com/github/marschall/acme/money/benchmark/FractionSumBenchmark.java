@@ -0,0 +1,71 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.marschall.acme.money.FractionAccumulator;
+import com.github.marschall.acme.money.FractionMoney;
+
+/**
+ * Compares summing pro-rata shares with chained {@link FractionMoney#add(javax.money.MonetaryAmount)}
+ * to summing with a {@link FractionAccumulator}.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class FractionSumBenchmark {
+
+  private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  private FractionMoney[] amounts;
+
+  @Setup
+  public void setup() {
+    long[] denominators = {100L, 1_000L, 1_000_000L, 3L};
+    this.amounts = new FractionMoney[this.size];
+    for (int i = 0; i < this.amounts.length; i++) {
+      this.amounts[i] = FractionMoney.of(i, denominators[i % denominators.length], EURO);
+    }
+  }
+
+  @Benchmark
+  public MonetaryAmount sumAdd() {
+    MonetaryAmount sum = FractionMoney.of(0L, 1L, EURO);
+    for (FractionMoney amount : this.amounts) {
+      sum = sum.add(amount);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public FractionMoney sumAccumulator() {
+    FractionAccumulator accumulator = new FractionAccumulator(EURO);
+    for (FractionMoney amount : this.amounts) {
+      accumulator.add(amount);
+    }
+    return accumulator.toFractionMoney();
+  }
+
+}
@@ -0,0 +1,64 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.marschall.acme.money.Fraction;
+
+/**
+ * Creates fractions, which reduces them through the greatest common
+ * divisor, for typical and adversarial numerator / denominator pairs.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class GcdBenchmark {
+
+  @Param({
+    // typical amounts
+    "420/96",
+    "1995/100",
+    "123456789/1000000",
+    "1/3",
+    // adversarial for subtraction based Euclid
+    "1000000000000000000/3",
+    "9223372036854775807/2",
+    // consecutive Fibonacci numbers, adversarial for division based Euclid
+    "7540113804746346429/4660046610375530309",
+    // large common power of two
+    "4611686018427387904/3458764513820540928"
+  })
+  public String fraction;
+
+  private long numerator;
+
+  private long denominator;
+
+  @Setup
+  public void setup() {
+    int slashIndex = this.fraction.indexOf('/');
+    this.numerator = Long.parseLong(this.fraction.substring(0, slashIndex));
+    this.denominator = Long.parseLong(this.fraction.substring(slashIndex + 1));
+  }
+
+  @Benchmark
+  public Fraction fractionOf() {
+    return Fraction.of(this.numerator, this.denominator);
+  }
+
+}
@@ -6,6 +6,7 @@ import static org.openjdk.jmh.annotations.Mode.Throughput;
 import static org.openjdk.jmh.annotations.Scope.Benchmark;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
@@ -45,12 +46,16 @@ public class MoneyOperationsBenchmark {
   private Money money1;
   private FastMoney fastMoney1;
   private FastMoney6 acmeMoney1;
+  private byte[] bytes;
+  private ByteBuffer directBuffer;
 
   @Setup
   public void setup() {
     this.money1 = Money.of(BigDecimal.ONE, EURO);
     this.fastMoney1 = FastMoney.of(BigDecimal.ONE, EURO);
     this.acmeMoney1 = FastMoney6.of(BigDecimal.ONE, EURO);
+    this.bytes = new byte[32];
+    this.directBuffer = ByteBuffer.allocateDirect(32);
   }
 
   @Benchmark
@@ -168,4 +173,15 @@ public class MoneyOperationsBenchmark {
     return this.acmeMoney1.toString();
   }
 
+  @Benchmark
+  public int toStringAcmeBytes() {
+    return this.acmeMoney1.print(this.bytes, 0);
+  }
+
+  @Benchmark
+  public int toStringAcmeByteBuffer() {
+    this.directBuffer.clear();
+    return this.acmeMoney1.print(this.directBuffer);
+  }
+
 }
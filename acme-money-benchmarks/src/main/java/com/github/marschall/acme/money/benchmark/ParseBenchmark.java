@@ -0,0 +1,68 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.marschall.acme.money.FastMoney6;
+
+/**
+ * Parses amounts with an increasing number of significant digits, up to
+ * 13 integer digits followed by up to 6 fraction digits.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class ParseBenchmark {
+
+  private static final String INTEGER_DIGITS = "1234567890123";
+
+  private static final String FRACTION_DIGITS = "456789";
+
+  @Param({"1", "2", "4", "8", "9", "12", "13", "16", "19"})
+  public int digits;
+
+  private String text;
+
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    int integerDigits = Math.min(this.digits, INTEGER_DIGITS.length());
+    int fractionDigits = this.digits - integerDigits;
+    StringBuilder buffer = new StringBuilder("EUR ");
+    buffer.append(INTEGER_DIGITS, 0, integerDigits);
+    if (fractionDigits > 0) {
+      buffer.append('.');
+      buffer.append(FRACTION_DIGITS, 0, fractionDigits);
+    }
+    this.text = buffer.toString();
+    this.bytes = this.text.getBytes(US_ASCII);
+  }
+
+  @Benchmark
+  public FastMoney6 parseAcme() {
+    return FastMoney6.parse(this.text);
+  }
+
+  @Benchmark
+  public FastMoney6 parseAcmeBytes() {
+    return FastMoney6.parse(this.bytes, 0, this.bytes.length);
+  }
+
+}
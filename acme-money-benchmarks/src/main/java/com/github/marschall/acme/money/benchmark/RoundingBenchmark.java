@@ -0,0 +1,61 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import java.math.BigDecimal;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryRounding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.marschall.acme.money.FastMoney6;
+import com.github.marschall.acme.money.FastMoney6Rounding;
+
+/**
+ * Compares rounding a {@link FastMoney6} with the default rounding of
+ * moneta to rounding with a {@link FastMoney6Rounding}.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class RoundingBenchmark {
+
+  private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+  private FastMoney6 amount;
+
+  private MonetaryRounding defaultRounding;
+
+  @Setup
+  public void setup() {
+    this.amount = FastMoney6.of(new BigDecimal("12345.678901"), EURO);
+    this.defaultRounding = Monetary.getDefaultRounding();
+  }
+
+  @Benchmark
+  public MonetaryAmount roundMoneta() {
+    return this.amount.with(this.defaultRounding);
+  }
+
+  @Benchmark
+  public MonetaryAmount roundAcme() {
+    return this.amount.with(FastMoney6Rounding.of(this.amount.getCurrency()));
+  }
+
+}
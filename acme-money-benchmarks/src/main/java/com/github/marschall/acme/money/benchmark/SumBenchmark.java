@@ -0,0 +1,71 @@
+package com.github.marschall.acme.money.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import java.math.BigDecimal;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.marschall.acme.money.FastMoney6;
+import com.github.marschall.acme.money.FastMoney6Accumulator;
+
+/**
+ * Compares summing amounts with chained {@link FastMoney6#add(javax.money.MonetaryAmount)}
+ * to summing with a {@link FastMoney6Accumulator}.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(3)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@State(Benchmark)
+public class SumBenchmark {
+
+  private static final CurrencyUnit EURO = Monetary.getCurrency("EUR");
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  private FastMoney6[] amounts;
+
+  @Setup
+  public void setup() {
+    this.amounts = new FastMoney6[this.size];
+    for (int i = 0; i < this.amounts.length; i++) {
+      this.amounts[i] = FastMoney6.of(BigDecimal.valueOf(i, 2), EURO);
+    }
+  }
+
+  @Benchmark
+  public FastMoney6 sumAdd() {
+    FastMoney6 sum = FastMoney6.of(0L, EURO);
+    for (FastMoney6 amount : this.amounts) {
+      sum = sum.add(amount);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public FastMoney6 sumAccumulator() {
+    FastMoney6Accumulator accumulator = new FastMoney6Accumulator(EURO);
+    for (FastMoney6 amount : this.amounts) {
+      accumulator.add(amount);
+    }
+    return accumulator.toFastMoney6();
+  }
+
+}
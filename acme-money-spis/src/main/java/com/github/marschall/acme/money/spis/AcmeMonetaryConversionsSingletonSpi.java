@@ -215,7 +215,7 @@ public final class AcmeMonetaryConversionsSingletonSpi implements MonetaryConver
       if (wantedProviderName == null || wantedProviderName.equals(this.providerName)) {
         return this.provider.getCurrencyConversion(conversionQuery);
       }
-      return false;
+      throw new MonetaryException("No such conversion: " + conversionQuery);
     }
 
     @Override
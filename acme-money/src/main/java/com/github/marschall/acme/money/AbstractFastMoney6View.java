@@ -0,0 +1,90 @@
+package com.github.marschall.acme.money;
+
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * Base class for reusable, mutable views on columnar {@link FastMoney6}
+ * amounts.
+ *
+ * <p>
+ * Subclasses position the view, this class implements the accessors on
+ * top of the value and compressed currency of the current amount.
+ */
+abstract class AbstractFastMoney6View {
+
+  AbstractFastMoney6View() {
+    super();
+  }
+
+  /**
+   * Returns the numeric value of the current amount.
+   *
+   * @return the value with scale {@link FastMoney6#SCALE}
+   * @throws IndexOutOfBoundsException if the view is not on an amount
+   */
+  abstract long value();
+
+  /**
+   * Returns the compressed currency code of the current amount.
+   *
+   * @return the compressed currency code
+   * @throws IndexOutOfBoundsException if the view is not on an amount
+   */
+  abstract short compressedCurrency();
+
+  /**
+   * Returns the currency of the current amount.
+   *
+   * @return the currency, not null
+   */
+  public CurrencyUnit getCurrency() {
+    return IsoCurrencyProvider.getCurrency(this.compressedCurrency());
+  }
+
+  /**
+   * Returns the signum of the current amount.
+   *
+   * @return -1, 0, or 1 as the current amount is negative, zero, or positive
+   */
+  public int signum() {
+    return Long.signum(this.value());
+  }
+
+  /**
+   * Checks if the current amount is zero.
+   *
+   * @return {@code true} if the current amount is zero
+   */
+  public boolean isZero() {
+    return this.value() == 0L;
+  }
+
+  /**
+   * Adds the current amount to an accumulator.
+   *
+   * @param accumulator the accumulator to add to, not null
+   * @throws javax.money.MonetaryException if the currency does not match
+   * @throws ArithmeticException on overflow
+   */
+  public void addTo(FastMoney6Accumulator accumulator) {
+    Objects.requireNonNull(accumulator, "accumulator");
+    accumulator.add(this.value(), this.getCurrency());
+  }
+
+  /**
+   * Creates a new {@link FastMoney6} from the current amount.
+   *
+   * @return a new amount, not null
+   */
+  public FastMoney6 toFastMoney6() {
+    return new FastMoney6(this.value(), this.getCurrency());
+  }
+
+  @Override
+  public String toString() {
+    return this.toFastMoney6().toString();
+  }
+
+}
@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.Locale;
 import java.util.Set;
 
+import javax.money.MonetaryAmountFactory;
 import javax.money.format.AmountFormatQuery;
 import javax.money.format.MonetaryAmountFormat;
 import javax.money.spi.MonetaryAmountFormatProviderSpi;
@@ -28,12 +29,29 @@ public final class AcmeFormatProviderSpi implements MonetaryAmountFormatProvider
 
   @Override
   public Collection<MonetaryAmountFormat> getAmountFormats(AmountFormatQuery formatQuery) {
+    Locale locale = formatQuery.getLocale();
+    if (locale != null && !FastMoney6AmountFormat.NAME.equals(formatQuery.getFormatName()) && isFastMoney6Query(formatQuery)
+            && FastMoney6LocaleAmountFormat.isSupported(locale)) {
+      return Collections.singleton(FastMoney6LocaleAmountFormat.of(locale));
+    }
     return Collections.singleton(FastMoney6AmountFormat.INSTANCE);
   }
 
+  /**
+   * Locale specific formats are only returned when explicitly asked for so
+   * that we don't replace the formats of other providers.
+   */
+  private static boolean isFastMoney6Query(AmountFormatQuery formatQuery) {
+    MonetaryAmountFactory<?> factory = formatQuery.getMonetaryAmountFactory();
+    if (factory != null) {
+      return factory.getAmountType() == FastMoney6.class;
+    }
+    return formatQuery.getProviderNames().contains(AcmeMoneyConstants.PROVIDER_NAME);
+  }
+
   @Override
   public Set<Locale> getAvailableLocales() {
-    return Collections.emptySet();
+    return FastMoney6LocaleAmountFormat.getAvailableLocales();
   }
 
   @Override
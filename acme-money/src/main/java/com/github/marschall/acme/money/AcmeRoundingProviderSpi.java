@@ -0,0 +1,60 @@
+package com.github.marschall.acme.money;
+
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingQuery;
+import javax.money.spi.RoundingProviderSpi;
+
+/**
+ * Registers our {@link FastMoney6Rounding} implementations.
+ */
+public final class AcmeRoundingProviderSpi implements RoundingProviderSpi {
+
+  /**
+   * Not supposed to be called by user code.
+   */
+  public AcmeRoundingProviderSpi() {
+    super();
+  }
+
+  @Override
+  public String getProviderName() {
+    return AcmeMoneyConstants.PROVIDER_NAME;
+  }
+
+  @Override
+  public MonetaryRounding getRounding(RoundingQuery roundingQuery) {
+    // only answer queries explicitly for us so that we don't replace the
+    // roundings of other providers, eg. the default rounding
+    if (!roundingQuery.getProviderNames().contains(AcmeMoneyConstants.PROVIDER_NAME)
+        || (roundingQuery.getRoundingName() != null)) {
+      return null;
+    }
+    RoundingMode roundingMode = roundingQuery.get(RoundingMode.class);
+    if (roundingMode == null) {
+      roundingMode = RoundingMode.HALF_EVEN;
+    }
+    Integer scale = roundingQuery.getScale();
+    if (scale != null) {
+      if ((scale < 0) || (scale > FastMoney6.SCALE)) {
+        return null;
+      }
+      return FastMoney6Rounding.of(scale, roundingMode);
+    }
+    CurrencyUnit currency = roundingQuery.getCurrency();
+    if (currency != null) {
+      return FastMoney6Rounding.of(currency, roundingMode);
+    }
+    return null;
+  }
+
+  @Override
+  public Set<String> getRoundingNames() {
+    return Collections.emptySet();
+  }
+
+}
@@ -2,9 +2,50 @@ package com.github.marschall.acme.money;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 
 final class DecimalMath {
 
+  /**
+   * The largest power of ten that fits into a long.
+   */
+  static final int MAX_POWER_OF_TEN = 18;
+
+  private static final long[] POWERS_OF_TEN = {
+      1L,
+      10L,
+      100L,
+      1_000L,
+      10_000L,
+      100_000L,
+      1_000_000L,
+      10_000_000L,
+      100_000_000L,
+      1_000_000_000L,
+      10_000_000_000L,
+      100_000_000_000L,
+      1_000_000_000_000L,
+      10_000_000_000_000L,
+      100_000_000_000_000L,
+      1_000_000_000_000_000L,
+      10_000_000_000_000_000L,
+      100_000_000_000_000_000L,
+      1_000_000_000_000_000_000L
+  };
+
+  /**
+   * The ASCII digits of all numbers from 0 to 99, two bytes per number.
+   */
+  private static final byte[] DIGIT_PAIRS;
+
+  static {
+    DIGIT_PAIRS = new byte[200];
+    for (int i = 0; i < 100; i++) {
+      DIGIT_PAIRS[i * 2] = (byte) ('0' + (i / 10));
+      DIGIT_PAIRS[i * 2 + 1] = (byte) ('0' + (i % 10));
+    }
+  }
+
   private DecimalMath() {
     throw new AssertionError("not instantiable");
   }
@@ -56,6 +97,140 @@ final class DecimalMath {
     }
   }
 
+  /**
+   * Returns the number of bytes {@link #fastNumber6ToBytes(long, byte[], int)}
+   * writes.
+   *
+   * @param number6 the number with scale {@link FastMoney6#SCALE}
+   * @return the number of bytes
+   */
+  static int fastNumber6Length(long number6) {
+    long integerPart = Math.abs(number6 / FastMoney6.DIVISOR);
+    return (number6 < 0L ? 1 : 0) + digitCount(integerPart) + 1 + FastMoney6.SCALE;
+  }
+
+  /**
+   * Returns the number of decimal digits of a non-negative number.
+   *
+   * @param number the number, not negative
+   * @return the number of digits, at least 1
+   */
+  static int digitCount(long number) {
+    // approximates log10 with log2 * log10(2), off by at most one
+    int guess = ((64 - Long.numberOfLeadingZeros(number)) * 1233) >>> 12;
+    return number < POWERS_OF_TEN[guess] ? Math.max(guess, 1) : guess + 1;
+  }
+
+  /**
+   * Writes a number with scale {@link FastMoney6#SCALE} as ASCII in the
+   * same format as {@link #fastNumber6ToStringOn(long, Appendable)}.
+   *
+   * @param number6 the number with scale {@link FastMoney6#SCALE}
+   * @param target the array to write to
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   */
+  static int fastNumber6ToBytes(long number6, byte[] target, int offset) {
+    // the remainder and quotient of a negative number are both not positive
+    // and their absolute values fit into a long even for Long.MIN_VALUE
+    long integerPart = Math.abs(number6 / FastMoney6.DIVISOR);
+    int fractionPart = (int) Math.abs(number6 % FastMoney6.DIVISOR);
+    int position = offset;
+    if (number6 < 0L) {
+      target[position++] = '-';
+    }
+    int end = position + digitCount(integerPart);
+    writeDigits(integerPart, target, end);
+    target[end] = '.';
+    writeFraction(fractionPart, target, end + 1);
+    return end + 1 + FastMoney6.SCALE;
+  }
+
+  /**
+   * Writes a number with scale {@link FastMoney6#SCALE} as ASCII in the
+   * same format as {@link #fastNumber6ToStringOn(long, Appendable)}.
+   *
+   * @param number6 the number with scale {@link FastMoney6#SCALE}
+   * @param target the buffer to write to
+   * @param index the index of the first byte to write
+   * @return the index after the last byte written
+   */
+  static int fastNumber6ToBytes(long number6, ByteBuffer target, int index) {
+    long integerPart = Math.abs(number6 / FastMoney6.DIVISOR);
+    int fractionPart = (int) Math.abs(number6 % FastMoney6.DIVISOR);
+    int position = index;
+    if (number6 < 0L) {
+      target.put(position++, (byte) '-');
+    }
+    int end = position + digitCount(integerPart);
+    long remaining = integerPart;
+    int digitIndex = end;
+    while (remaining >= 100L) {
+      int pair = (int) (remaining % 100L) * 2;
+      remaining /= 100L;
+      target.put(--digitIndex, DIGIT_PAIRS[pair + 1]);
+      target.put(--digitIndex, DIGIT_PAIRS[pair]);
+    }
+    int pair = (int) remaining * 2;
+    target.put(--digitIndex, DIGIT_PAIRS[pair + 1]);
+    if (remaining >= 10L) {
+      target.put(--digitIndex, DIGIT_PAIRS[pair]);
+    }
+    target.put(end, (byte) '.');
+    int fractionIndex = end + 1;
+    for (int divisor = 10_000; divisor > 0; divisor /= 100) {
+      int fractionPair = ((fractionPart / divisor) % 100) * 2;
+      target.put(fractionIndex++, DIGIT_PAIRS[fractionPair]);
+      target.put(fractionIndex++, DIGIT_PAIRS[fractionPair + 1]);
+    }
+    return fractionIndex;
+  }
+
+  /**
+   * Writes the digits of a non-negative number, two digits per step,
+   * starting from the last digit.
+   */
+  private static void writeDigits(long number, byte[] target, int end) {
+    long remaining = number;
+    int index = end;
+    while (remaining >= 100L) {
+      int pair = (int) (remaining % 100L) * 2;
+      remaining /= 100L;
+      target[--index] = DIGIT_PAIRS[pair + 1];
+      target[--index] = DIGIT_PAIRS[pair];
+    }
+    int pair = (int) remaining * 2;
+    target[--index] = DIGIT_PAIRS[pair + 1];
+    if (remaining >= 10L) {
+      target[--index] = DIGIT_PAIRS[pair];
+    }
+  }
+
+  /**
+   * Writes the six digits of a fraction part including leading zeros.
+   */
+  private static void writeFraction(int fractionPart, byte[] target, int index) {
+    int high = (fractionPart / 10_000) * 2;
+    int middle = ((fractionPart / 100) % 100) * 2;
+    int low = (fractionPart % 100) * 2;
+    target[index] = DIGIT_PAIRS[high];
+    target[index + 1] = DIGIT_PAIRS[high + 1];
+    target[index + 2] = DIGIT_PAIRS[middle];
+    target[index + 3] = DIGIT_PAIRS[middle + 1];
+    target[index + 4] = DIGIT_PAIRS[low];
+    target[index + 5] = DIGIT_PAIRS[low + 1];
+  }
+
+  /**
+   * Returns 10 to the power of the given exponent.
+   *
+   * @param exponent the exponent, between 0 and {@link #MAX_POWER_OF_TEN}
+   * @return 10 to the power of {@code exponent}
+   */
+  static long powerOfTen(int exponent) {
+    return POWERS_OF_TEN[exponent];
+  }
+
   static long pow10(long base, int exponent) {
     if (exponent == 0L) {
       return 1L;
@@ -7,6 +7,9 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Objects;
 
 import javax.money.CurrencyUnit;
@@ -265,32 +268,30 @@ public final class FastMoney6 implements MonetaryAmount, Comparable<MonetaryAmou
   @Override
   public FastMoney6 divide(Number divisor) {
     Objects.requireNonNull(divisor, "divisor");
-    if (isOne(divisor)) {
+    NumberAccessor accessor = getAccessor(divisor);
+    if (accessor.isOne(divisor)) {
       return this;
     }
-    BigDecimal bigDecimalDivisor = convertToBigDecimal(divisor);
-    return new FastMoney6(this.getBigDecimal().divide(bigDecimalDivisor, SCALE, ROUNDING_MODE), this.currency);
+    return new FastMoney6(accessor.divide(this.value, divisor), this.currency);
   }
 
   @Override
   public FastMoney6[] divideAndRemainder(Number divisor) {
     Objects.requireNonNull(divisor, "divisor");
-    if (isOne(divisor)) {
-      return new FastMoney6[]{this, FastMoney6.of(0, this.currency)};
-    }
-    BigDecimal div = convertToBigDecimal(divisor);
-    BigDecimal[] result = this.getBigDecimal().divideAndRemainder(div);
-    return new FastMoney6[]{new FastMoney6(result[0], this.currency), new FastMoney6(result[1], this.currency)};
+    NumberAccessor accessor = getAccessor(divisor);
+    long quotient = accessor.divideToIntegralValue(this.value, divisor);
+    long remainder = accessor.remainder(this.value, divisor);
+    return new FastMoney6[]{new FastMoney6(quotient, this.currency), new FastMoney6(remainder, this.currency)};
   }
 
   @Override
   public FastMoney6 divideToIntegralValue(Number divisor) {
     Objects.requireNonNull(divisor, "divisor");
-    if (isOne(divisor)) {
+    long quotient = getAccessor(divisor).divideToIntegralValue(this.value, divisor);
+    if (quotient == this.value) {
       return this;
     }
-    BigDecimal div = convertToBigDecimal(divisor);
-    return new FastMoney6(this.getBigDecimal().divideToIntegralValue(div), this.currency);
+    return new FastMoney6(quotient, this.currency);
   }
 
   @Override
@@ -343,10 +344,6 @@ public final class FastMoney6 implements MonetaryAmount, Comparable<MonetaryAmou
     return getAccessor(number).isOne(number);
   }
 
-  private static BigDecimal convertToBigDecimal(Number number) {
-    return getAccessor(number).convertToBigDecimal(number);
-  }
-
   @Override
   public FastMoney6 scaleByPowerOfTen(int power) {
     // not really correct, different scale
@@ -436,6 +433,86 @@ public final class FastMoney6 implements MonetaryAmount, Comparable<MonetaryAmou
     DecimalMath.fastNumber6ToStringOn(this.value, appendable);
   }
 
+  /**
+   * Writes this amount as ASCII in the format of {@link #toString()}, for
+   * example 'EUR 25.250000', without allocating.
+   *
+   * @param target the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws IndexOutOfBoundsException if the amount does not fit into the array
+   */
+  public int print(byte[] target, int offset) {
+    Objects.requireNonNull(target, "target");
+    String currencyCode = this.currency.getCurrencyCode();
+    int length = this.printedLength(currencyCode);
+    if (offset < 0 || offset > target.length - length) {
+      throw new IndexOutOfBoundsException("offset: " + offset + " length: " + length + " array length: " + target.length);
+    }
+    int position = writeCurrencyCode(currencyCode, target, offset);
+    target[position] = ' ';
+    return DecimalMath.fastNumber6ToBytes(this.value, target, position + 1);
+  }
+
+  /**
+   * Writes this amount as ASCII in the format of {@link #toString()}, for
+   * example 'EUR 25.250000', at the position of a buffer without
+   * allocating.
+   *
+   * @param target the buffer to write to, not null, the position is
+   *               advanced by the number of bytes written
+   * @return the new position of the buffer
+   * @throws BufferOverflowException if the amount does not fit into the
+   *                                 remaining bytes of the buffer
+   * @throws ReadOnlyBufferException if the buffer is read-only
+   */
+  public int print(ByteBuffer target) {
+    Objects.requireNonNull(target, "target");
+    if (target.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+    String currencyCode = this.currency.getCurrencyCode();
+    int length = this.printedLength(currencyCode);
+    if (target.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    int position = target.position();
+    int end;
+    if (target.hasArray()) {
+      int arrayOffset = target.arrayOffset();
+      byte[] array = target.array();
+      int index = writeCurrencyCode(currencyCode, array, arrayOffset + position);
+      array[index] = ' ';
+      end = DecimalMath.fastNumber6ToBytes(this.value, array, index + 1) - arrayOffset;
+    } else {
+      int index = position;
+      for (int i = 0; i < currencyCode.length(); i++) {
+        target.put(index++, (byte) currencyCode.charAt(i));
+      }
+      target.put(index, (byte) ' ');
+      end = DecimalMath.fastNumber6ToBytes(this.value, target, index + 1);
+    }
+    target.position(end);
+    return end;
+  }
+
+  private int printedLength(String currencyCode) {
+    for (int i = 0; i < currencyCode.length(); i++) {
+      if (currencyCode.charAt(i) > 0x7F) {
+        throw new IllegalArgumentException("currency code is not ASCII: " + currencyCode);
+      }
+    }
+    return currencyCode.length() + 1 + DecimalMath.fastNumber6Length(this.value);
+  }
+
+  private static int writeCurrencyCode(String currencyCode, byte[] target, int offset) {
+    int position = offset;
+    for (int i = 0; i < currencyCode.length(); i++) {
+      target[position++] = (byte) currencyCode.charAt(i);
+    }
+    return position;
+  }
+
   @Override
   public FastMoney6 with(MonetaryOperator operator) {
     Objects.requireNonNull(operator, "operator");
@@ -481,6 +558,47 @@ public final class FastMoney6 implements MonetaryAmount, Comparable<MonetaryAmou
     return from(formatter.parse(text));
   }
 
+  /**
+   * Obtains an instance of {@link FastMoney6} from ASCII bytes such as 'EUR 25.25'.
+   *
+   * <p>
+   * Follows the same rules as {@link #parse(CharSequence)} but avoids
+   * decoding the bytes to a {@link String}. Error indices of
+   * {@link MonetaryParseException} are relative to {@code offset}.
+   *
+   * @param text the bytes to parse not null
+   * @param offset the index of the first byte to parse
+   * @param length the number of bytes to parse
+   * @return FastMoney instance
+   * @throws NullPointerException
+   * @throws IndexOutOfBoundsException if offset and length are outside the array
+   * @throws MonetaryParseException
+   * @throws UnknownCurrencyException
+   */
+  public static FastMoney6 parse(byte[] text, int offset, int length) {
+    return FastMoney6AmountFormat.parse(text, offset, length);
+  }
+
+  /**
+   * Obtains an instance of {@link FastMoney6} from the remaining ASCII bytes
+   * of a buffer such as 'EUR 25.25'.
+   *
+   * <p>
+   * Follows the same rules as {@link #parse(CharSequence)} but avoids
+   * decoding the bytes to a {@link String}. The position of the buffer is
+   * not changed, error indices of {@link MonetaryParseException} are
+   * relative to the position.
+   *
+   * @param text the buffer to parse not null
+   * @return FastMoney instance
+   * @throws NullPointerException
+   * @throws MonetaryParseException
+   * @throws UnknownCurrencyException
+   */
+  public static FastMoney6 parse(ByteBuffer text) {
+    return FastMoney6AmountFormat.parse(text);
+  }
+
   private BigDecimal getBigDecimal() {
     return DecimalMath.bigDecimal(this.value);
   }
@@ -0,0 +1,207 @@
+package com.github.marschall.acme.money;
+
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryException;
+
+/**
+ * Mutable accumulator for {@link FastMoney6} amounts of a single currency.
+ *
+ * <p>
+ * Unlike {@link FastMoney6#add(javax.money.MonetaryAmount)} updating an
+ * accumulator does not allocate, a {@link FastMoney6} is only created by
+ * {@link #toFastMoney6()}. All operations check for overflow like
+ * {@link Math#addExact(long, long)}. In case of an overflow the
+ * accumulator is left unchanged.
+ *
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class FastMoney6Accumulator {
+
+  private final CurrencyUnit currency;
+
+  private long value;
+
+  /**
+   * Creates a new accumulator with a value of zero.
+   *
+   * @param currency the currency of all amounts, not null
+   */
+  public FastMoney6Accumulator(CurrencyUnit currency) {
+    Objects.requireNonNull(currency, "currency");
+    this.currency = currency;
+    this.value = 0L;
+  }
+
+  /**
+   * Creates a new accumulator starting with the given amount.
+   *
+   * @param initial the initial amount, not null
+   */
+  public FastMoney6Accumulator(FastMoney6 initial) {
+    Objects.requireNonNull(initial, "initial");
+    this.currency = initial.currency;
+    this.value = initial.value;
+  }
+
+  /**
+   * Returns the currency of this accumulator.
+   *
+   * @return the currency, not null
+   */
+  public CurrencyUnit getCurrency() {
+    return this.currency;
+  }
+
+  /**
+   * Adds an amount.
+   *
+   * @param amount the amount to add, not null, same currency
+   * @return this accumulator
+   * @throws MonetaryException if the currency does not match
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator add(FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    this.requireSameCurrency(amount.currency);
+    this.value = Math.addExact(this.value, amount.value);
+    return this;
+  }
+
+  void add(long fastValue6, CurrencyUnit amountCurrency) {
+    this.requireSameCurrency(amountCurrency);
+    this.value = Math.addExact(this.value, fastValue6);
+  }
+
+  /**
+   * Adds a number.
+   *
+   * @param number the number to add, not null
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator add(FastNumber6 number) {
+    Objects.requireNonNull(number, "number");
+    this.value = Math.addExact(this.value, number.value);
+    return this;
+  }
+
+  /**
+   * Adds a number of whole currency units.
+   *
+   * @param number the number to add
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator add(long number) {
+    this.value = Math.addExact(this.value, Math.multiplyExact(number, FastMoney6.DIVISOR));
+    return this;
+  }
+
+  /**
+   * Subtracts an amount.
+   *
+   * @param amount the amount to subtract, not null, same currency
+   * @return this accumulator
+   * @throws MonetaryException if the currency does not match
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator subtract(FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    this.requireSameCurrency(amount.currency);
+    this.value = Math.subtractExact(this.value, amount.value);
+    return this;
+  }
+
+  /**
+   * Subtracts a number.
+   *
+   * @param number the number to subtract, not null
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator subtract(FastNumber6 number) {
+    Objects.requireNonNull(number, "number");
+    this.value = Math.subtractExact(this.value, number.value);
+    return this;
+  }
+
+  /**
+   * Subtracts a number of whole currency units.
+   *
+   * @param number the number to subtract
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator subtract(long number) {
+    this.value = Math.subtractExact(this.value, Math.multiplyExact(number, FastMoney6.DIVISOR));
+    return this;
+  }
+
+  /**
+   * Multiplies the current value, rounds {@link java.math.RoundingMode#HALF_EVEN}.
+   *
+   * @param multiplicand the multiplicand, not null
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator multiply(FastNumber6 multiplicand) {
+    Objects.requireNonNull(multiplicand, "multiplicand");
+    this.value = FastNumber6Math.multiply(this.value, multiplicand.value);
+    return this;
+  }
+
+  /**
+   * Multiplies the current value.
+   *
+   * @param multiplicand the multiplicand
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6Accumulator multiply(long multiplicand) {
+    this.value = Math.multiplyExact(this.value, multiplicand);
+    return this;
+  }
+
+  /**
+   * Resets the value of this accumulator to zero.
+   *
+   * @return this accumulator
+   */
+  public FastMoney6Accumulator reset() {
+    this.value = 0L;
+    return this;
+  }
+
+  /**
+   * Checks whether the current value is zero.
+   *
+   * @return {@code true} if the current value is zero
+   */
+  public boolean isZero() {
+    return this.value == 0L;
+  }
+
+  /**
+   * Creates a {@link FastMoney6} with the current value.
+   *
+   * @return a new amount, not null
+   */
+  public FastMoney6 toFastMoney6() {
+    return new FastMoney6(this.value, this.currency);
+  }
+
+  private void requireSameCurrency(CurrencyUnit amountCurrency) {
+    if (!this.currency.equals(amountCurrency)) {
+      throw new MonetaryException("Currency mismatch: " + this.currency + '/' + amountCurrency);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.toFastMoney6().toString();
+  }
+
+}
@@ -0,0 +1,223 @@
+package com.github.marschall.acme.money;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryException;
+
+/**
+ * Thread safe running total of {@link FastMoney6} amounts of a single
+ * currency.
+ *
+ * <p>
+ * Similar to {@link java.util.concurrent.atomic.LongAdder} updates are
+ * spread over several padded cells so that concurrent threads rarely
+ * contend on the same cache line. Unlike {@link java.util.concurrent.atomic.LongAdder}
+ * overflow is detected. A cell that would overflow spills into a
+ * 128 bit overflow sum and {@link #sum()} adds up all cells with 128 bit
+ * precision, so only a total that does not fit into a {@link FastMoney6}
+ * fails.
+ *
+ * <p>
+ * Like {@link java.util.concurrent.atomic.LongAdder#sum()} the result of
+ * {@link #sum()} is not an atomic snapshot if there are concurrent updates.
+ */
+public final class FastMoney6Adder {
+
+  /**
+   * Number of longs between two cells, 128 bytes to avoid false sharing
+   * including adjacent cache line prefetching.
+   */
+  private static final int CELL_STRIDE = 16;
+
+  private static final int MAX_STRIPES = 64;
+
+  private final CurrencyUnit currency;
+
+  private final AtomicLongArray cells;
+
+  private final int mask;
+
+  // guarded by this
+  private long overflowHigh;
+
+  // guarded by this
+  private long overflowLow;
+
+  /**
+   * Creates a new adder with a value of zero and a number of stripes
+   * based on the number of available processors.
+   *
+   * @param currency the currency of all amounts, not null
+   */
+  public FastMoney6Adder(CurrencyUnit currency) {
+    this(currency, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a new adder with a value of zero.
+   *
+   * @param currency the currency of all amounts, not null
+   * @param stripes the number of cells, will be rounded up to a power of two
+   *                and capped at 64
+   */
+  public FastMoney6Adder(CurrencyUnit currency, int stripes) {
+    Objects.requireNonNull(currency, "currency");
+    if (stripes <= 0) {
+      throw new IllegalArgumentException("stripes must be positive");
+    }
+    int cellCount = Math.min(MAX_STRIPES, stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1);
+    this.currency = currency;
+    this.mask = cellCount - 1;
+    // one extra stride so that the first cell is padded on both sides
+    this.cells = new AtomicLongArray((cellCount + 1) * CELL_STRIDE);
+  }
+
+  /**
+   * Returns the currency of this adder.
+   *
+   * @return the currency, not null
+   */
+  public CurrencyUnit getCurrency() {
+    return this.currency;
+  }
+
+  /**
+   * Adds an amount.
+   *
+   * @param amount the amount to add, not null, same currency
+   * @throws MonetaryException if the currency does not match
+   */
+  public void add(FastMoney6 amount) {
+    this.requireSameCurrency(amount);
+    this.addValue(amount.value);
+  }
+
+  /**
+   * Subtracts an amount.
+   *
+   * @param amount the amount to subtract, not null, same currency
+   * @throws MonetaryException if the currency does not match
+   */
+  public void subtract(FastMoney6 amount) {
+    this.requireSameCurrency(amount);
+    long value = amount.value;
+    if (value == Long.MIN_VALUE) {
+      // can not be negated, subtract it in two steps
+      this.addValue(Long.MAX_VALUE);
+      this.addValue(1L);
+    } else {
+      this.addValue(-value);
+    }
+  }
+
+  private void addValue(long value) {
+    if (value == 0L) {
+      return;
+    }
+    int probe = probe();
+    for (int attempt = 0; attempt <= this.mask; attempt++) {
+      int index = cellIndex(probe + attempt);
+      long current = this.cells.get(index);
+      long updated = current + value;
+      if (((current ^ updated) & (value ^ updated)) < 0L) {
+        // this cell would overflow
+        this.addOverflow(value);
+        return;
+      }
+      if (this.cells.compareAndSet(index, current, updated)) {
+        return;
+      }
+      // contention, try the next cell
+    }
+    // every cell was contended, keep retrying our own
+    int index = cellIndex(probe);
+    while (true) {
+      long current = this.cells.get(index);
+      long updated = current + value;
+      if (((current ^ updated) & (value ^ updated)) < 0L) {
+        this.addOverflow(value);
+        return;
+      }
+      if (this.cells.compareAndSet(index, current, updated)) {
+        return;
+      }
+    }
+  }
+
+  private int cellIndex(int probe) {
+    return ((probe & this.mask) + 1) * CELL_STRIDE;
+  }
+
+  private static int probe() {
+    long id = Thread.currentThread().getId();
+    // Fibonacci hashing to spread sequential ids
+    return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+  }
+
+  private synchronized void addOverflow(long value) {
+    long low = this.overflowLow + value;
+    this.overflowHigh += (value >> 63) + carry(this.overflowLow, low);
+    this.overflowLow = low;
+  }
+
+  private static long carry(long before, long after) {
+    return Long.compareUnsigned(after, before) < 0 ? 1L : 0L;
+  }
+
+  /**
+   * Returns the current total.
+   *
+   * @return the current total
+   * @throws ArithmeticException if the total does not fit into a {@link FastMoney6}
+   */
+  public FastMoney6 sum() {
+    long high;
+    long low;
+    synchronized (this) {
+      high = this.overflowHigh;
+      low = this.overflowLow;
+    }
+    for (int i = 0; i <= this.mask; i++) {
+      long cell = this.cells.get((i + 1) * CELL_STRIDE);
+      long newLow = low + cell;
+      high += (cell >> 63) + carry(low, newLow);
+      low = newLow;
+    }
+    if (high != (low >> 63)) {
+      throw new ArithmeticException("Overflow: sum does not fit into " + FastMoney6.PRECISION + " digits");
+    }
+    return new FastMoney6(low, this.currency);
+  }
+
+  /**
+   * Resets the total to zero.
+   *
+   * <p>
+   * Only effective if there are no concurrent updates.
+   */
+  public void reset() {
+    for (int i = 0; i <= this.mask; i++) {
+      this.cells.set((i + 1) * CELL_STRIDE, 0L);
+    }
+    synchronized (this) {
+      this.overflowHigh = 0L;
+      this.overflowLow = 0L;
+    }
+  }
+
+  private void requireSameCurrency(FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    CurrencyUnit amountCurrency = amount.currency;
+    if (!this.currency.equals(amountCurrency)) {
+      throw new MonetaryException("Currency mismatch: " + this.currency + '/' + amountCurrency);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.sum().toString();
+  }
+
+}
@@ -0,0 +1,357 @@
+package com.github.marschall.acme.money;
+
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * Allocates and splits {@link FastMoney6} amounts without losing money.
+ *
+ * <p>
+ * All computations work on the raw values with scale
+ * {@link FastMoney6#SCALE}. The total is distributed in minor units of
+ * the currency, the unit of {@link CurrencyUnit#getDefaultFractionDigits()}.
+ * The units left over after distributing the truncated shares are handed
+ * out one at a time. The part of the total smaller than a minor unit is
+ * added to the first share with a ratio that is not zero. The sum of all
+ * shares is always exactly the total.
+ *
+ * <p>
+ * The results are written as raw values into a {@code long[]} or appended
+ * to a {@link FastMoney6Array}.
+ */
+public final class FastMoney6Allocator {
+
+  /**
+   * Number of high bits of the remainders used to preselect the largest
+   * remainders, results in a histogram of at most 8 KB.
+   */
+  private static final int HISTOGRAM_BITS = 11;
+
+  private FastMoney6Allocator() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Allocates an amount according to ratios, left over minor units go to
+   * the shares with the largest remainders (Hamilton method).
+   *
+   * <p>
+   * Shares with equal remainders are served in index order.
+   *
+   * @param total the amount to allocate, not null
+   * @param ratios the ratios of the shares, not null, not negative, at
+   *               least one not zero
+   * @param result the array into which to write the raw values of the
+   *               shares, not null, at least as long as {@code ratios}
+   * @throws IllegalArgumentException if a ratio is negative, all ratios
+   *                                  are zero or {@code result} is too
+   *                                  short
+   * @throws ArithmeticException if the sum of the ratios overflows
+   */
+  public static void allocate(FastMoney6 total, long[] ratios, long[] result) {
+    allocate(total, ratios, result, true);
+  }
+
+  /**
+   * Allocates an amount according to ratios, left over minor units go to
+   * the shares with the largest remainders (Hamilton method).
+   *
+   * @param total the amount to allocate, not null
+   * @param ratios the ratios of the shares, not null, not negative, at
+   *               least one not zero
+   * @param result the array to which to append the shares, not null
+   * @throws IllegalArgumentException if a ratio is negative or all ratios
+   *                                  are zero
+   * @throws ArithmeticException if the sum of the ratios overflows
+   * @see #allocate(FastMoney6, long[], long[])
+   */
+  public static void allocate(FastMoney6 total, long[] ratios, FastMoney6Array result) {
+    Objects.requireNonNull(ratios, "ratios");
+    Objects.requireNonNull(result, "result");
+    long[] values = new long[ratios.length];
+    allocate(total, ratios, values, true);
+    result.addAll(total.currency, values, 0, values.length);
+  }
+
+  /**
+   * Allocates an amount according to ratios, left over minor units go to
+   * the shares in index order, skipping shares with a ratio of zero.
+   *
+   * @param total the amount to allocate, not null
+   * @param ratios the ratios of the shares, not null, not negative, at
+   *               least one not zero
+   * @param result the array into which to write the raw values of the
+   *               shares, not null, at least as long as {@code ratios}
+   * @throws IllegalArgumentException if a ratio is negative, all ratios
+   *                                  are zero or {@code result} is too
+   *                                  short
+   * @throws ArithmeticException if the sum of the ratios overflows
+   */
+  public static void allocateRoundRobin(FastMoney6 total, long[] ratios, long[] result) {
+    allocate(total, ratios, result, false);
+  }
+
+  /**
+   * Allocates an amount according to ratios, left over minor units go to
+   * the shares in index order, skipping shares with a ratio of zero.
+   *
+   * @param total the amount to allocate, not null
+   * @param ratios the ratios of the shares, not null, not negative, at
+   *               least one not zero
+   * @param result the array to which to append the shares, not null
+   * @throws IllegalArgumentException if a ratio is negative or all ratios
+   *                                  are zero
+   * @throws ArithmeticException if the sum of the ratios overflows
+   */
+  public static void allocateRoundRobin(FastMoney6 total, long[] ratios, FastMoney6Array result) {
+    Objects.requireNonNull(ratios, "ratios");
+    Objects.requireNonNull(result, "result");
+    long[] values = new long[ratios.length];
+    allocate(total, ratios, values, false);
+    result.addAll(total.currency, values, 0, values.length);
+  }
+
+  /**
+   * Splits an amount into equal shares, left over minor units go to the
+   * first shares.
+   *
+   * @param total the amount to split, not null
+   * @param n the number of shares, positive
+   * @param result the array into which to write the raw values of the
+   *               shares, not null, at least {@code n} long
+   * @throws IllegalArgumentException if {@code n} is not positive or
+   *                                  {@code result} is too short
+   */
+  public static void split(FastMoney6 total, int n, long[] result) {
+    Objects.requireNonNull(total, "total");
+    Objects.requireNonNull(result, "result");
+    if (n <= 0) {
+      throw new IllegalArgumentException("number of shares must be positive");
+    }
+    if (result.length < n) {
+      throw new IllegalArgumentException("result too short");
+    }
+    long unit = minorUnit(total.currency);
+    boolean negative = total.value < 0L;
+    // unsigned, covers Long.MIN_VALUE
+    long magnitude = negative ? -total.value : total.value;
+    long units = Long.divideUnsigned(magnitude, unit);
+    long residue = magnitude - (units * unit);
+
+    long share = Long.divideUnsigned(units, n);
+    int leftOver = (int) (units - (share * n));
+    long value = share * unit;
+    for (int i = 0; i < n; i++) {
+      long shareValue = i < leftOver ? value + unit : value;
+      result[i] = negative ? -shareValue : shareValue;
+    }
+    result[0] += negative ? -residue : residue;
+  }
+
+  /**
+   * Splits an amount into equal shares, left over minor units go to the
+   * first shares.
+   *
+   * @param total the amount to split, not null
+   * @param n the number of shares, positive
+   * @param result the array to which to append the shares, not null
+   * @throws IllegalArgumentException if {@code n} is not positive
+   */
+  public static void split(FastMoney6 total, int n, FastMoney6Array result) {
+    Objects.requireNonNull(result, "result");
+    if (n <= 0) {
+      throw new IllegalArgumentException("number of shares must be positive");
+    }
+    long[] values = new long[n];
+    split(total, n, values);
+    result.addAll(total.currency, values, 0, n);
+  }
+
+  private static void allocate(FastMoney6 total, long[] ratios, long[] result, boolean largestRemainder) {
+    Objects.requireNonNull(total, "total");
+    Objects.requireNonNull(ratios, "ratios");
+    Objects.requireNonNull(result, "result");
+    if (result.length < ratios.length) {
+      throw new IllegalArgumentException("result too short");
+    }
+    long ratioSum = 0L;
+    int first = -1;
+    for (int i = 0; i < ratios.length; i++) {
+      long ratio = ratios[i];
+      if (ratio < 0L) {
+        throw new IllegalArgumentException("negative ratio at index: " + i);
+      }
+      if ((ratio != 0L) && (first == -1)) {
+        first = i;
+      }
+      ratioSum = Math.addExact(ratioSum, ratio);
+    }
+    if (ratioSum == 0L) {
+      throw new IllegalArgumentException("all ratios are zero");
+    }
+
+    long unit = minorUnit(total.currency);
+    boolean negative = total.value < 0L;
+    // unsigned, covers Long.MIN_VALUE
+    long magnitude = negative ? -total.value : total.value;
+    long units = Long.divideUnsigned(magnitude, unit);
+    long residue = magnitude - (units * unit);
+
+    // truncated shares in minor units, units * ratio / ratioSum fits
+    // because ratio <= ratioSum
+    long distributed = 0L;
+    if ((units >= 0L) && (units <= (Long.MAX_VALUE / ratioSum))) {
+      // common case, all products fit into a long
+      for (int i = 0; i < ratios.length; i++) {
+        long share = (units * ratios[i]) / ratioSum;
+        result[i] = share;
+        distributed += share;
+      }
+    } else {
+      for (int i = 0; i < ratios.length; i++) {
+        long high = Int128Math.unsignedMultiplyHigh(units, ratios[i]);
+        long low = units * ratios[i];
+        long share = Int128Math.divideUnsigned(high, low, ratioSum);
+        result[i] = share;
+        distributed += share;
+      }
+    }
+
+    // every remainder is less than ratioSum so fewer than ratios.length
+    // units are left over
+    int leftOver = (int) (units - distributed);
+    if (leftOver > 0) {
+      if (largestRemainder) {
+        distributeLargestRemainders(units, ratios, ratioSum, result, leftOver);
+      } else {
+        for (int i = 0; leftOver > 0; i++) {
+          if (ratios[i] != 0L) {
+            result[i] += 1L;
+            leftOver -= 1;
+          }
+        }
+      }
+    }
+
+    for (int i = 0; i < ratios.length; i++) {
+      long shareValue = result[i] * unit;
+      result[i] = negative ? -shareValue : shareValue;
+    }
+    result[first] += negative ? -residue : residue;
+  }
+
+  /**
+   * Adds one unit to each of the {@code leftOver} shares with the largest
+   * remainders, shares with equal remainders in index order.
+   *
+   * <p>
+   * Instead of sorting the remainders the smallest remainder that still
+   * gets a unit is found with a radix select. A histogram over the high
+   * bits of the remainders finds the bucket containing it, only the
+   * remainders in this bucket are selected from. Remainders are
+   * recomputed from the truncated shares instead of being stored.
+   */
+  private static void distributeLargestRemainders(long units, long[] ratios, long ratioSum, long[] result, int leftOver) {
+    // every remainder is less than ratioSum
+    int shift = Math.max(0, (64 - Long.numberOfLeadingZeros(ratioSum - 1L)) - HISTOGRAM_BITS);
+    int[] histogram = new int[(int) ((ratioSum - 1L) >>> shift) + 1];
+    for (int i = 0; i < ratios.length; i++) {
+      long remainder = (units * ratios[i]) - (result[i] * ratioSum);
+      histogram[(int) (remainder >>> shift)] += 1;
+    }
+
+    // find the bucket with the smallest remainder that gets a unit
+    int bucket = histogram.length - 1;
+    int greater = 0;
+    while ((greater + histogram[bucket]) < leftOver) {
+      greater += histogram[bucket];
+      bucket -= 1;
+    }
+    long[] candidates = new long[histogram[bucket]];
+    int candidateCount = 0;
+    for (int i = 0; i < ratios.length; i++) {
+      long remainder = (units * ratios[i]) - (result[i] * ratioSum);
+      if ((remainder >>> shift) == bucket) {
+        candidates[candidateCount++] = remainder;
+      }
+    }
+    int rank = leftOver - greater - 1;
+    long threshold = selectDescending(candidates, rank);
+    // all larger remainders of the bucket have been moved before the threshold
+    for (int i = 0; i < rank; i++) {
+      if (candidates[i] > threshold) {
+        greater += 1;
+      }
+    }
+
+    int equal = leftOver - greater;
+    for (int i = 0; i < ratios.length; i++) {
+      long remainder = (units * ratios[i]) - (result[i] * ratioSum);
+      // branch free 1 if remainder > threshold, both are not negative
+      result[i] += (threshold - remainder) >>> 63;
+      if ((remainder == threshold) && (equal > 0)) {
+        result[i] += 1L;
+        equal -= 1;
+      }
+    }
+  }
+
+  /**
+   * Returns the value at a rank in descending order, reorders the values
+   * (quickselect with three way partitioning, handles many equal values).
+   *
+   * @param values the values to select from, will be reordered
+   * @param rank the zero based rank in descending order
+   * @return the value at the rank
+   */
+  private static long selectDescending(long[] values, int rank) {
+    int left = 0;
+    int right = values.length - 1;
+    while (true) {
+      long pivot = values[(left + right) >>> 1];
+      // [left, greater) > pivot, [greater, i) == pivot, (less, right] < pivot
+      int greater = left;
+      int less = right;
+      int i = left;
+      while (i <= less) {
+        long value = values[i];
+        if (value > pivot) {
+          swap(values, greater, i);
+          greater += 1;
+          i += 1;
+        } else if (value < pivot) {
+          swap(values, i, less);
+          less -= 1;
+        } else {
+          i += 1;
+        }
+      }
+      if (rank < greater) {
+        right = greater - 1;
+      } else if (rank > less) {
+        left = less + 1;
+      } else {
+        return pivot;
+      }
+    }
+  }
+
+  private static void swap(long[] values, int i, int j) {
+    long temp = values[i];
+    values[i] = values[j];
+    values[j] = temp;
+  }
+
+  /**
+   * Returns the raw value of one minor unit of a currency.
+   */
+  static long minorUnit(CurrencyUnit currency) {
+    int fractionDigits = currency.getDefaultFractionDigits();
+    if ((fractionDigits < 0) || (fractionDigits >= FastMoney6.SCALE)) {
+      return 1L;
+    }
+    return DecimalMath.powerOfTen(FastMoney6.SCALE - fractionDigits);
+  }
+
+}
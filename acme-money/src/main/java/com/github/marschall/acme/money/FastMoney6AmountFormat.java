@@ -1,6 +1,10 @@
 package com.github.marschall.acme.money;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Objects;
 
 import javax.money.CurrencyUnit;
@@ -19,6 +23,13 @@ final class FastMoney6AmountFormat implements MonetaryAmountFormat {
 
   private static final long INTEGER_PART_MULTIPLIER = DecimalMath.pow10(1, FastMoney6.SCALE);
 
+  /**
+   * Number of digits parsed at once by the SWAR (SIMD within a register) fast path.
+   */
+  private static final int SWAR_DIGITS = 8;
+
+  private static final long SWAR_MULTIPLIER = DecimalMath.pow10(1, SWAR_DIGITS);
+
   static MonetaryAmountFormat INSTANCE = new FastMoney6AmountFormat();
 
   @Override
@@ -45,14 +56,47 @@ final class FastMoney6AmountFormat implements MonetaryAmountFormat {
   @Override
   public MonetaryAmount parse(CharSequence text) throws MonetaryParseException {
     Objects.requireNonNull(text, "text");
-    int spaceIndex = findSpaceIndex(text);
-    if (spaceIndex == -1) {
-      throw new MonetaryParseException("expected space character", text, 0);
+    return parse(new CharSequenceInput(text, text.length()));
+  }
+
+  /**
+   * Parses ASCII bytes, same rules as {@link #parse(CharSequence)}.
+   *
+   * <p>
+   * The currency is resolved directly from the bytes, no {@link String}
+   * is created unless there is an error. Error indices are relative to
+   * {@code offset}.
+   */
+  static FastMoney6 parse(byte[] text, int offset, int length) {
+    Objects.requireNonNull(text, "text");
+    if (offset < 0 || length < 0 || offset > text.length - length) {
+      throw new IndexOutOfBoundsException("offset: " + offset + " length: " + length + " array length: " + text.length);
     }
+    return parse(new ByteArrayInput(text, offset, offset + length));
+  }
 
-    long fastValue6 = parseFastValue6(text, spaceIndex + 1, text.length() - spaceIndex - 1);
+  /**
+   * Parses the remaining ASCII bytes of a buffer, same rules as
+   * {@link #parse(CharSequence)}.
+   *
+   * <p>
+   * The position of the buffer is not changed. Error indices are relative
+   * to the position.
+   */
+  static FastMoney6 parse(ByteBuffer text) {
+    Objects.requireNonNull(text, "text");
+    if (text.hasArray()) {
+      return parse(text.array(), text.arrayOffset() + text.position(), text.remaining());
+    }
+    ByteBufferInput input = new ByteBufferInput();
+    input.reset(text, text.position(), text.limit());
+    return parse(input);
+  }
 
-    CurrencyUnit currency = Monetary.getCurrency(text.subSequence(0, spaceIndex).toString());
+  private static FastMoney6 parse(AsciiInput input) {
+    int spaceIndex = requireSpaceIndex(input);
+    long fastValue6 = parseFastValue6(input, spaceIndex + 1);
+    CurrencyUnit currency = parseCurrency(input, spaceIndex);
     return new FastMoney6(fastValue6, currency);
   }
 
@@ -60,25 +104,81 @@ final class FastMoney6AmountFormat implements MonetaryAmountFormat {
     if (start + length > text.length()) {
       throw new IllegalArgumentException();
     }
+    return parseFastValue6(new CharSequenceInput(text, start + length), start);
+  }
+
+  /**
+   * Returns the index of the space between the currency code and the
+   * amount.
+   *
+   * @throws MonetaryParseException if there is no space
+   */
+  static int requireSpaceIndex(AsciiInput input) {
+    for (int i = input.offset; i < input.end; i++) {
+      if (input.charAt(i) == ' ') {
+        return i;
+      }
+    }
+    throw new MonetaryParseException("expected space character", input.text(), 0);
+  }
+
+  /**
+   * Resolves the currency code between the start of the input and the
+   * space. Three letter codes are looked up in the ISO table without
+   * creating a {@link String}, everything else through {@link Monetary}
+   * so that currencies of other providers are found as well.
+   */
+  static CurrencyUnit parseCurrency(AsciiInput input, int spaceIndex) {
+    int offset = input.offset;
+    if (spaceIndex - offset == 3) {
+      int compressed = IsoCurrencyCompressor.compressCurrencyCode(input.charAt(offset), input.charAt(offset + 1), input.charAt(offset + 2));
+      if (compressed != -1) {
+        CurrencyUnit currency = IsoCurrencyProvider.findCurrency((short) compressed);
+        if (currency != null) {
+          return currency;
+        }
+      }
+    }
+    return Monetary.getCurrency(input.text().subSequence(0, spaceIndex - offset).toString());
+  }
+
+  /**
+   * Parses the amount from {@code start} to the end of the input.
+   */
+  static long parseFastValue6(AsciiInput input, int start) {
+    int length = input.end - start;
     if (length <= 0) {
-      throw new MonetaryParseException("decimal part expected", text, start);
+      throw parseException("decimal part expected", input, start);
     }
 
-    boolean negative = text.charAt(start) == '-';
+    boolean negative = input.charAt(start) == '-';
 
     // start of the unsigned decimal
     int decimalStart = negative ? start + 1 : start;
-    int dotIndex = findDotIndex(text, decimalStart, length - (decimalStart - start));
+    int dotIndex = findDotIndex(input, decimalStart);
 
-    int integerPartLength = dotIndex == -1 ? length - (decimalStart - start) : dotIndex - decimalStart;
+    int integerPartLength = dotIndex == -1 ? input.end - decimalStart : dotIndex - decimalStart;
     if (integerPartLength == 0) {
-      throw new MonetaryParseException("integer part expected", text, decimalStart);
+      throw parseException("integer part expected", input, decimalStart);
     } else if (integerPartLength > FastMoney6.PRECISION - FastMoney6.SCALE) {
-      throw new MonetaryParseException("amount exceeded", text, decimalStart + FastMoney6.PRECISION - FastMoney6.SCALE);
+      throw parseException("amount exceeded", input, decimalStart + FastMoney6.PRECISION - FastMoney6.SCALE);
     }
 
-    long integerPart = parseIntoStartingAt(text, 0L, decimalStart, integerPartLength) * INTEGER_PART_MULTIPLIER;
-    long fractionPart = parseFractionPart(text, dotIndex, length - integerPartLength - (decimalStart - start));
+    long integerPart = parseIntoStartingAt(input, 0L, decimalStart, integerPartLength) * INTEGER_PART_MULTIPLIER;
+    long fractionPart = 0L;
+    if (dotIndex != -1) {
+      int fractionLength = input.end - dotIndex - 1;
+      if (fractionLength == 0) {
+        throw parseException("fraction part expected", input, dotIndex);
+      }
+      if (fractionLength > FastMoney6.SCALE) {
+        throw parseException("fraction part too long", input, dotIndex + fractionLength + 1);
+      }
+      fractionPart = parseIntoStartingAt(input, 0L, dotIndex + 1, fractionLength);
+      if (fractionLength < FastMoney6.SCALE) {
+        fractionPart *= DecimalMath.pow10(1, FastMoney6.SCALE - fractionLength);
+      }
+    }
 
     long fastValue6 = integerPart + fractionPart;
 
@@ -89,61 +189,227 @@ final class FastMoney6AmountFormat implements MonetaryAmountFormat {
     return fastValue6;
   }
 
-  private static long parseFractionPart(CharSequence text, int dotIndex, int length) {
-    if (dotIndex != -1) {
-      if (length == 1) {
-        throw new MonetaryParseException("fraction part expected", text, dotIndex);
+  private static long parseIntoStartingAt(AsciiInput input, long current, int start, int length) {
+    long acc = current;
+    int i = 0;
+    while (length - i >= SWAR_DIGITS) {
+      long chunk = input.getEightChars(start + i);
+      if (!isEightDigits(chunk)) {
+        // let the loop below report the error
+        break;
       }
-      if (length - 1 > FastMoney6.SCALE) {
-        throw new MonetaryParseException("fraction part too long", text, dotIndex + length);
+      acc = acc * SWAR_MULTIPLIER + parseEightDigits(chunk);
+      i += SWAR_DIGITS;
+    }
+    for (; i < length; i++) {
+      int digit = input.charAt(start + i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw parseException("not numeric", input, start + i);
       }
-      int start = dotIndex + 1;
-      return parseScaledFraction(text, start, length - 1);
-    } else {
-      return 0L;
+      acc = acc * 10 + digit;
     }
+    return acc;
+  }
+
+  /**
+   * Checks whether all eight bytes of a little endian chunk are the ASCII
+   * digits {@code '0'} to {@code '9'}.
+   */
+  static boolean isEightDigits(long chunk) {
+    // all high nibbles are 3 and adding 6 to the low nibbles does not carry
+    return ((chunk & 0xF0F0F0F0F0F0F0F0L) | (((chunk + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L;
   }
 
-  private static long parseScaledFraction(CharSequence text, int start, int length) {
-    if (length > FastMoney6.SCALE) {
-      throw new MonetaryParseException("fraction part too long", text, start + length + 1);
+  /**
+   * Converts eight ASCII digits in a little endian chunk, the first digit
+   * in the lowest byte, to their value.
+   *
+   * <p>
+   * Combines two digits, then two pairs and finally two quadruples using
+   * one multiplication each instead of eight multiply-adds.
+   */
+  static int parseEightDigits(long chunk) {
+    long value = chunk & 0x0F0F0F0F0F0F0F0FL;
+    value = (value * 2561L) >>> 8; // 10 * 2^8 + 1
+    value = ((value & 0x00FF00FF00FF00FFL) * 6553601L) >>> 16; // 100 * 2^16 + 1
+    value = ((value & 0x0000FFFF0000FFFFL) * 42949672960001L) >>> 32; // 10000 * 2^32 + 1
+    return (int) value;
+  }
+
+  private static int findDotIndex(AsciiInput input, int start) {
+    for (int i = start; i < input.end; i++) {
+      if (input.charAt(i) == '.') {
+        return i;
+      }
     }
-    long fractionPart = parseIntoStartingAt(text, 0L, start, length);
-    if (length < FastMoney6.SCALE) {
-      fractionPart *= DecimalMath.pow10(1, FastMoney6.SCALE - length);
+    return -1;
+  }
+
+  /**
+   * Creates a {@link MonetaryParseException}, only called in the error
+   * case.
+   */
+  private static MonetaryParseException parseException(String message, AsciiInput input, int index) {
+    return new MonetaryParseException(message, input.text(), index - input.offset);
+  }
+
+  static String asciiText(ByteBuffer text, int start, int end) {
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = text.get(start + i);
     }
-    return fractionPart;
+    return new String(bytes, US_ASCII);
   }
 
-  private static long parseIntoStartingAt(CharSequence s, long current, int start, int length) {
-    long acc = current;
-    for (int i = 0; i < length; i++) {
-      char c = s.charAt(start + i);
-      if (c < '0' || c > '9') {
-        throw new MonetaryParseException("not numeric", s, start + i);
+  /**
+   * Read access to the characters of the text to parse so that the
+   * parser is shared by all input types.
+   *
+   * <p>
+   * Indices are absolute, error indices are relative to {@link #offset}.
+   */
+  abstract static class AsciiInput {
+
+    /**
+     * The index of the first character to parse.
+     */
+    int offset;
+
+    /**
+     * The index after the last character to parse.
+     */
+    int end;
+
+    /**
+     * Returns the character at an index, non-ASCII bytes are negative.
+     */
+    abstract int charAt(int index);
+
+    /**
+     * Reads eight characters as a little endian chunk, the first
+     * character in the lowest byte. Returns 0, which is not a valid chunk
+     * of digits, if a character is not ASCII.
+     */
+    abstract long getEightChars(int index);
+
+    /**
+     * Returns the text from {@link #offset} to {@link #end} for a
+     * {@link MonetaryParseException}, only called in the error case.
+     */
+    abstract CharSequence text();
+
+  }
+
+  /**
+   * Packs the chunks character by character, the digits are still
+   * validated and converted eight at a time.
+   */
+  static final class CharSequenceInput extends AsciiInput {
+
+    private final CharSequence text;
+
+    CharSequenceInput(CharSequence text, int end) {
+      this.text = text;
+      this.offset = 0;
+      this.end = end;
+    }
+
+    @Override
+    int charAt(int index) {
+      return this.text.charAt(index);
+    }
+
+    @Override
+    long getEightChars(int index) {
+      CharSequence s = this.text;
+      long chunk = 0L;
+      for (int i = 0; i < SWAR_DIGITS; i++) {
+        char c = s.charAt(index + i);
+        if (c > 0x7F) {
+          return 0L;
+        }
+        chunk |= ((long) c) << (i * 8);
       }
-      acc = acc * 10 + (c - '0');
+      return chunk;
     }
-    return acc;
+
+    @Override
+    CharSequence text() {
+      return this.text;
+    }
+
   }
 
-  private static int findDotIndex(CharSequence text, int start, int length) {
-    for (int i = 0; i < length; i++) {
-      if (text.charAt(start + i) == '.') {
-        return start + i;
-      }
+  static final class ByteArrayInput extends AsciiInput {
+
+    private final byte[] text;
+
+    ByteArrayInput(byte[] text, int offset, int end) {
+      this.text = text;
+      this.offset = offset;
+      this.end = end;
     }
-    return -1;
+
+    @Override
+    int charAt(int index) {
+      return this.text[index];
+    }
+
+    @Override
+    long getEightChars(int index) {
+      byte[] b = this.text;
+      return (b[index] & 0xFFL)
+          | (b[index + 1] & 0xFFL) << 8
+          | (b[index + 2] & 0xFFL) << 16
+          | (b[index + 3] & 0xFFL) << 24
+          | (b[index + 4] & 0xFFL) << 32
+          | (b[index + 5] & 0xFFL) << 40
+          | (b[index + 6] & 0xFFL) << 48
+          | (b[index + 7] & 0xFFL) << 56;
+    }
+
+    @Override
+    CharSequence text() {
+      return new String(this.text, this.offset, this.end - this.offset, US_ASCII);
+    }
+
   }
 
-  private static int findSpaceIndex(CharSequence text) {
-    int textLenght = text.length();
-    for (int i = 0; i < textLenght; i++) {
-      if (text.charAt(i) == ' ') {
-        return i;
+  /**
+   * Can be reset so that a single instance is used for many lines.
+   */
+  static final class ByteBufferInput extends AsciiInput {
+
+    private ByteBuffer text;
+
+    private boolean bigEndian;
+
+    void reset(ByteBuffer text, int offset, int end) {
+      this.text = text;
+      this.bigEndian = text.order() == ByteOrder.BIG_ENDIAN;
+      this.offset = offset;
+      this.end = end;
+    }
+
+    @Override
+    int charAt(int index) {
+      return this.text.get(index);
+    }
+
+    @Override
+    long getEightChars(int index) {
+      long chunk = this.text.getLong(index);
+      if (this.bigEndian) {
+        chunk = Long.reverseBytes(chunk);
       }
+      return chunk;
     }
-    return -1;
+
+    @Override
+    CharSequence text() {
+      return asciiText(this.text, this.offset, this.end);
+    }
+
   }
 
 }
@@ -0,0 +1,363 @@
+package com.github.marschall.acme.money;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * A growable, columnar list of {@link FastMoney6} amounts.
+ *
+ * <p>
+ * Instead of one object per amount the numeric values are stored in a
+ * {@code long[]} and the currencies as compressed currency codes in a
+ * {@code short[]}, using 10 bytes per amount. Only three letter ISO
+ * currency codes are supported.
+ *
+ * <p>
+ * {@link #get(int)} creates a new {@link FastMoney6}, use a {@link View}
+ * to iterate without allocating per element.
+ *
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class FastMoney6Array {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] values;
+
+  private short[] currencies;
+
+  private int size;
+
+  /**
+   * Creates a new empty array with a default capacity.
+   */
+  public FastMoney6Array() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new empty array.
+   *
+   * @param initialCapacity the number of amounts that can be added before
+   *                        the array has to grow
+   */
+  public FastMoney6Array(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("negative capacity");
+    }
+    this.values = new long[initialCapacity];
+    this.currencies = new short[initialCapacity];
+    this.size = 0;
+  }
+
+  /**
+   * Returns the number of amounts.
+   *
+   * @return the number of amounts
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Checks if this array contains no amounts.
+   *
+   * @return {@code true} if this array contains no amounts
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Returns the amount at the given index as a new {@link FastMoney6}.
+   *
+   * @param index the index of the amount
+   * @return the amount at the index, not null
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public FastMoney6 get(int index) {
+    this.checkIndex(index);
+    return new FastMoney6(this.values[index], IsoCurrencyProvider.getCurrency(this.currencies[index]));
+  }
+
+  /**
+   * Returns the currency of the amount at the given index.
+   *
+   * @param index the index of the amount
+   * @return the currency at the index, not null
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public CurrencyUnit getCurrency(int index) {
+    this.checkIndex(index);
+    return IsoCurrencyProvider.getCurrency(this.currencies[index]);
+  }
+
+  /**
+   * Replaces the amount at the given index.
+   *
+   * @param index the index of the amount
+   * @param amount the new amount, not null
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public void set(int index, FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    this.checkIndex(index);
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    this.values[index] = amount.value;
+    this.currencies[index] = currency;
+  }
+
+  /**
+   * Appends an amount.
+   *
+   * @param amount the amount to append, not null
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public void add(FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    this.ensureCapacity(this.size + 1);
+    this.values[this.size] = amount.value;
+    this.currencies[this.size] = currency;
+    this.size += 1;
+  }
+
+  void add(long fastValue6, CurrencyUnit currency) {
+    short compressed = IsoCurrencyCompressor.compressIsoCurrency(currency);
+    this.ensureCapacity(this.size + 1);
+    this.values[this.size] = fastValue6;
+    this.currencies[this.size] = compressed;
+    this.size += 1;
+  }
+
+  void add(long fastValue6, short compressedCurrency) {
+    this.ensureCapacity(this.size + 1);
+    this.values[this.size] = fastValue6;
+    this.currencies[this.size] = compressedCurrency;
+    this.size += 1;
+  }
+
+  /**
+   * Appends all amounts of a collection.
+   *
+   * <p>
+   * If an amount can not be appended this array is rolled back to its
+   * previous size, none of the amounts of the collection are appended.
+   *
+   * @param amounts the amounts to append, not null, no null elements
+   * @throws IllegalArgumentException if a currency is not an ISO currency
+   */
+  public void addAll(Collection<FastMoney6> amounts) {
+    Objects.requireNonNull(amounts, "amounts");
+    int previousSize = this.size;
+    this.ensureCapacity(previousSize + amounts.size());
+    try {
+      for (FastMoney6 amount : amounts) {
+        this.add(amount);
+      }
+    } catch (RuntimeException e) {
+      this.truncate(previousSize);
+      throw e;
+    }
+  }
+
+  /**
+   * Appends all amounts of an other array.
+   *
+   * @param amounts the amounts to append, not null
+   */
+  public void addAll(FastMoney6Array amounts) {
+    Objects.requireNonNull(amounts, "amounts");
+    int otherSize = amounts.size;
+    this.ensureCapacity(this.size + otherSize);
+    System.arraycopy(amounts.values, 0, this.values, this.size, otherSize);
+    System.arraycopy(amounts.currencies, 0, this.currencies, this.size, otherSize);
+    this.size += otherSize;
+  }
+
+  /**
+   * Appends the same currency for a block of raw values.
+   *
+   * @param currency the currency of all values, not null
+   * @param fastValues6 the values with scale {@link FastMoney6#SCALE}, not null
+   * @param offset the index of the first value to append
+   * @param length the number of values to append
+   */
+  void addAll(CurrencyUnit currency, long[] fastValues6, int offset, int length) {
+    short compressed = IsoCurrencyCompressor.compressIsoCurrency(currency);
+    this.ensureCapacity(this.size + length);
+    System.arraycopy(fastValues6, offset, this.values, this.size, length);
+    Arrays.fill(this.currencies, this.size, this.size + length, compressed);
+    this.size += length;
+  }
+
+  /**
+   * Removes all amounts but keeps the capacity.
+   */
+  public void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Removes all amounts after the given size, used for rolling back
+   * appends.
+   *
+   * @param newSize the new size, not larger than the current size
+   */
+  void truncate(int newSize) {
+    if ((newSize < 0) || (newSize > this.size)) {
+      throw new IndexOutOfBoundsException("new size: " + newSize + " size: " + this.size);
+    }
+    this.size = newSize;
+  }
+
+  /**
+   * Sums up all amounts of a currency.
+   *
+   * @param currency the currency of the amounts to sum, not null
+   * @return the sum of all amounts in the given currency, not null
+   * @throws ArithmeticException on overflow
+   */
+  public FastMoney6 sum(CurrencyUnit currency) {
+    Objects.requireNonNull(currency, "currency");
+    short compressed = IsoCurrencyCompressor.compressCurrency(currency);
+    long sum = 0L;
+    for (int i = 0; i < this.size; i++) {
+      if (this.currencies[i] == compressed) {
+        sum = Math.addExact(sum, this.values[i]);
+      }
+    }
+    return new FastMoney6(sum, currency);
+  }
+
+  /**
+   * Creates a new view positioned before the first amount.
+   *
+   * @return a new view, not null
+   */
+  public View view() {
+    return new View();
+  }
+
+  long getValue(int index) {
+    this.checkIndex(index);
+    return this.values[index];
+  }
+
+  short getCompressedCurrency(int index) {
+    this.checkIndex(index);
+    return this.currencies[index];
+  }
+
+  private void checkIndex(int index) {
+    if ((index < 0) || (index >= this.size)) {
+      throw new IndexOutOfBoundsException("index: " + index + " size: " + this.size);
+    }
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity < 0) {
+      throw new OutOfMemoryError("capacity overflow");
+    }
+    if (capacity > this.values.length) {
+      int newCapacity = Math.max(capacity, this.values.length + (this.values.length >> 1));
+      if (newCapacity < 0) {
+        newCapacity = capacity;
+      }
+      this.values = Arrays.copyOf(this.values, newCapacity);
+      this.currencies = Arrays.copyOf(this.currencies, newCapacity);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buffer = new StringBuilder();
+    buffer.append('[');
+    View view = this.view();
+    while (view.next()) {
+      if (view.getIndex() > 0) {
+        buffer.append(", ");
+      }
+      buffer.append(view.getCurrency());
+      buffer.append(' ');
+      try {
+        DecimalMath.fastNumber6ToStringOn(view.value(), buffer);
+      } catch (IOException e) {
+        // should not happen
+        throw new RuntimeException("could not write to StringBuilder", e);
+      }
+    }
+    buffer.append(']');
+    return buffer.toString();
+  }
+
+  /**
+   * A reusable, mutable view on one amount in a {@link FastMoney6Array}.
+   *
+   * <p>
+   * Moving the view does not allocate which allows iterating over large
+   * arrays without creating a {@link FastMoney6} per element.
+   */
+  public final class View extends AbstractFastMoney6View {
+
+    private int index;
+
+    View() {
+      this.index = -1;
+    }
+
+    /**
+     * Moves this view to the next amount.
+     *
+     * @return {@code true} if there is a next amount, {@code false} if the
+     *         end has been reached
+     */
+    public boolean next() {
+      if (this.index + 1 < FastMoney6Array.this.size) {
+        this.index += 1;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Moves this view to the given index.
+     *
+     * @param index the new index
+     * @return this view
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public View moveTo(int index) {
+      FastMoney6Array.this.checkIndex(index);
+      this.index = index;
+      return this;
+    }
+
+    /**
+     * Returns the index of the current amount.
+     *
+     * @return the current index
+     */
+    public int getIndex() {
+      return this.index;
+    }
+
+    @Override
+    long value() {
+      return FastMoney6Array.this.getValue(this.index);
+    }
+
+    @Override
+    short compressedCurrency() {
+      return FastMoney6Array.this.getCompressedCurrency(this.index);
+    }
+
+  }
+
+}
@@ -0,0 +1,387 @@
+package com.github.marschall.acme.money;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Binary encoding of many {@link FastMoney6} amounts at once.
+ *
+ * <p>
+ * Instead of repeating the currency for every amount, consecutive amounts
+ * with the same currency are written as a run. The values of a run are
+ * written as the zigzag encoded difference to the previous value of the
+ * run, as variable length integers like in the compact encoding of
+ * {@link MoneyCodec}. The format is
+ * <ol>
+ *  <li>{@value #MAGIC} as a big endian {@code int}</li>
+ *  <li>the version as a {@code byte}</li>
+ *  <li>the number of amounts as a variable length integer</li>
+ *  <li>the runs, for every run
+ *   <ol>
+ *    <li>the number of amounts in the run as a variable length integer</li>
+ *    <li>the currency as in {@link MoneyCodec}</li>
+ *    <li>the deltas of the values, the first delta is relative to 0</li>
+ *   </ol>
+ *  </li>
+ * </ol>
+ *
+ * <p>
+ * Amounts are read directly into a {@link FastMoney6Array} without
+ * creating a {@link FastMoney6} per amount. The overloads for a
+ * {@link List} copy the amounts into or out of a {@link FastMoney6Array}.
+ */
+public final class FastMoney6BatchCodec {
+
+  static final int MAGIC = 0x41434D42;
+
+  private static final int VERSION = 1;
+
+  /**
+   * Magic, version and the number of amounts.
+   */
+  private static final int MAX_HEADER_SIZE = 4 + 1 + 5;
+
+  /**
+   * A run of a single amount.
+   */
+  private static final int MAX_AMOUNT_SIZE = 5 + MoneyCodec.CURRENCY_SIZE + MoneyCodec.MAX_VAR_LONG_SIZE;
+
+  private FastMoney6BatchCodec() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Returns the maximum number of bytes needed to write an array, use
+   * for sizing buffers.
+   *
+   * @param amounts the amounts to write, not null
+   * @return the maximum number of bytes needed
+   */
+  public static long maxSize(FastMoney6Array amounts) {
+    return MAX_HEADER_SIZE + (long) amounts.size() * MAX_AMOUNT_SIZE;
+  }
+
+  /**
+   * Returns the maximum number of bytes needed to write a list, use for
+   * sizing buffers.
+   *
+   * @param amounts the amounts to write, not null
+   * @return the maximum number of bytes needed
+   */
+  public static long maxSize(List<FastMoney6> amounts) {
+    return MAX_HEADER_SIZE + (long) amounts.size() * MAX_AMOUNT_SIZE;
+  }
+
+  /**
+   * Writes an array to an output.
+   *
+   * @param amounts the amounts to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   */
+  public static void write(FastMoney6Array amounts, DataOutput out) throws IOException {
+    Objects.requireNonNull(amounts, "amounts");
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    int size = amounts.size();
+    MoneyCodec.writeVarLong(size, out);
+    int runStart = 0;
+    while (runStart < size) {
+      short currency = amounts.getCompressedCurrency(runStart);
+      int runEnd = runEnd(amounts, runStart, currency);
+      MoneyCodec.writeVarLong(runEnd - runStart, out);
+      out.writeShort(currency);
+      long previous = 0L;
+      for (int i = runStart; i < runEnd; i++) {
+        long value = amounts.getValue(i);
+        MoneyCodec.writeVarLong(MoneyCodec.zigzag(value - previous), out);
+        previous = value;
+      }
+      runStart = runEnd;
+    }
+  }
+
+  /**
+   * Writes an array into a buffer.
+   *
+   * @param amounts the amounts to write, not null
+   * @param buffer the buffer to write to, always written in big endian
+   * @throws java.nio.BufferOverflowException if the buffer is too small,
+   *                                          see {@link #maxSize(FastMoney6Array)}
+   */
+  public static void write(FastMoney6Array amounts, ByteBuffer buffer) {
+    Objects.requireNonNull(amounts, "amounts");
+    buffer.put((byte) (MAGIC >>> 24));
+    buffer.put((byte) (MAGIC >>> 16));
+    buffer.put((byte) (MAGIC >>> 8));
+    buffer.put((byte) MAGIC);
+    buffer.put((byte) VERSION);
+    int size = amounts.size();
+    MoneyCodec.writeVarLong(size, buffer);
+    int runStart = 0;
+    while (runStart < size) {
+      short currency = amounts.getCompressedCurrency(runStart);
+      int runEnd = runEnd(amounts, runStart, currency);
+      MoneyCodec.writeVarLong(runEnd - runStart, buffer);
+      buffer.put((byte) (currency >>> 8));
+      buffer.put((byte) currency);
+      long previous = 0L;
+      for (int i = runStart; i < runEnd; i++) {
+        long value = amounts.getValue(i);
+        MoneyCodec.writeVarLong(MoneyCodec.zigzag(value - previous), buffer);
+        previous = value;
+      }
+      runStart = runEnd;
+    }
+  }
+
+  /**
+   * Writes an array into a byte array.
+   *
+   * @param amounts the amounts to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws java.nio.BufferOverflowException if the array is too small,
+   *                                          see {@link #maxSize(FastMoney6Array)}
+   */
+  public static int write(FastMoney6Array amounts, byte[] array, int offset) {
+    ByteBuffer buffer = ByteBuffer.wrap(array, offset, array.length - offset);
+    write(amounts, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Writes a list to an output.
+   *
+   * @param amounts the amounts to write, not null, only amounts with three
+   *                letter ISO currency codes
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   */
+  public static void write(List<FastMoney6> amounts, DataOutput out) throws IOException {
+    write(toArray(amounts), out);
+  }
+
+  /**
+   * Writes a list into a buffer.
+   *
+   * @param amounts the amounts to write, not null, only amounts with three
+   *                letter ISO currency codes
+   * @param buffer the buffer to write to, always written in big endian
+   * @throws java.nio.BufferOverflowException if the buffer is too small,
+   *                                          see {@link #maxSize(List)}
+   */
+  public static void write(List<FastMoney6> amounts, ByteBuffer buffer) {
+    write(toArray(amounts), buffer);
+  }
+
+  private static FastMoney6Array toArray(List<FastMoney6> amounts) {
+    Objects.requireNonNull(amounts, "amounts");
+    FastMoney6Array array = new FastMoney6Array(amounts.size());
+    array.addAll(amounts);
+    return array;
+  }
+
+  private static int runEnd(FastMoney6Array amounts, int runStart, short currency) {
+    int size = amounts.size();
+    int runEnd = runStart + 1;
+    while (runEnd < size && amounts.getCompressedCurrency(runEnd) == currency) {
+      runEnd += 1;
+    }
+    return runEnd;
+  }
+
+  /**
+   * Reads amounts into a new array.
+   *
+   * @param in where to read from, not null
+   * @return the amounts read, not null
+   * @throws IOException if reading fails or the input is invalid
+   */
+  public static FastMoney6Array read(DataInput in) throws IOException {
+    FastMoney6Array amounts = new FastMoney6Array();
+    readInto(in, amounts);
+    return amounts;
+  }
+
+  /**
+   * Reads amounts and appends them to an array.
+   *
+   * <p>
+   * If reading fails the array is rolled back to its previous size, none
+   * of the amounts read so far are appended.
+   *
+   * @param in where to read from, not null
+   * @param target the array to append to, not null
+   * @throws IOException if reading fails or the input is invalid
+   */
+  public static void readInto(DataInput in, FastMoney6Array target) throws IOException {
+    Objects.requireNonNull(target, "target");
+    int previousSize = target.size();
+    try {
+      readRuns(in, target);
+    } catch (IOException | RuntimeException e) {
+      target.truncate(previousSize);
+      throw e;
+    }
+  }
+
+  /**
+   * Reads amounts and appends them to a list.
+   *
+   * <p>
+   * The amounts are first read into a temporary array, if reading fails
+   * none of them are appended to the list.
+   *
+   * @param in where to read from, not null
+   * @param target the list to append to, not null, modifiable
+   * @throws IOException if reading fails or the input is invalid
+   */
+  public static void readInto(DataInput in, List<FastMoney6> target) throws IOException {
+    Objects.requireNonNull(target, "target");
+    appendTo(read(in), target);
+  }
+
+  private static void appendTo(FastMoney6Array amounts, List<FastMoney6> target) {
+    FastMoney6Array.View view = amounts.view();
+    while (view.next()) {
+      target.add(view.toFastMoney6());
+    }
+  }
+
+  private static void readRuns(DataInput in, FastMoney6Array target) throws IOException {
+    int magic = in.readInt();
+    if (magic != MAGIC) {
+      throw new IOException("invalid magic: " + Integer.toHexString(magic));
+    }
+    int version = in.readByte();
+    if (version != VERSION) {
+      throw new IOException("unsupported version: " + version);
+    }
+    long size = MoneyCodec.readVarLong(in);
+    long read = 0L;
+    while (read < size) {
+      long runLength = MoneyCodec.readVarLong(in);
+      if (runLength <= 0L || runLength > size - read) {
+        throw new IOException("invalid run length: " + runLength);
+      }
+      short currency = in.readShort();
+      // fails for unknown currencies
+      MoneyCodec.currency(currency);
+      long previous = 0L;
+      for (long i = 0L; i < runLength; i++) {
+        previous += MoneyCodec.unzigzag(MoneyCodec.readVarLong(in));
+        target.add(previous, currency);
+      }
+      read += runLength;
+    }
+  }
+
+  /**
+   * Reads amounts from a buffer into a new array.
+   *
+   * @param buffer where to read from, always read in big endian
+   * @return the amounts read, not null
+   * @throws IllegalArgumentException if the input is invalid
+   * @throws java.nio.BufferUnderflowException if the input is truncated
+   */
+  public static FastMoney6Array read(ByteBuffer buffer) {
+    FastMoney6Array amounts = new FastMoney6Array();
+    readInto(buffer, amounts);
+    return amounts;
+  }
+
+  /**
+   * Reads amounts from a byte array into a new array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the amounts read, not null
+   * @throws IllegalArgumentException if the input is invalid
+   * @throws java.nio.BufferUnderflowException if the input is truncated
+   */
+  public static FastMoney6Array read(byte[] array, int offset) {
+    return read(ByteBuffer.wrap(array, offset, array.length - offset));
+  }
+
+  /**
+   * Reads amounts and appends them to an array.
+   *
+   * <p>
+   * If reading fails the array is rolled back to its previous size, none
+   * of the amounts read so far are appended.
+   *
+   * @param buffer where to read from, always read in big endian
+   * @param target the array to append to, not null
+   * @throws IllegalArgumentException if the input is invalid
+   * @throws java.nio.BufferUnderflowException if the input is truncated
+   */
+  public static void readInto(ByteBuffer buffer, FastMoney6Array target) {
+    Objects.requireNonNull(target, "target");
+    int previousSize = target.size();
+    try {
+      readRuns(buffer, target);
+    } catch (RuntimeException e) {
+      target.truncate(previousSize);
+      throw e;
+    }
+  }
+
+  /**
+   * Reads amounts and appends them to a list.
+   *
+   * <p>
+   * The amounts are first read into a temporary array, if reading fails
+   * none of them are appended to the list.
+   *
+   * @param buffer where to read from, always read in big endian
+   * @param target the list to append to, not null, modifiable
+   * @throws IllegalArgumentException if the input is invalid
+   * @throws java.nio.BufferUnderflowException if the input is truncated
+   */
+  public static void readInto(ByteBuffer buffer, List<FastMoney6> target) {
+    Objects.requireNonNull(target, "target");
+    appendTo(read(buffer), target);
+  }
+
+  private static void readRuns(ByteBuffer buffer, FastMoney6Array target) {
+    int magic = ((buffer.get() & 0xFF) << 24)
+            | ((buffer.get() & 0xFF) << 16)
+            | ((buffer.get() & 0xFF) << 8)
+            | (buffer.get() & 0xFF);
+    if (magic != MAGIC) {
+      throw new IllegalArgumentException("invalid magic: " + Integer.toHexString(magic));
+    }
+    int version = buffer.get();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("unsupported version: " + version);
+    }
+    long size = MoneyCodec.readVarLong(buffer);
+    // every amount takes at least one byte
+    if (size < 0L || size > buffer.remaining()) {
+      throw new IllegalArgumentException("invalid number of amounts: " + size);
+    }
+    long read = 0L;
+    while (read < size) {
+      long runLength = MoneyCodec.readVarLong(buffer);
+      if (runLength <= 0L || runLength > size - read) {
+        throw new IllegalArgumentException("invalid run length: " + runLength);
+      }
+      short currency = (short) (((buffer.get() & 0xFF) << 8) | (buffer.get() & 0xFF));
+      // fails for unknown currencies
+      MoneyCodec.currency(currency);
+      long previous = 0L;
+      for (long i = 0L; i < runLength; i++) {
+        previous += MoneyCodec.unzigzag(MoneyCodec.readVarLong(buffer));
+        target.add(previous, currency);
+      }
+      read += runLength;
+    }
+  }
+
+}
@@ -0,0 +1,481 @@
+package com.github.marschall.acme.money;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * An append-only ledger of {@link FastMoney6} postings in a memory-mapped
+ * file.
+ *
+ * <p>
+ * Every posting is a fixed-width record of the numeric value as a
+ * {@code long}, a caller supplied {@code long} key and the compressed
+ * currency code as a {@code short} padded to an {@code int} followed by
+ * an {@code int} check value. The file starts with a header containing the number of records
+ * that have been made durable with {@link #sync()}.
+ *
+ * <p>
+ * On opening, the records after the ones recorded in the header are
+ * validated against their check values and the ledger ends at the first
+ * record that is missing or was only partially written. All records after
+ * it are invalidated. This allows recovering after a crash without losing
+ * any records that were completely written before it.
+ *
+ * <p>
+ * {@link #scan(CurrencyUnit)} reads the records directly from the mapped
+ * file and computes a running balance without creating objects per
+ * record.
+ *
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class FastMoney6Ledger implements Closeable {
+
+  static final int HEADER_SIZE = 16;
+
+  static final int RECORD_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+  private static final int MAGIC = 0x41434D4C; // ACML
+
+  private static final int VERSION = 2;
+
+  private static final int VERSION_OFFSET = Integer.BYTES;
+
+  private static final int COMMITTED_OFFSET = VERSION_OFFSET + Integer.BYTES;
+
+  private static final int KEY_OFFSET = Long.BYTES;
+
+  private static final int CURRENCY_OFFSET = KEY_OFFSET + Long.BYTES;
+
+  private static final int CHECK_OFFSET = CURRENCY_OFFSET + Integer.BYTES;
+
+  /**
+   * 16M records, 384 MB, per mapping.
+   */
+  private static final int DEFAULT_RECORDS_PER_CHUNK = 1 << 24;
+
+  private final FileChannel channel;
+
+  private final int recordsPerChunk;
+
+  private final MappedByteBuffer header;
+
+  private MappedByteBuffer[] chunks;
+
+  private long size;
+
+  private long committed;
+
+  private FastMoney6Ledger(FileChannel channel, int recordsPerChunk) throws IOException {
+    this.channel = channel;
+    this.recordsPerChunk = recordsPerChunk;
+    boolean created = channel.size() == 0L;
+    this.header = map(channel, 0L, HEADER_SIZE);
+    if (created) {
+      this.header.putInt(0, MAGIC);
+      this.header.putInt(VERSION_OFFSET, VERSION);
+      this.header.putLong(COMMITTED_OFFSET, 0L);
+      this.header.force();
+    } else {
+      if (this.header.getInt(0) != MAGIC) {
+        throw new IOException("not a ledger file");
+      }
+      int version = this.header.getInt(VERSION_OFFSET);
+      if (version != VERSION) {
+        throw new IOException("unsupported ledger version: " + version);
+      }
+    }
+    long chunkBytes = (long) recordsPerChunk * RECORD_SIZE;
+    long dataBytes = Math.max(channel.size() - HEADER_SIZE, 0L);
+    int chunkCount = (int) ((dataBytes + chunkBytes - 1L) / chunkBytes);
+    this.chunks = new MappedByteBuffer[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      this.chunks[i] = map(channel, HEADER_SIZE + (i * chunkBytes), chunkBytes);
+    }
+    this.recover();
+  }
+
+  /**
+   * Opens a ledger file, creates it if it does not exist.
+   *
+   * @param path the path to the ledger file, not null
+   * @return the opened ledger, not null
+   * @throws IOException if the file can not be opened or is not a ledger file
+   */
+  public static FastMoney6Ledger open(Path path) throws IOException {
+    return open(path, DEFAULT_RECORDS_PER_CHUNK);
+  }
+
+  static FastMoney6Ledger open(Path path, int recordsPerChunk) throws IOException {
+    Objects.requireNonNull(path, "path");
+    if (recordsPerChunk <= 0 || (long) recordsPerChunk * RECORD_SIZE > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("invalid records per chunk: " + recordsPerChunk);
+    }
+    FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+    try {
+      return new FastMoney6Ledger(channel, recordsPerChunk);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+    MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, position, size);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+
+  private void recover() {
+    long capacity = this.capacity();
+    long index = Math.min(this.header.getLong(COMMITTED_OFFSET), capacity);
+    while (index < capacity && this.isValid(index)) {
+      index += 1L;
+    }
+    this.size = index;
+    this.committed = Math.min(this.header.getLong(COMMITTED_OFFSET), index);
+    if (index < capacity) {
+      // invalidate all records written after a partially written one,
+      // otherwise they would become part of the ledger again once the
+      // records before them are overwritten, there may be several gaps
+      boolean invalidated = false;
+      for (index += 1L; index < capacity; index++) {
+        if (this.isValid(index)) {
+          this.chunk(index).putInt(this.position(index) + CHECK_OFFSET, 0);
+          invalidated = true;
+        }
+      }
+      if (invalidated) {
+        for (MappedByteBuffer chunk : this.chunks) {
+          chunk.force();
+        }
+      }
+    }
+  }
+
+  private boolean isValid(long index) {
+    MappedByteBuffer chunk = this.chunk(index);
+    int position = this.position(index);
+    return chunk.getInt(position + CHECK_OFFSET) == check(
+            chunk.getLong(position), chunk.getLong(position + KEY_OFFSET), chunk.getShort(position + CURRENCY_OFFSET));
+  }
+
+  /**
+   * Computes the 32 bit check value of a record, never zero so that space
+   * that has not been written to is never a valid record.
+   *
+   * <p>
+   * Records may span pages, the check value has to detect any combination
+   * of fields that were only partially written. Every field is mixed in
+   * with a multiplication followed by the finalizer of MurmurHash3 so that
+   * every bit of the record affects every bit of the check value.
+   */
+  static int check(long value, long key, short currency) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    h = (h ^ key) * 0xC2B2AE3D27D4EB4FL;
+    h = (h ^ currency) * 0x165667B19E3779F9L;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    int check = (int) (h ^ (h >>> 32));
+    return check != 0 ? check : 1;
+  }
+
+  /**
+   * Returns the number of postings in this ledger.
+   *
+   * @return the number of postings
+   */
+  public long size() {
+    return this.size;
+  }
+
+  /**
+   * Appends a posting.
+   *
+   * @param key the caller supplied key of the posting, for example an
+   *            account or transaction number
+   * @param amount the amount of the posting, not null
+   * @return the index of the posting
+   * @throws IOException if the file can not be extended
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   * @throws IllegalStateException if the ledger is closed
+   */
+  public long append(long key, FastMoney6 amount) throws IOException {
+    Objects.requireNonNull(amount, "amount");
+    this.checkOpen();
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    long index = this.size;
+    if (index == this.capacity()) {
+      this.grow();
+    }
+    MappedByteBuffer chunk = this.chunk(index);
+    int position = this.position(index);
+    chunk.putLong(position, amount.value);
+    chunk.putLong(position + KEY_OFFSET, key);
+    chunk.putShort(position + CURRENCY_OFFSET, currency);
+    chunk.putShort(position + CURRENCY_OFFSET + Short.BYTES, (short) 0);
+    // written last so that a partially written record is detected
+    chunk.putInt(position + CHECK_OFFSET, check(amount.value, key, currency));
+    this.size = index + 1L;
+    return index;
+  }
+
+  /**
+   * Returns the amount of the posting at the given index.
+   *
+   * @param index the index of the posting
+   * @return the amount, not null
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws IllegalStateException if the ledger is closed
+   */
+  public FastMoney6 get(long index) {
+    this.checkIndex(index);
+    MappedByteBuffer chunk = this.chunk(index);
+    int position = this.position(index);
+    return new FastMoney6(chunk.getLong(position), IsoCurrencyProvider.getCurrency(chunk.getShort(position + CURRENCY_OFFSET)));
+  }
+
+  /**
+   * Returns the key of the posting at the given index.
+   *
+   * @param index the index of the posting
+   * @return the key of the posting
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws IllegalStateException if the ledger is closed
+   */
+  public long getKey(long index) {
+    this.checkIndex(index);
+    return this.chunk(index).getLong(this.position(index) + KEY_OFFSET);
+  }
+
+  /**
+   * Writes all postings to the storage device and records them as
+   * durable in the header.
+   *
+   * @throws IllegalStateException if the ledger is closed
+   */
+  public void sync() {
+    this.checkOpen();
+    if (this.committed == this.size) {
+      return;
+    }
+    int first = (int) (this.committed / this.recordsPerChunk);
+    int last = (int) ((this.size - 1L) / this.recordsPerChunk);
+    for (int i = first; i <= last; i++) {
+      this.chunks[i].force();
+    }
+    // only update the header once the records are durable
+    this.header.putLong(COMMITTED_OFFSET, this.size);
+    this.header.force();
+    this.committed = this.size;
+  }
+
+  /**
+   * Creates a new scanner over all postings of a currency.
+   *
+   * @param currency the currency of the postings, not null
+   * @return a new scanner positioned before the first posting, not null
+   * @throws IllegalStateException if the ledger is closed
+   */
+  public Scanner scan(CurrencyUnit currency) {
+    Objects.requireNonNull(currency, "currency");
+    this.checkOpen();
+    return new Scanner(currency);
+  }
+
+  /**
+   * Syncs and closes the ledger.
+   *
+   * <p>
+   * Java 8 has no public API to unmap a file immediately, the mappings
+   * are released once the garbage collector collects them.
+   *
+   * @throws IOException if the file can not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.chunks == null) {
+      return;
+    }
+    try {
+      this.sync();
+    } finally {
+      this.chunks = null;
+      this.channel.close();
+    }
+  }
+
+  private void grow() throws IOException {
+    long chunkBytes = (long) this.recordsPerChunk * RECORD_SIZE;
+    int chunkCount = this.chunks.length;
+    MappedByteBuffer[] newChunks = Arrays.copyOf(this.chunks, chunkCount + 1);
+    newChunks[chunkCount] = map(this.channel, HEADER_SIZE + (chunkCount * chunkBytes), chunkBytes);
+    this.chunks = newChunks;
+  }
+
+  private long capacity() {
+    return (long) this.chunks.length * this.recordsPerChunk;
+  }
+
+  private MappedByteBuffer chunk(long index) {
+    return this.chunks[(int) (index / this.recordsPerChunk)];
+  }
+
+  private int position(long index) {
+    return (int) (index % this.recordsPerChunk) * RECORD_SIZE;
+  }
+
+  private void checkIndex(long index) {
+    this.checkOpen();
+    if ((index < 0L) || (index >= this.size)) {
+      throw new IndexOutOfBoundsException("index: " + index + " size: " + this.size);
+    }
+  }
+
+  private void checkOpen() {
+    if (this.chunks == null) {
+      throw new IllegalStateException("ledger closed");
+    }
+  }
+
+  /**
+   * A sequential scan over all postings of one currency in a
+   * {@link FastMoney6Ledger} with a running balance.
+   *
+   * <p>
+   * Records are read directly from the mapped file, advancing the scanner
+   * does not allocate.
+   */
+  public final class Scanner {
+
+    private final CurrencyUnit currency;
+
+    private final short compressedCurrency;
+
+    private long index;
+
+    private long value;
+
+    private long key;
+
+    private long balance;
+
+    Scanner(CurrencyUnit currency) {
+      this.currency = currency;
+      this.compressedCurrency = IsoCurrencyCompressor.compressCurrency(currency);
+      this.index = -1L;
+    }
+
+    /**
+     * Moves this scanner to the next posting in the currency and adds it to
+     * the running balance.
+     *
+     * @return {@code true} if there is a next posting, {@code false} if the
+     *         end has been reached
+     * @throws ArithmeticException if the balance overflows
+     * @throws IllegalStateException if the ledger is closed
+     */
+    public boolean next() {
+      FastMoney6Ledger ledger = FastMoney6Ledger.this;
+      ledger.checkOpen();
+      long size = ledger.size;
+      long current = this.index + 1L;
+      while (current < size) {
+        MappedByteBuffer chunk = ledger.chunk(current);
+        int position = ledger.position(current);
+        if (chunk.getShort(position + CURRENCY_OFFSET) == this.compressedCurrency) {
+          long postingValue = chunk.getLong(position);
+          this.balance = Math.addExact(this.balance, postingValue);
+          this.value = postingValue;
+          this.key = chunk.getLong(position + KEY_OFFSET);
+          this.index = current;
+          return true;
+        }
+        current += 1L;
+      }
+      this.index = size - 1L;
+      return false;
+    }
+
+    /**
+     * Returns the index of the current posting.
+     *
+     * @return the current index
+     */
+    public long getIndex() {
+      return this.index;
+    }
+
+    /**
+     * Returns the key of the current posting.
+     *
+     * @return the key of the current posting
+     */
+    public long getKey() {
+      return this.key;
+    }
+
+    /**
+     * Returns the signum of the current posting.
+     *
+     * @return -1, 0, or 1 as the current posting is negative, zero, or positive
+     */
+    public int signum() {
+      return Long.signum(this.value);
+    }
+
+    /**
+     * Returns the currency of the postings.
+     *
+     * @return the currency, not null
+     */
+    public CurrencyUnit getCurrency() {
+      return this.currency;
+    }
+
+    /**
+     * Creates a new {@link FastMoney6} from the amount of the current posting.
+     *
+     * @return a new amount, not null
+     */
+    public FastMoney6 getAmount() {
+      return new FastMoney6(this.value, this.currency);
+    }
+
+    /**
+     * Creates a new {@link FastMoney6} from the running balance including
+     * the current posting.
+     *
+     * @return a new amount, not null
+     */
+    public FastMoney6 getBalance() {
+      return new FastMoney6(this.balance, this.currency);
+    }
+
+    long value() {
+      return this.value;
+    }
+
+    long balance() {
+      return this.balance;
+    }
+
+  }
+
+}
@@ -0,0 +1,125 @@
+package com.github.marschall.acme.money;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryException;
+import javax.money.format.MonetaryParseException;
+
+import com.github.marschall.acme.money.FastMoney6AmountFormat.ByteBufferInput;
+import com.github.marschall.acme.money.FastMoney6Reader.AmountHandler;
+import com.github.marschall.acme.money.FastMoney6Reader.ErrorHandler;
+
+/**
+ * Parses the lines of the format of {@link FastMoney6Reader} from bytes
+ * and passes the results to the handlers.
+ *
+ * <p>
+ * Shared by {@link FastMoney6Reader} and {@link FastMoney6ParallelReader}.
+ */
+final class FastMoney6LineParser {
+
+  /**
+   * The number of bytes of a line that is too long included in the error.
+   */
+  static final int TOO_LONG_PREFIX_LENGTH = 64;
+
+  private final AmountHandler amountHandler;
+
+  private final ErrorHandler errorHandler;
+
+  /**
+   * Reused for every line.
+   */
+  private final ByteBufferInput input;
+
+  FastMoney6LineParser(AmountHandler amountHandler, ErrorHandler errorHandler) {
+    Objects.requireNonNull(amountHandler, "amountHandler");
+    Objects.requireNonNull(errorHandler, "errorHandler");
+    this.amountHandler = amountHandler;
+    this.errorHandler = errorHandler;
+    this.input = new ByteBufferInput();
+  }
+
+  /**
+   * Parses all lines in a buffer, the last line does not need a line
+   * separator.
+   *
+   * @param buffer the buffer containing the lines
+   * @param end the index after the last byte to parse
+   * @param bufferOffset the byte offset in the input of index 0 of the buffer
+   * @return the number of parsed amounts
+   */
+  long parseLines(ByteBuffer buffer, int end, long bufferOffset) {
+    long count = 0L;
+    int lineStart = 0;
+    for (int i = 0; i < end; i++) {
+      if (buffer.get(i) == '\n') {
+        count += this.parseLine(buffer, lineStart, i, bufferOffset + lineStart);
+        lineStart = i + 1;
+      }
+    }
+    count += this.parseLine(buffer, lineStart, end, bufferOffset + lineStart);
+    return count;
+  }
+
+  /**
+   * Parses a single line.
+   *
+   * @param buffer the buffer containing the line
+   * @param start the index of the first byte of the line
+   * @param end the index of the line separator
+   * @param offset the byte offset of the line in the input
+   * @return the number of parsed amounts, 0 or 1
+   */
+  int parseLine(ByteBuffer buffer, int start, int end, long offset) {
+    int lineEnd = end;
+    if (lineEnd > start && buffer.get(lineEnd - 1) == '\r') {
+      lineEnd -= 1;
+    }
+    if (lineEnd == start) {
+      return 0;
+    }
+    ByteBufferInput input = this.input;
+    input.reset(buffer, start, lineEnd);
+    CurrencyUnit currency;
+    long fastValue6;
+    try {
+      int spaceIndex = FastMoney6AmountFormat.requireSpaceIndex(input);
+      fastValue6 = FastMoney6AmountFormat.parseFastValue6(input, spaceIndex + 1);
+      currency = FastMoney6AmountFormat.parseCurrency(input, spaceIndex);
+    } catch (MonetaryException e) {
+      this.errorHandler.invalidLine(offset, e);
+      return 0;
+    }
+    this.amountHandler.amount(currency, fastValue6, offset);
+    return 1;
+  }
+
+  /**
+   * Reports a line that does not fit into a buffer.
+   *
+   * @param buffer the buffer starting with the line, the bytes up to the
+   *               limit are part of the line
+   * @param offset the byte offset of the line in the input
+   */
+  void lineTooLong(ByteBuffer buffer, long offset) {
+    lineTooLong(buffer, offset, this.errorHandler);
+  }
+
+  static void lineTooLong(ByteBuffer buffer, long offset, ErrorHandler errorHandler) {
+    String prefix = FastMoney6AmountFormat.asciiText(buffer, 0, Math.min(buffer.limit(), TOO_LONG_PREFIX_LENGTH));
+    errorHandler.invalidLine(offset, new MonetaryParseException("line too long", prefix, 0));
+  }
+
+  static int indexOfNewline(ByteBuffer buffer, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
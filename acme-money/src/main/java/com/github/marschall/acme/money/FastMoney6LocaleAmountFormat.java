@@ -0,0 +1,575 @@
+package com.github.marschall.acme.money;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.format.AmountFormatContext;
+import javax.money.format.AmountFormatContextBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryParseException;
+
+/**
+ * Locale specific format for {@link FastMoney6}.
+ *
+ * <p>
+ * The grouping separator, decimal separator, minus sign and the placement
+ * of the currency symbol are taken from the locale once when the format is
+ * created. Formatting and parsing then work directly on the {@code long}
+ * value without {@link DecimalFormat}. Amounts are formatted with the
+ * default fraction digits of their currency, rounded
+ * {@link java.math.RoundingMode#HALF_EVEN}. Negative amounts use the
+ * prefix and suffix of the negative subpattern of the locale, if there is
+ * none they start with the minus sign of the locale.
+ *
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+final class FastMoney6LocaleAmountFormat implements MonetaryAmountFormat {
+
+  private static final ConcurrentMap<Locale, FastMoney6LocaleAmountFormat> FORMATS = new ConcurrentHashMap<>();
+
+  private static final ConcurrentMap<Locale, Boolean> SUPPORTED = new ConcurrentHashMap<>();
+
+  private static final char CURRENCY_SIGN = '\u00A4';
+
+  /**
+   * Replaces a double currency sign, which stands for the currency code,
+   * in the affixes.
+   */
+  private static final char CURRENCY_CODE_SIGN = '\uFFFF';
+
+  private static final String DEFAULT_PATTERN = "\u00A4 #,##0.00";
+
+  /**
+   * The maximum number of digits of a {@code long}.
+   */
+  private static final int MAX_DIGITS = 19;
+
+  private final Locale locale;
+
+  private final AmountFormatContext context;
+
+  private final char groupingSeparator;
+
+  private final char decimalSeparator;
+
+  private final char minusSign;
+
+  /**
+   * The number of digits in a group, 0 if no grouping is used.
+   */
+  private final int groupingSize;
+
+  /**
+   * Digits, grouping separators and the decimal separator.
+   */
+  private final int maxNumberLength;
+
+  private final String prefix;
+
+  private final String suffix;
+
+  private final String negativePrefix;
+
+  private final String negativeSuffix;
+
+  /**
+   * The characters of the negative affixes that are not in the positive
+   * affixes, eg. parentheses, mark a negative amount when parsing.
+   */
+  private final String negativeMarkers;
+
+  private final Map<String, CurrencyUnit> currenciesBySymbol;
+
+  /**
+   * Lazily populated cache, does not change the observable state.
+   */
+  private final ConcurrentMap<String, String> symbolsByCode;
+
+  private FastMoney6LocaleAmountFormat(Locale locale, DecimalFormatSymbols symbols, NumberFormat numberFormat) {
+    this(locale, symbols, pattern(numberFormat), groupingSize(numberFormat));
+  }
+
+  /**
+   * Creates a format from a {@link DecimalFormat} pattern, only the affixes
+   * are taken from the pattern.
+   *
+   * @param locale the locale for the currency symbols
+   * @param symbols the separators and minus sign
+   * @param pattern the currency pattern, a semicolon in quotes is not
+   *                supported
+   * @param groupingSize the number of digits in a group, 0 if no grouping
+   *                     is used
+   */
+  FastMoney6LocaleAmountFormat(Locale locale, DecimalFormatSymbols symbols, String pattern, int groupingSize) {
+    this.locale = locale;
+    this.context = AmountFormatContextBuilder.of(locale)
+            .setMonetaryAmountFactory(new FastMoney6AmountFactory())
+            .setProviderName(AcmeMoneyConstants.PROVIDER_NAME)
+            .build();
+    this.groupingSeparator = symbols.getGroupingSeparator();
+    this.decimalSeparator = symbols.getMonetaryDecimalSeparator();
+    this.minusSign = symbols.getMinusSign();
+    this.groupingSize = groupingSize;
+    int maxGroupingSeparators = groupingSize > 0 ? (MAX_DIGITS - 1) / groupingSize : 0;
+    this.maxNumberLength = MAX_DIGITS + maxGroupingSeparators + 1;
+
+    // the pattern is only read once, DecimalFormat is not used for formatting
+    int separatorIndex = pattern.indexOf(';');
+    String positivePattern = separatorIndex == -1 ? pattern : pattern.substring(0, separatorIndex);
+    this.prefix = this.affix(positivePattern.substring(0, indexOfNumber(positivePattern)));
+    this.suffix = this.affix(positivePattern.substring(lastIndexOfNumber(positivePattern) + 1));
+    if (separatorIndex == -1) {
+      // same as DecimalFormat, the minus sign followed by the positive prefix
+      this.negativePrefix = this.minusSign + this.prefix;
+      this.negativeSuffix = this.suffix;
+    } else {
+      String negativePattern = pattern.substring(separatorIndex + 1);
+      this.negativePrefix = this.affix(negativePattern.substring(0, indexOfNumber(negativePattern)));
+      this.negativeSuffix = this.affix(negativePattern.substring(lastIndexOfNumber(negativePattern) + 1));
+    }
+    this.negativeMarkers = this.negativeMarkers();
+
+    this.currenciesBySymbol = currenciesBySymbol(locale);
+    this.symbolsByCode = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns the format for a locale.
+   *
+   * @param locale the locale, not null, has to be
+   *               {@linkplain #isSupported(Locale) supported}
+   * @return the format for the locale, not null
+   */
+  static FastMoney6LocaleAmountFormat of(Locale locale) {
+    Objects.requireNonNull(locale, "locale");
+    FastMoney6LocaleAmountFormat format = FORMATS.get(locale);
+    if (format == null) {
+      format = new FastMoney6LocaleAmountFormat(locale, DecimalFormatSymbols.getInstance(locale), NumberFormat.getCurrencyInstance(locale));
+      FastMoney6LocaleAmountFormat previous = FORMATS.putIfAbsent(locale, format);
+      if (previous != null) {
+        format = previous;
+      }
+    }
+    return format;
+  }
+
+  /**
+   * Returns the locales supported by this format, the locales with ASCII
+   * digits and a {@link DecimalFormat} currency pattern.
+   *
+   * @return the supported locales, not null, unmodifiable
+   */
+  static Set<Locale> getAvailableLocales() {
+    return AvailableLocales.LOCALES;
+  }
+
+  /**
+   * Checks whether a locale is supported by this format without computing
+   * all the supported locales.
+   *
+   * <p>
+   * The result is cached per locale, only the first check of a locale
+   * creates a {@link NumberFormat}.
+   *
+   * @param locale the locale to check, not null
+   * @return whether the locale has ASCII digits and a {@link DecimalFormat}
+   *         currency pattern
+   */
+  static boolean isSupported(Locale locale) {
+    if (FORMATS.containsKey(locale)) {
+      return true;
+    }
+    Boolean supported = SUPPORTED.get(locale);
+    if (supported == null) {
+      supported = computeSupported(locale);
+      SUPPORTED.putIfAbsent(locale, supported);
+    }
+    return supported;
+  }
+
+  private static boolean computeSupported(Locale locale) {
+    NumberFormat numberFormat = NumberFormat.getCurrencyInstance(locale);
+    if (numberFormat instanceof DecimalFormat) {
+      DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+      // digits are always written as ASCII, a semicolon in quotes is not supported
+      return decimalFormat.getDecimalFormatSymbols().getZeroDigit() == '0'
+              && decimalFormat.toPattern().indexOf('\'') == -1;
+    }
+    return false;
+  }
+
+  private static String pattern(NumberFormat numberFormat) {
+    if (numberFormat instanceof DecimalFormat) {
+      return ((DecimalFormat) numberFormat).toPattern();
+    }
+    return DEFAULT_PATTERN;
+  }
+
+  private static int groupingSize(NumberFormat numberFormat) {
+    if (numberFormat instanceof DecimalFormat) {
+      DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+      return decimalFormat.isGroupingUsed() ? decimalFormat.getGroupingSize() : 0;
+    }
+    return 3;
+  }
+
+  private static boolean isNumberPatternCharacter(char c) {
+    return c == '#' || c == '0' || c == ',' || c == '.';
+  }
+
+  private static int indexOfNumber(String pattern) {
+    for (int i = 0; i < pattern.length(); i++) {
+      if (isNumberPatternCharacter(pattern.charAt(i))) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("no number in pattern: " + pattern);
+  }
+
+  private static int lastIndexOfNumber(String pattern) {
+    for (int i = pattern.length() - 1; i >= 0; i--) {
+      if (isNumberPatternCharacter(pattern.charAt(i))) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("no number in pattern: " + pattern);
+  }
+
+  private String affix(String patternAffix) {
+    StringBuilder buffer = new StringBuilder(patternAffix.length());
+    for (int i = 0; i < patternAffix.length(); i++) {
+      char c = patternAffix.charAt(i);
+      if (c == '\'') {
+        // quotes are only needed to escape special characters
+        if (i + 1 < patternAffix.length() && patternAffix.charAt(i + 1) == '\'') {
+          buffer.append('\'');
+          i += 1;
+        }
+      } else if (c == CURRENCY_SIGN && i + 1 < patternAffix.length() && patternAffix.charAt(i + 1) == CURRENCY_SIGN) {
+        buffer.append(CURRENCY_CODE_SIGN);
+        i += 1;
+      } else if (c == '-') {
+        buffer.append(this.minusSign);
+      } else {
+        buffer.append(c);
+      }
+    }
+    return buffer.toString();
+  }
+
+  private String negativeMarkers() {
+    StringBuilder markers = new StringBuilder(2);
+    String negativeAffixes = this.negativePrefix + this.negativeSuffix;
+    String positiveAffixes = this.prefix + this.suffix;
+    for (int i = 0; i < negativeAffixes.length(); i++) {
+      char c = negativeAffixes.charAt(i);
+      if (c != this.minusSign && c != CURRENCY_SIGN && c != CURRENCY_CODE_SIGN
+              && !Character.isWhitespace(c) && !Character.isSpaceChar(c)
+              && positiveAffixes.indexOf(c) == -1 && markers.indexOf(String.valueOf(c)) == -1) {
+        markers.append(c);
+      }
+    }
+    return markers.toString();
+  }
+
+  private static Map<String, CurrencyUnit> currenciesBySymbol(Locale locale) {
+    Map<String, CurrencyUnit> currencies = new HashMap<>();
+    Set<String> ambiguous = new HashSet<>();
+    for (Currency currency : Currency.getAvailableCurrencies()) {
+      String code = currency.getCurrencyCode();
+      String symbol = currency.getSymbol(locale);
+      if (symbol.equals(code) || code.length() != 3) {
+        continue;
+      }
+      int compressed = IsoCurrencyCompressor.compressCurrencyCode((byte) code.charAt(0), (byte) code.charAt(1), (byte) code.charAt(2));
+      CurrencyUnit currencyUnit = compressed != -1 ? IsoCurrencyProvider.findCurrency((short) compressed) : null;
+      if (currencyUnit == null) {
+        continue;
+      }
+      if (currencies.put(symbol, currencyUnit) != null) {
+        ambiguous.add(symbol);
+      }
+    }
+    currencies.keySet().removeAll(ambiguous);
+    return currencies;
+  }
+
+  @Override
+  public AmountFormatContext getContext() {
+    return this.context;
+  }
+
+  @Override
+  public String queryFrom(MonetaryAmount amount) {
+    Objects.requireNonNull(amount, "amount");
+    StringBuilder buffer = new StringBuilder(this.maxNumberLength + this.negativePrefix.length() + this.negativeSuffix.length() + 3);
+    try {
+      this.print(buffer, amount);
+    } catch (IOException e) {
+      // should not happen
+      throw new RuntimeException("could not write to StringBuilder", e);
+    }
+    return buffer.toString();
+  }
+
+  @Override
+  public void print(Appendable appendable, MonetaryAmount amount) throws IOException {
+    Objects.requireNonNull(appendable, "appendable");
+    FastMoney6 money = FastMoney6.from(amount);
+    CurrencyUnit currency = money.currency;
+    int fractionDigits = fractionDigits(currency);
+    long rounded = roundedNegativeMagnitude(money.value, fractionDigits);
+
+    char[] number = new char[this.maxNumberLength];
+    int start = this.writeNumber(rounded, fractionDigits, number);
+
+    boolean negative = money.value < 0L && rounded != 0L;
+    this.appendAffix(appendable, negative ? this.negativePrefix : this.prefix, currency);
+    for (int i = start; i < number.length; i++) {
+      appendable.append(number[i]);
+    }
+    this.appendAffix(appendable, negative ? this.negativeSuffix : this.suffix, currency);
+  }
+
+  private static int fractionDigits(CurrencyUnit currency) {
+    int fractionDigits = currency.getDefaultFractionDigits();
+    if (fractionDigits < 0 || fractionDigits > FastMoney6.SCALE) {
+      // no minor unit, for example gold, use all digits
+      return FastMoney6.SCALE;
+    }
+    return fractionDigits;
+  }
+
+  /**
+   * Rounds to the given fraction digits and returns the negated magnitude,
+   * which avoids overflow for {@link Long#MIN_VALUE}.
+   */
+  private static long roundedNegativeMagnitude(long fastValue6, int fractionDigits) {
+    long negative = fastValue6 > 0L ? -fastValue6 : fastValue6;
+    if (fractionDigits == FastMoney6.SCALE) {
+      return negative;
+    }
+    long divisor = DecimalMath.powerOfTen(FastMoney6.SCALE - fractionDigits);
+    long quotient = negative / divisor;
+    long remainder = -(negative % divisor);
+    long twiceRemainder = remainder * 2L;
+    if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1L) != 0L)) {
+      quotient -= 1L;
+    }
+    return quotient;
+  }
+
+  /**
+   * Writes the digits of the negated magnitude into the end of a buffer.
+   *
+   * @return the index of the first character written
+   */
+  private int writeNumber(long negativeMagnitude, int fractionDigits, char[] buffer) {
+    long remaining = negativeMagnitude;
+    int index = buffer.length;
+    for (int i = 0; i < fractionDigits; i++) {
+      buffer[--index] = (char) ('0' - (remaining % 10L));
+      remaining /= 10L;
+    }
+    if (fractionDigits > 0) {
+      buffer[--index] = this.decimalSeparator;
+    }
+    int integerDigits = 0;
+    do {
+      buffer[--index] = (char) ('0' - (remaining % 10L));
+      remaining /= 10L;
+      integerDigits += 1;
+      if (remaining != 0L && this.groupingSize > 0 && integerDigits % this.groupingSize == 0) {
+        buffer[--index] = this.groupingSeparator;
+      }
+    } while (remaining != 0L);
+    return index;
+  }
+
+  private void appendAffix(Appendable appendable, String affix, CurrencyUnit currency) throws IOException {
+    for (int i = 0; i < affix.length(); i++) {
+      char c = affix.charAt(i);
+      if (c == CURRENCY_SIGN) {
+        appendable.append(this.symbol(currency));
+      } else if (c == CURRENCY_CODE_SIGN) {
+        appendable.append(currency.getCurrencyCode());
+      } else {
+        appendable.append(c);
+      }
+    }
+  }
+
+  private String symbol(CurrencyUnit currency) {
+    String currencyCode = currency.getCurrencyCode();
+    String symbol = this.symbolsByCode.get(currencyCode);
+    if (symbol == null) {
+      try {
+        symbol = Currency.getInstance(currencyCode).getSymbol(this.locale);
+      } catch (IllegalArgumentException e) {
+        // not a currency known to the JDK
+        symbol = currencyCode;
+      }
+      this.symbolsByCode.putIfAbsent(currencyCode, symbol);
+    }
+    return symbol;
+  }
+
+  @Override
+  public FastMoney6 parse(CharSequence text) throws MonetaryParseException {
+    Objects.requireNonNull(text, "text");
+    int length = text.length();
+    int numberStart = 0;
+    while (numberStart < length && !isDigit(text.charAt(numberStart))) {
+      numberStart += 1;
+    }
+    if (numberStart == length) {
+      throw new MonetaryParseException("number expected", text, 0);
+    }
+
+    // accumulate negatively so that the minimum value can be parsed
+    long negativeValue = 0L;
+    int fractionLength = 0;
+    boolean decimalSeparatorSeen = false;
+    int index = numberStart;
+    while (index < length) {
+      char c = text.charAt(index);
+      if (isDigit(c)) {
+        if (decimalSeparatorSeen) {
+          if (fractionLength == FastMoney6.SCALE) {
+            throw new MonetaryParseException("fraction part too long", text, index);
+          }
+          fractionLength += 1;
+        }
+        try {
+          negativeValue = Math.subtractExact(Math.multiplyExact(negativeValue, 10L), c - '0');
+        } catch (ArithmeticException e) {
+          throw new MonetaryParseException("amount exceeded", text, index);
+        }
+      } else if (c == this.decimalSeparator && !decimalSeparatorSeen && isDigitAt(text, index + 1)) {
+        decimalSeparatorSeen = true;
+      } else if (c == this.groupingSeparator && this.groupingSize > 0 && !decimalSeparatorSeen && isDigitAt(text, index + 1)) {
+        // grouping separators are optional
+      } else {
+        break;
+      }
+      index += 1;
+    }
+    int numberEnd = index;
+    try {
+      negativeValue = Math.multiplyExact(negativeValue, DecimalMath.powerOfTen(FastMoney6.SCALE - fractionLength));
+    } catch (ArithmeticException e) {
+      throw new MonetaryParseException("amount exceeded", text, numberStart);
+    }
+
+    boolean negative = false;
+    int tokenStart = -1;
+    int tokenEnd = -1;
+    for (int i = 0; i < length; i++) {
+      if (i == numberStart) {
+        i = numberEnd - 1;
+        continue;
+      }
+      char c = text.charAt(i);
+      if (c == this.minusSign || c == '-') {
+        if (negative) {
+          throw new MonetaryParseException("more than one minus sign", text, i);
+        }
+        negative = true;
+      } else if (this.negativeMarkers.indexOf(c) != -1) {
+        negative = true;
+      } else if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+        if (tokenStart == -1) {
+          tokenStart = i;
+        } else if (tokenEnd != i) {
+          throw new MonetaryParseException("unexpected character", text, i);
+        }
+        tokenEnd = i + 1;
+      }
+    }
+    if (tokenStart == -1) {
+      throw new MonetaryParseException("currency expected", text, 0);
+    }
+    CurrencyUnit currency = this.parseCurrency(text, tokenStart, tokenEnd);
+    if (negative) {
+      return new FastMoney6(negativeValue, currency);
+    }
+    if (negativeValue == Long.MIN_VALUE) {
+      throw new MonetaryParseException("amount exceeded", text, numberStart);
+    }
+    return new FastMoney6(-negativeValue, currency);
+  }
+
+  private CurrencyUnit parseCurrency(CharSequence text, int start, int end) {
+    if (end - start == 3) {
+      int compressed = IsoCurrencyCompressor.compressCurrencyCode(
+              asciiByte(text.charAt(start)), asciiByte(text.charAt(start + 1)), asciiByte(text.charAt(start + 2)));
+      if (compressed != -1) {
+        CurrencyUnit currency = IsoCurrencyProvider.findCurrency((short) compressed);
+        if (currency != null) {
+          return currency;
+        }
+      }
+    }
+    CurrencyUnit currency = this.currenciesBySymbol.get(text.subSequence(start, end).toString());
+    if (currency == null) {
+      throw new MonetaryParseException("unknown currency", text, start);
+    }
+    return currency;
+  }
+
+  private static byte asciiByte(char c) {
+    return c <= 0x7F ? (byte) c : 0;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isDigitAt(CharSequence text, int index) {
+    return index < text.length() && isDigit(text.charAt(index));
+  }
+
+  /**
+   * Computes the supported locales on first access.
+   */
+  private static final class AvailableLocales {
+
+    static final Set<Locale> LOCALES;
+
+    static {
+      Set<Locale> locales = new HashSet<>();
+      for (Locale locale : NumberFormat.getAvailableLocales()) {
+        if (isSupported(locale)) {
+          locales.add(locale);
+        }
+      }
+      LOCALES = Collections.unmodifiableSet(locales);
+    }
+
+    private AvailableLocales() {
+      throw new AssertionError("not instantiable");
+    }
+
+  }
+
+  @Override
+  public String toString() {
+    return "FastMoney6LocaleAmountFormat[" + this.locale + ']';
+  }
+
+}
@@ -0,0 +1,398 @@
+package com.github.marschall.acme.money;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryException;
+import javax.money.format.MonetaryParseException;
+
+import com.github.marschall.acme.money.FastMoney6Reader.ErrorHandler;
+
+/**
+ * Reads {@link FastMoney6} amounts from a file in the format of
+ * {@link FastMoney6Reader} using several threads.
+ *
+ * <p>
+ * The file is split into chunks at line boundaries, every chunk is memory
+ * mapped and parsed by a task in a {@link ForkJoinPool}. The results of
+ * the chunks are merged in input order.
+ *
+ * <p>
+ * The {@link ErrorHandler} may be called concurrently by several threads.
+ * Instances are thread safe if the error handler is.
+ */
+public final class FastMoney6ParallelReader {
+
+  private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+  private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+  /**
+   * Number of chunks per thread, more chunks than threads balance uneven
+   * chunks.
+   */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private final ForkJoinPool pool;
+
+  private final ErrorHandler errorHandler;
+
+  private final long chunkSize;
+
+  private final long maxChunkSize;
+
+  /**
+   * Creates a new reader that fails on the first line that can not be parsed.
+   *
+   * @param pool the pool in which to parse, not null
+   */
+  public FastMoney6ParallelReader(ForkJoinPool pool) {
+    this(pool, FastMoney6Reader.FAIL);
+  }
+
+  /**
+   * Creates a new reader.
+   *
+   * @param pool the pool in which to parse, not null
+   * @param errorHandler the handler for the lines that can not be parsed,
+   *                     not null, has to be thread safe
+   */
+  public FastMoney6ParallelReader(ForkJoinPool pool, ErrorHandler errorHandler) {
+    this(pool, errorHandler, -1L);
+  }
+
+  FastMoney6ParallelReader(ForkJoinPool pool, ErrorHandler errorHandler, long chunkSize) {
+    this(pool, errorHandler, chunkSize, MAX_CHUNK_SIZE);
+  }
+
+  FastMoney6ParallelReader(ForkJoinPool pool, ErrorHandler errorHandler, long chunkSize, long maxChunkSize) {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(errorHandler, "errorHandler");
+    this.pool = pool;
+    this.errorHandler = errorHandler;
+    this.chunkSize = chunkSize;
+    this.maxChunkSize = maxChunkSize;
+  }
+
+  /**
+   * Sums up all amounts in a file by currency.
+   *
+   * @param path the file to read, not null
+   * @return the totals by currency for every currency that occurs in the
+   *         file, not null
+   * @throws IOException if reading from the file fails
+   * @throws ArithmeticException if a total overflows
+   * @throws MonetaryParseException if a line can not be parsed and the
+   *                                error handler fails
+   */
+  public Map<CurrencyUnit, FastMoney6> sumByCurrency(Path path) throws IOException {
+    List<SumTask> tasks = this.parse(path, SumTask::new);
+    long[] totals = new long[IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES];
+    boolean[] present = new boolean[IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES];
+    for (SumTask task : tasks) {
+      for (int i = 0; i < IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES; i++) {
+        if (task.present[i]) {
+          totals[i] = Math.addExact(totals[i], task.totals[i]);
+          present[i] = true;
+        }
+      }
+    }
+    Map<CurrencyUnit, FastMoney6> result = new HashMap<>();
+    for (int i = 0; i < IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES; i++) {
+      if (present[i]) {
+        CurrencyUnit currency = IsoCurrencyProvider.getCurrency((short) i);
+        result.put(currency, new FastMoney6(totals[i], currency));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Reads all amounts in a file.
+   *
+   * @param path the file to read, not null
+   * @return the amounts in the order of the file, not null
+   * @throws IOException if reading from the file fails
+   * @throws MonetaryParseException if a line can not be parsed and the
+   *                                error handler fails
+   */
+  public FastMoney6Array read(Path path) throws IOException {
+    List<ArrayTask> tasks = this.parse(path, ArrayTask::new);
+    long size = 0L;
+    for (ArrayTask task : tasks) {
+      size += task.amounts.size();
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalStateException("too many amounts for an array: " + size);
+    }
+    FastMoney6Array result = new FastMoney6Array((int) size);
+    for (ArrayTask task : tasks) {
+      result.addAll(task.amounts);
+    }
+    return result;
+  }
+
+  private <T extends ChunkTask> List<T> parse(Path path, ChunkTaskFactory<T> taskFactory) throws IOException {
+    Objects.requireNonNull(path, "path");
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      long size = channel.size();
+      List<T> tasks = new ArrayList<>();
+      long start = 0L;
+      long chunkSize = this.chunkSize(size);
+      while (start < size) {
+        long limit = Math.min(start + this.maxChunkSize, size);
+        long end = findChunkEnd(channel, start, Math.min(start + chunkSize, limit), limit, size);
+        if (end == -1L) {
+          // the line does not fit into a chunk, same as FastMoney6Reader
+          this.lineTooLong(channel, start);
+          start = skipLine(channel, limit, size);
+          continue;
+        }
+        tasks.add(taskFactory.newTask(channel, start, end, this.errorHandler));
+        start = end;
+      }
+      try {
+        this.pool.invoke(new RecursiveAction() {
+
+          @Override
+          protected void compute() {
+            ForkJoinTask.invokeAll(tasks);
+          }
+
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      return tasks;
+    }
+  }
+
+  private long chunkSize(long size) {
+    if (this.chunkSize > 0L) {
+      return this.chunkSize;
+    }
+    long chunks = (long) this.pool.getParallelism() * CHUNKS_PER_THREAD;
+    long chunkSize = (size + chunks - 1L) / chunks;
+    return Math.min(Math.max(chunkSize, MIN_CHUNK_SIZE), this.maxChunkSize);
+  }
+
+  private void lineTooLong(FileChannel channel, long offset) throws IOException {
+    ByteBuffer prefix = ByteBuffer.allocate(FastMoney6LineParser.TOO_LONG_PREFIX_LENGTH);
+    channel.read(prefix, offset);
+    prefix.flip();
+    FastMoney6LineParser.lineTooLong(prefix, offset, this.errorHandler);
+  }
+
+  /**
+   * Finds the end of a chunk, the index after the first line separator at
+   * or after {@code target - 1}. If there is none before {@code limit} the
+   * chunk ends after the last line separator before {@code target - 1}
+   * instead so that the next chunk starts with the whole line.
+   *
+   * @param channel the file
+   * @param start the start of the chunk
+   * @param target the preferred end of the chunk
+   * @param limit the largest possible end of the chunk
+   * @param size the size of the file
+   * @return the end of the chunk, {@code -1} if there is no line
+   *         separator between {@code start} and {@code limit}
+   */
+  private static long findChunkEnd(FileChannel channel, long start, long target, long limit, long size) throws IOException {
+    if (target == size) {
+      return size;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    long position = target - 1L;
+    while (position < limit) {
+      buffer.clear();
+      buffer.limit((int) Math.min(buffer.capacity(), limit - position));
+      int read = channel.read(buffer, position);
+      if (read == -1) {
+        break;
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return position + i + 1L;
+        }
+      }
+      position += read;
+    }
+    if (limit == size) {
+      // last line without a line separator
+      return size;
+    }
+    // search backwards for the start of the line that crosses the limit
+    long end = target - 1L;
+    while (end > start) {
+      long blockStart = Math.max(start, end - buffer.capacity());
+      buffer.clear();
+      buffer.limit((int) (end - blockStart));
+      int read = readFully(channel, buffer, blockStart);
+      for (int i = read - 1; i >= 0; i--) {
+        if (buffer.get(i) == '\n') {
+          return blockStart + i + 1L;
+        }
+      }
+      end = blockStart;
+    }
+    return -1L;
+  }
+
+  /**
+   * Skips the rest of a line.
+   *
+   * @param channel the file
+   * @param position the position inside the line
+   * @param size the size of the file
+   * @return the index after the next line separator or the size of the
+   *         file if there is none
+   */
+  private static long skipLine(FileChannel channel, long position, long size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    long current = position;
+    while (current < size) {
+      buffer.clear();
+      int read = channel.read(buffer, current);
+      if (read == -1) {
+        break;
+      }
+      int newline = FastMoney6LineParser.indexOfNewline(buffer, 0, read);
+      if (newline != -1) {
+        return current + newline + 1L;
+      }
+      current += read;
+    }
+    return size;
+  }
+
+  private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    int total = 0;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + total);
+      if (read == -1) {
+        break;
+      }
+      total += read;
+    }
+    return total;
+  }
+
+  @FunctionalInterface
+  interface ChunkTaskFactory<T extends ChunkTask> {
+
+    T newTask(FileChannel channel, long start, long end, ErrorHandler errorHandler);
+
+  }
+
+  /**
+   * Parses a chunk of lines, the chunk starts at the start of a line and
+   * ends after a line separator or at the end of the file.
+   *
+   * <p>
+   * Lines with a currency that is not in the ISO table are passed to the
+   * error handler, subclasses only see compressed ISO currencies.
+   */
+  abstract static class ChunkTask extends RecursiveAction implements FastMoney6Reader.AmountHandler {
+
+    private final FileChannel channel;
+
+    private final long start;
+
+    private final long end;
+
+    private final ErrorHandler errorHandler;
+
+    ChunkTask(FileChannel channel, long start, long end, ErrorHandler errorHandler) {
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+      this.errorHandler = errorHandler;
+    }
+
+    @Override
+    protected void compute() {
+      int length = (int) (this.end - this.start);
+      ByteBuffer chunk;
+      try {
+        chunk = this.channel.map(MapMode.READ_ONLY, this.start, length);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      FastMoney6LineParser parser = new FastMoney6LineParser(this, this.errorHandler);
+      parser.parseLines(chunk, length, this.start);
+    }
+
+    @Override
+    public final void amount(CurrencyUnit currency, long fastValue6, long offset) {
+      short compressed;
+      try {
+        compressed = IsoCurrencyCompressor.compressIsoCurrency(currency);
+      } catch (IllegalArgumentException e) {
+        this.errorHandler.invalidLine(offset, new MonetaryException(e.getMessage(), e));
+        return;
+      }
+      this.amount(compressed, fastValue6);
+    }
+
+    /**
+     * Called for every parsed amount.
+     *
+     * @param compressedCurrency the compressed ISO currency code
+     * @param fastValue6 the value with scale {@link FastMoney6#SCALE}
+     */
+    abstract void amount(short compressedCurrency, long fastValue6);
+
+  }
+
+  static final class SumTask extends ChunkTask {
+
+    final long[] totals;
+
+    final boolean[] present;
+
+    SumTask(FileChannel channel, long start, long end, ErrorHandler errorHandler) {
+      super(channel, start, end, errorHandler);
+      this.totals = new long[IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES];
+      this.present = new boolean[IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES];
+    }
+
+    @Override
+    void amount(short compressedCurrency, long fastValue6) {
+      this.totals[compressedCurrency] = Math.addExact(this.totals[compressedCurrency], fastValue6);
+      this.present[compressedCurrency] = true;
+    }
+
+  }
+
+  static final class ArrayTask extends ChunkTask {
+
+    final FastMoney6Array amounts;
+
+    ArrayTask(FileChannel channel, long start, long end, ErrorHandler errorHandler) {
+      super(channel, start, end, errorHandler);
+      this.amounts = new FastMoney6Array();
+    }
+
+    @Override
+    void amount(short compressedCurrency, long fastValue6) {
+      this.amounts.add(fastValue6, compressedCurrency);
+    }
+
+  }
+
+}
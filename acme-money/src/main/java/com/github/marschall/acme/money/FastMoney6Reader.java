@@ -0,0 +1,245 @@
+package com.github.marschall.acme.money;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryException;
+import javax.money.format.MonetaryParseException;
+
+/**
+ * Reads {@link FastMoney6} amounts from ASCII text with one amount per
+ * line in the form of {@link FastMoney6#parse(CharSequence)}, for example
+ * {@code EUR 25.25}.
+ *
+ * <p>
+ * Lines are separated by {@code \n} or {@code \r\n}, empty lines are
+ * ignored. The input is parsed in chunks directly from the bytes, no
+ * {@link String} or {@link FastMoney6} is created per line. Every parsed
+ * amount is passed to an {@link AmountHandler}, every line that can not
+ * be parsed to an {@link ErrorHandler} together with the byte offset of
+ * the start of the line.
+ *
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class FastMoney6Reader {
+
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private static final long DEFAULT_MAPPING_SIZE = 1L << 30;
+
+  static final ErrorHandler FAIL = (offset, cause) -> {
+    int errorIndex = cause instanceof MonetaryParseException ? ((MonetaryParseException) cause).getErrorIndex() : 0;
+    String input = cause instanceof MonetaryParseException ? ((MonetaryParseException) cause).getInput() : "";
+    throw new MonetaryParseException("invalid line at byte offset " + offset + ": " + cause.getMessage(), input, errorIndex);
+  };
+
+  private final FastMoney6LineParser parser;
+
+  private final int bufferSize;
+
+  private final long mappingSize;
+
+  /**
+   * Creates a new reader that fails on the first line that can not be parsed.
+   *
+   * @param amountHandler the handler for the parsed amounts, not null
+   */
+  public FastMoney6Reader(AmountHandler amountHandler) {
+    this(amountHandler, FAIL);
+  }
+
+  /**
+   * Creates a new reader.
+   *
+   * @param amountHandler the handler for the parsed amounts, not null
+   * @param errorHandler the handler for the lines that can not be parsed, not null
+   */
+  public FastMoney6Reader(AmountHandler amountHandler, ErrorHandler errorHandler) {
+    this(amountHandler, errorHandler, DEFAULT_BUFFER_SIZE, DEFAULT_MAPPING_SIZE);
+  }
+
+  /**
+   * Creates a new reader that appends the amounts to an array and fails
+   * on the first line that can not be parsed.
+   *
+   * @param target the array to append the parsed amounts to, not null
+   */
+  public FastMoney6Reader(FastMoney6Array target) {
+    this(target, FAIL);
+  }
+
+  /**
+   * Creates a new reader that appends the amounts to an array.
+   *
+   * @param target the array to append the parsed amounts to, not null
+   * @param errorHandler the handler for the lines that can not be parsed, not null
+   */
+  public FastMoney6Reader(FastMoney6Array target, ErrorHandler errorHandler) {
+    this(appendTo(target), errorHandler);
+  }
+
+  FastMoney6Reader(AmountHandler amountHandler, ErrorHandler errorHandler, int bufferSize, long mappingSize) {
+    this.parser = new FastMoney6LineParser(amountHandler, errorHandler);
+    this.bufferSize = bufferSize;
+    this.mappingSize = mappingSize;
+  }
+
+  private static AmountHandler appendTo(FastMoney6Array target) {
+    Objects.requireNonNull(target, "target");
+    return (currency, fastValue6, offset) -> target.add(fastValue6, currency);
+  }
+
+  /**
+   * Reads all lines from a channel.
+   *
+   * @param channel the channel to read from, not null, not closed
+   * @return the number of parsed amounts
+   * @throws IOException if reading from the channel fails
+   * @throws MonetaryParseException if a line can not be parsed and the
+   *                                error handler fails
+   */
+  public long read(ReadableByteChannel channel) throws IOException {
+    Objects.requireNonNull(channel, "channel");
+    ByteBuffer buffer = ByteBuffer.allocateDirect(this.bufferSize);
+    // byte offset in the input of index 0 of the buffer
+    long bufferOffset = 0L;
+    long count = 0L;
+    boolean skipping = false;
+    while (channel.read(buffer) != -1) {
+      int end = buffer.position();
+      int start = 0;
+      if (skipping) {
+        int newline = FastMoney6LineParser.indexOfNewline(buffer, 0, end);
+        if (newline == -1) {
+          bufferOffset += end;
+          buffer.clear();
+          continue;
+        }
+        skipping = false;
+        start = newline + 1;
+      }
+      int consumed = start;
+      for (int i = start; i < end; i++) {
+        if (buffer.get(i) == '\n') {
+          count += this.parser.parseLine(buffer, consumed, i, bufferOffset + consumed);
+          consumed = i + 1;
+        }
+      }
+      if (consumed == 0 && end == buffer.capacity()) {
+        this.parser.lineTooLong(buffer, bufferOffset);
+        skipping = true;
+        bufferOffset += end;
+        buffer.clear();
+        continue;
+      }
+      buffer.limit(end);
+      buffer.position(consumed);
+      buffer.compact();
+      bufferOffset += consumed;
+    }
+    if (!skipping) {
+      // last line without a line separator
+      count += this.parser.parseLine(buffer, 0, buffer.position(), bufferOffset);
+    }
+    return count;
+  }
+
+  /**
+   * Reads all lines from a file using memory mapping.
+   *
+   * @param path the file to read, not null
+   * @return the number of parsed amounts
+   * @throws IOException if reading from the file fails
+   * @throws MonetaryParseException if a line can not be parsed and the
+   *                                error handler fails
+   */
+  public long read(Path path) throws IOException {
+    Objects.requireNonNull(path, "path");
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      long size = channel.size();
+      long position = 0L;
+      long count = 0L;
+      boolean skipping = false;
+      while (position < size) {
+        int windowSize = (int) Math.min(size - position, this.mappingSize);
+        ByteBuffer window = channel.map(MapMode.READ_ONLY, position, windowSize);
+        boolean last = position + windowSize == size;
+        int start = 0;
+        if (skipping) {
+          int newline = FastMoney6LineParser.indexOfNewline(window, 0, windowSize);
+          if (newline == -1) {
+            position += windowSize;
+            continue;
+          }
+          skipping = false;
+          start = newline + 1;
+        }
+        int consumed = start;
+        for (int i = start; i < windowSize; i++) {
+          if (window.get(i) == '\n') {
+            count += this.parser.parseLine(window, consumed, i, position + consumed);
+            consumed = i + 1;
+          }
+        }
+        if (last) {
+          // last line without a line separator
+          count += this.parser.parseLine(window, consumed, windowSize, position + consumed);
+          position = size;
+        } else if (consumed == 0) {
+          this.parser.lineTooLong(window, position);
+          skipping = true;
+          position += windowSize;
+        } else {
+          // the next window starts with the incomplete line
+          position += consumed;
+        }
+      }
+      return count;
+    }
+  }
+
+  /**
+   * Receives the amounts parsed by a {@link FastMoney6Reader}.
+   */
+  @FunctionalInterface
+  public interface AmountHandler {
+
+    /**
+     * Called for every parsed amount.
+     *
+     * @param currency the currency of the amount, not null
+     * @param fastValue6 the numeric value of the amount multiplied by
+     *                   10<sup>6</sup>
+     * @param offset the byte offset of the start of the line
+     */
+    void amount(CurrencyUnit currency, long fastValue6, long offset);
+
+  }
+
+  /**
+   * Receives the lines that a {@link FastMoney6Reader} could not parse.
+   */
+  @FunctionalInterface
+  public interface ErrorHandler {
+
+    /**
+     * Called for every line that could not be parsed. May throw an
+     * exception to abort reading.
+     *
+     * @param offset the byte offset of the start of the line
+     * @param cause the reason the line could not be parsed, not null
+     */
+    void invalidLine(long offset, MonetaryException cause);
+
+  }
+
+}
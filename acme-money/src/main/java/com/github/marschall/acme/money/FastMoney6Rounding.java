@@ -0,0 +1,180 @@
+package com.github.marschall.acme.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingContext;
+import javax.money.RoundingContextBuilder;
+
+/**
+ * Rounds amounts to a scale between 0 and {@link FastMoney6#SCALE} with a
+ * {@link RoundingMode}.
+ *
+ * <p>
+ * {@link FastMoney6} amounts are rounded directly on their raw value with
+ * an integer division by a power of ten, no {@link BigDecimal} is
+ * created. Other amounts are rounded using {@link BigDecimal}.
+ *
+ * <p>
+ * All instances are created up front, getting and applying a rounding
+ * does not allocate except for the rounded amount. Amounts that are
+ * already rounded are returned unchanged.
+ *
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+public final class FastMoney6Rounding implements MonetaryRounding {
+
+  private static final FastMoney6Rounding[][] ROUNDINGS;
+
+  static {
+    RoundingMode[] roundingModes = RoundingMode.values();
+    ROUNDINGS = new FastMoney6Rounding[roundingModes.length][FastMoney6.SCALE + 1];
+    for (RoundingMode roundingMode : roundingModes) {
+      for (int scale = 0; scale <= FastMoney6.SCALE; scale++) {
+        ROUNDINGS[roundingMode.ordinal()][scale] = new FastMoney6Rounding(scale, roundingMode);
+      }
+    }
+  }
+
+  private final int scale;
+
+  private final RoundingMode roundingMode;
+
+  /**
+   * The raw value of the smallest unit of the scale.
+   */
+  private final long unit;
+
+  private final RoundingContext roundingContext;
+
+  private FastMoney6Rounding(int scale, RoundingMode roundingMode) {
+    this.scale = scale;
+    this.roundingMode = roundingMode;
+    this.unit = DecimalMath.powerOfTen(FastMoney6.SCALE - scale);
+    this.roundingContext = RoundingContextBuilder.of(AcmeMoneyConstants.PROVIDER_NAME, roundingMode.name() + '.' + scale)
+        .set("scale", scale)
+        .set(RoundingMode.class, roundingMode)
+        .build();
+  }
+
+  /**
+   * Returns the rounding for a scale and a rounding mode.
+   *
+   * @param scale the number of fraction digits, between 0 and 6
+   * @param roundingMode the rounding mode, not null
+   * @return the rounding, not null
+   * @throws IllegalArgumentException if the scale is out of range
+   */
+  public static FastMoney6Rounding of(int scale, RoundingMode roundingMode) {
+    Objects.requireNonNull(roundingMode, "roundingMode");
+    if ((scale < 0) || (scale > FastMoney6.SCALE)) {
+      throw new IllegalArgumentException("scale must be between 0 and " + FastMoney6.SCALE + " but was: " + scale);
+    }
+    return ROUNDINGS[roundingMode.ordinal()][scale];
+  }
+
+  /**
+   * Returns the default rounding for a currency, rounding
+   * {@link RoundingMode#HALF_EVEN} to the default fraction digits of the
+   * currency.
+   *
+   * @param currency the currency, not null
+   * @return the rounding, not null
+   * @see #of(CurrencyUnit, RoundingMode)
+   */
+  public static FastMoney6Rounding of(CurrencyUnit currency) {
+    return of(currency, RoundingMode.HALF_EVEN);
+  }
+
+  /**
+   * Returns the rounding to the default fraction digits of a currency.
+   *
+   * <p>
+   * Currencies without default fraction digits, like most pseudo
+   * currencies, or with more than {@link FastMoney6#SCALE} are rounded to
+   * {@link FastMoney6#SCALE}.
+   *
+   * @param currency the currency, not null
+   * @param roundingMode the rounding mode, not null
+   * @return the rounding, not null
+   */
+  public static FastMoney6Rounding of(CurrencyUnit currency, RoundingMode roundingMode) {
+    Objects.requireNonNull(currency, "currency");
+    Objects.requireNonNull(roundingMode, "roundingMode");
+    // the default fraction digits are all we need from the currency so
+    // the table by rounding mode and scale is also the table by currency
+    int fractionDigits = currency.getDefaultFractionDigits();
+    if ((fractionDigits < 0) || (fractionDigits > FastMoney6.SCALE)) {
+      fractionDigits = FastMoney6.SCALE;
+    }
+    return ROUNDINGS[roundingMode.ordinal()][fractionDigits];
+  }
+
+  /**
+   * Returns the number of fraction digits this rounding rounds to.
+   *
+   * @return the scale, between 0 and 6
+   */
+  public int getScale() {
+    return this.scale;
+  }
+
+  /**
+   * Returns the rounding mode of this rounding.
+   *
+   * @return the rounding mode, not null
+   */
+  public RoundingMode getRoundingMode() {
+    return this.roundingMode;
+  }
+
+  @Override
+  public RoundingContext getRoundingContext() {
+    return this.roundingContext;
+  }
+
+  @Override
+  public MonetaryAmount apply(MonetaryAmount amount) {
+    Objects.requireNonNull(amount, "amount");
+    if (amount instanceof FastMoney6) {
+      return this.apply((FastMoney6) amount);
+    }
+    BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+    if (number.scale() <= this.scale) {
+      return amount;
+    }
+    return amount.getFactory()
+        .setNumber(number.setScale(this.scale, this.roundingMode))
+        .create();
+  }
+
+  /**
+   * Rounds a {@link FastMoney6} without going through {@link BigDecimal}.
+   *
+   * @param amount the amount to round, not null
+   * @return the rounded amount, {@code amount} if it is already rounded
+   * @throws ArithmeticException if the rounding mode is
+   *                             {@link RoundingMode#UNNECESSARY} and
+   *                             rounding is necessary or the result
+   *                             does not fit
+   */
+  public FastMoney6 apply(FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    long rounded = FastNumber6Math.round(amount.value, this.unit, this.roundingMode);
+    if (rounded == amount.value) {
+      return amount;
+    }
+    return new FastMoney6(rounded, amount.currency);
+  }
+
+  @Override
+  public String toString() {
+    return "FastMoney6Rounding[scale=" + this.scale + ", roundingMode=" + this.roundingMode + ']';
+  }
+
+}
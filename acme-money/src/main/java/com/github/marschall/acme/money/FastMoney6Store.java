@@ -0,0 +1,311 @@
+package com.github.marschall.acme.money;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * A fixed capacity store of {@link FastMoney6} amounts outside of the
+ * Java heap.
+ *
+ * <p>
+ * Every amount is stored as a record of the numeric value as a
+ * {@code long} followed by the compressed currency code as a
+ * {@code short} in direct {@link ByteBuffer}s. Since a single
+ * {@link ByteBuffer} is limited to 2 GB the store is split into several
+ * chunks which allows for stores larger than 2 GB.
+ *
+ * <p>
+ * {@link #close()} only drops the references to the buffers, Java 8 has
+ * no public API to free direct memory immediately. The memory is given
+ * back once the garbage collector collects the buffers.
+ *
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class FastMoney6Store implements Closeable {
+
+  static final int RECORD_SIZE = Long.BYTES + Short.BYTES;
+
+  private static final int CURRENCY_OFFSET = Long.BYTES;
+
+  /**
+   * The largest number of records that fit into a single {@link ByteBuffer}.
+   */
+  private static final int MAX_RECORDS_PER_CHUNK = Integer.MAX_VALUE / RECORD_SIZE;
+
+  private final long capacity;
+
+  private final int recordsPerChunk;
+
+  private ByteBuffer[] chunks;
+
+  private long size;
+
+  /**
+   * Allocates a new, empty store.
+   *
+   * @param capacity the maximum number of amounts in the store
+   */
+  public FastMoney6Store(long capacity) {
+    this(capacity, MAX_RECORDS_PER_CHUNK);
+  }
+
+  FastMoney6Store(long capacity, int recordsPerChunk) {
+    if (capacity < 0L) {
+      throw new IllegalArgumentException("negative capacity");
+    }
+    if (recordsPerChunk <= 0) {
+      throw new IllegalArgumentException("records per chunk must be positive");
+    }
+    long chunkCount = (capacity + recordsPerChunk - 1L) / recordsPerChunk;
+    if (chunkCount > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("capacity too large");
+    }
+    ByteBuffer[] buffers = new ByteBuffer[(int) chunkCount];
+    long remaining = capacity;
+    for (int i = 0; i < buffers.length; i++) {
+      int records = (int) Math.min(remaining, recordsPerChunk);
+      buffers[i] = ByteBuffer.allocateDirect(records * RECORD_SIZE).order(ByteOrder.nativeOrder());
+      remaining -= records;
+    }
+    this.capacity = capacity;
+    this.recordsPerChunk = recordsPerChunk;
+    this.chunks = buffers;
+    this.size = 0L;
+  }
+
+  /**
+   * Returns the maximum number of amounts in this store.
+   *
+   * @return the capacity
+   */
+  public long capacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Returns the number of amounts in this store.
+   *
+   * @return the number of amounts
+   */
+  public long size() {
+    return this.size;
+  }
+
+  /**
+   * Appends an amount.
+   *
+   * @param amount the amount to append, not null
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   * @throws IllegalStateException if the store is full or closed
+   */
+  public void add(FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    this.checkOpen();
+    if (this.size == this.capacity) {
+      throw new IllegalStateException("store full");
+    }
+    this.write(this.size, amount.value, IsoCurrencyCompressor.compressIsoCurrency(amount.currency));
+    this.size += 1L;
+  }
+
+  /**
+   * Replaces the amount at the given index.
+   *
+   * @param index the index of the amount
+   * @param amount the new amount, not null
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   * @throws IllegalStateException if the store is closed
+   */
+  public void set(long index, FastMoney6 amount) {
+    Objects.requireNonNull(amount, "amount");
+    this.checkIndex(index);
+    this.write(index, amount.value, IsoCurrencyCompressor.compressIsoCurrency(amount.currency));
+  }
+
+  /**
+   * Returns the amount at the given index as a new {@link FastMoney6}.
+   *
+   * @param index the index of the amount
+   * @return the amount at the index, not null
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws IllegalStateException if the store is closed
+   */
+  public FastMoney6 get(long index) {
+    this.checkIndex(index);
+    return new FastMoney6(this.readValue(index), IsoCurrencyProvider.getCurrency(this.readCurrency(index)));
+  }
+
+  /**
+   * Returns the currency of the amount at the given index.
+   *
+   * @param index the index of the amount
+   * @return the currency at the index, not null
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws IllegalStateException if the store is closed
+   */
+  public CurrencyUnit getCurrency(long index) {
+    this.checkIndex(index);
+    return IsoCurrencyProvider.getCurrency(this.readCurrency(index));
+  }
+
+  /**
+   * Sums up all amounts of a currency.
+   *
+   * @param currency the currency of the amounts to sum, not null
+   * @return the sum of all amounts in the given currency, not null
+   * @throws ArithmeticException on overflow
+   * @throws IllegalStateException if the store is closed
+   */
+  public FastMoney6 sum(CurrencyUnit currency) {
+    Objects.requireNonNull(currency, "currency");
+    this.checkOpen();
+    short compressed = IsoCurrencyCompressor.compressCurrency(currency);
+    long sum = 0L;
+    long remaining = this.size;
+    for (ByteBuffer chunk : this.chunks) {
+      int records = (int) Math.min(remaining, this.recordsPerChunk);
+      for (int i = 0; i < records; i++) {
+        int position = i * RECORD_SIZE;
+        if (chunk.getShort(position + CURRENCY_OFFSET) == compressed) {
+          sum = Math.addExact(sum, chunk.getLong(position));
+        }
+      }
+      remaining -= records;
+      if (remaining == 0L) {
+        break;
+      }
+    }
+    return new FastMoney6(sum, currency);
+  }
+
+  /**
+   * Creates a new view positioned before the first amount.
+   *
+   * @return a new view, not null
+   * @throws IllegalStateException if the store is closed
+   */
+  public View view() {
+    this.checkOpen();
+    return new View();
+  }
+
+  /**
+   * Removes all amounts but keeps the memory.
+   */
+  public void clear() {
+    this.size = 0L;
+  }
+
+  /**
+   * Releases the buffers of this store, afterwards it can no longer be
+   * used. The direct memory is not freed immediately but only once the
+   * garbage collector collects the buffers.
+   */
+  @Override
+  public void close() {
+    this.chunks = null;
+    this.size = 0L;
+  }
+
+  private void write(long index, long value, short currency) {
+    ByteBuffer chunk = this.chunks[(int) (index / this.recordsPerChunk)];
+    int position = (int) (index % this.recordsPerChunk) * RECORD_SIZE;
+    chunk.putLong(position, value);
+    chunk.putShort(position + CURRENCY_OFFSET, currency);
+  }
+
+  long readValue(long index) {
+    ByteBuffer chunk = this.chunks[(int) (index / this.recordsPerChunk)];
+    return chunk.getLong((int) (index % this.recordsPerChunk) * RECORD_SIZE);
+  }
+
+  short readCurrency(long index) {
+    ByteBuffer chunk = this.chunks[(int) (index / this.recordsPerChunk)];
+    return chunk.getShort(((int) (index % this.recordsPerChunk) * RECORD_SIZE) + CURRENCY_OFFSET);
+  }
+
+  private void checkIndex(long index) {
+    this.checkOpen();
+    if ((index < 0L) || (index >= this.size)) {
+      throw new IndexOutOfBoundsException("index: " + index + " size: " + this.size);
+    }
+  }
+
+  private void checkOpen() {
+    if (this.chunks == null) {
+      throw new IllegalStateException("store closed");
+    }
+  }
+
+  /**
+   * A reusable, mutable view on one amount in a {@link FastMoney6Store}.
+   *
+   * <p>
+   * Moving the view does not allocate which allows iterating over large
+   * stores without creating a {@link FastMoney6} per element.
+   */
+  public final class View extends AbstractFastMoney6View {
+
+    private long index;
+
+    View() {
+      this.index = -1L;
+    }
+
+    /**
+     * Moves this view to the next amount.
+     *
+     * @return {@code true} if there is a next amount, {@code false} if the
+     *         end has been reached
+     */
+    public boolean next() {
+      if (this.index + 1L < FastMoney6Store.this.size) {
+        this.index += 1L;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Moves this view to the given index.
+     *
+     * @param index the new index
+     * @return this view
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public View moveTo(long index) {
+      FastMoney6Store.this.checkIndex(index);
+      this.index = index;
+      return this;
+    }
+
+    /**
+     * Returns the index of the current amount.
+     *
+     * @return the current index
+     */
+    public long getIndex() {
+      return this.index;
+    }
+
+    @Override
+    long value() {
+      FastMoney6Store.this.checkIndex(this.index);
+      return FastMoney6Store.this.readValue(this.index);
+    }
+
+    @Override
+    short compressedCurrency() {
+      FastMoney6Store.this.checkIndex(this.index);
+      return FastMoney6Store.this.readCurrency(this.index);
+    }
+
+  }
+
+}
@@ -35,6 +35,12 @@ final class FastNumber6Math {
 
     long multiply(long fastNumber6, Number number);
 
+    long divide(long fastNumber6, Number number);
+
+    long divideToIntegralValue(long fastNumber6, Number number);
+
+    long remainder(long fastNumber6, Number number);
+
     long convertToNumber6(Number number);
 
     BigDecimal convertToBigDecimal(Number number);
@@ -57,6 +63,206 @@ final class FastNumber6Math {
     return bigDecimal.movePointRight(FastMoney6.SCALE).longValue();
   }
 
+  /**
+   * Computes {@code dividend * 10^exponent / divisor} rounded
+   * {@link RoundingMode#HALF_EVEN} without going through {@link BigDecimal}.
+   *
+   * <p>
+   * The intermediate product is kept as 128 bit so only the quotient
+   * has to fit into a long.
+   *
+   * @param dividend the dividend
+   * @param exponent the power of ten to scale the dividend with,
+   *                 between 0 and {@link DecimalMath#MAX_POWER_OF_TEN}
+   * @param divisor the divisor
+   * @return the rounded quotient
+   * @throws ArithmeticException if the divisor is zero or the quotient
+   *                             does not fit into a long
+   */
+  static long divide(long dividend, int exponent, long divisor) {
+    if (divisor == 0L) {
+      throw divisionByZero();
+    }
+    boolean negative = (dividend < 0L) != (divisor < 0L);
+    // Long.MIN_VALUE stays the same which is correct when interpreted as unsigned
+    long absoluteDividend = Math.abs(dividend);
+    long absoluteDivisor = Math.abs(divisor);
+    long factor = DecimalMath.powerOfTen(exponent);
+
+    long high = Int128Math.unsignedMultiplyHigh(absoluteDividend, factor);
+    long low = absoluteDividend * factor;
+    return divideHalfEven(high, low, absoluteDivisor, negative);
+  }
+
+  /**
+   * Computes {@code fastNumber6 * multiplicand / 10^6} rounded
+   * {@link RoundingMode#HALF_EVEN} without going through {@link BigDecimal}.
+   *
+   * <p>
+   * The full 128 bit product is kept so only the result has to fit into
+   * a long.
+   *
+   * @param fastNumber6 the multiplier with scale {@link FastMoney6#SCALE}
+   * @param multiplicand the multiplicand with scale {@link FastMoney6#SCALE}
+   * @return the rounded product with scale {@link FastMoney6#SCALE}
+   * @throws ArithmeticException if the product does not fit into a long
+   */
+  static long multiply(long fastNumber6, long multiplicand) {
+    boolean negative = (fastNumber6 < 0L) != (multiplicand < 0L);
+    long absoluteMultiplier = Math.abs(fastNumber6);
+    long absoluteMultiplicand = Math.abs(multiplicand);
+    long high = Int128Math.unsignedMultiplyHigh(absoluteMultiplier, absoluteMultiplicand);
+    long low = absoluteMultiplier * absoluteMultiplicand;
+    return divideHalfEven(high, low, FastMoney6.DIVISOR, negative);
+  }
+
+  /**
+   * Divides an unsigned 128 bit magnitude by an unsigned 64 bit magnitude,
+   * rounds {@link RoundingMode#HALF_EVEN} and applies the sign.
+   */
+  private static long divideHalfEven(long high, long low, long absoluteDivisor, boolean negative) {
+    if (Long.compareUnsigned(high, absoluteDivisor) >= 0) {
+      throw resultOverflow();
+    }
+    long quotient = Int128Math.divideUnsigned(high, low, absoluteDivisor);
+    long remainder = low - (quotient * absoluteDivisor);
+    checkQuotientRange(quotient, negative);
+
+    // remainder < absoluteDivisor <= 2^63 so doubling it does not overflow unsigned
+    int half = Long.compareUnsigned(remainder << 1, absoluteDivisor);
+    if ((half > 0) || ((half == 0) && ((quotient & 1L) != 0L))) {
+      quotient += 1L;
+      checkQuotientRange(quotient, negative);
+    }
+    return negative ? -quotient : quotient;
+  }
+
+  private static void checkQuotientRange(long unsignedQuotient, boolean negative) {
+    if (negative) {
+      // -2^63 still fits
+      if (Long.compareUnsigned(unsignedQuotient, Long.MIN_VALUE) > 0) {
+        throw resultOverflow();
+      }
+    } else if (unsignedQuotient < 0L) {
+      throw resultOverflow();
+    }
+  }
+
+  /**
+   * Divides two values with {@link FastMoney6#SCALE} and truncates the
+   * quotient to an integral value.
+   *
+   * @param dividend the dividend with scale {@link FastMoney6#SCALE}
+   * @param divisor the divisor with scale {@link FastMoney6#SCALE}
+   * @return the integral quotient with scale {@link FastMoney6#SCALE}
+   * @throws ArithmeticException if the divisor is zero or the quotient
+   *                             does not fit
+   */
+  static long divideToIntegralValue(long dividend, long divisor) {
+    if (divisor == 0L) {
+      throw divisionByZero();
+    }
+    if ((dividend == Long.MIN_VALUE) && (divisor == -1L)) {
+      throw resultOverflow();
+    }
+    return Math.multiplyExact(dividend / divisor, FastMoney6.DIVISOR);
+  }
+
+  /**
+   * Computes the remainder of two values with {@link FastMoney6#SCALE}.
+   *
+   * @param dividend the dividend with scale {@link FastMoney6#SCALE}
+   * @param divisor the divisor with scale {@link FastMoney6#SCALE}
+   * @return the remainder with scale {@link FastMoney6#SCALE}
+   * @throws ArithmeticException if the divisor is zero
+   */
+  static long remainder(long dividend, long divisor) {
+    if (divisor == 0L) {
+      throw divisionByZero();
+    }
+    return dividend % divisor;
+  }
+
+  /**
+   * Rounds a value with {@link FastMoney6#SCALE} to a multiple of a power
+   * of ten without going through {@link BigDecimal}.
+   *
+   * @param fastNumber6 the value with scale {@link FastMoney6#SCALE}
+   * @param unit the power of ten to round to, between 1 and
+   *             {@link FastMoney6#DIVISOR}
+   * @param roundingMode the rounding mode, not null
+   * @return the rounded value with scale {@link FastMoney6#SCALE}
+   * @throws ArithmeticException if the rounding mode is
+   *                             {@link RoundingMode#UNNECESSARY} and
+   *                             rounding is necessary or the result
+   *                             does not fit into a long
+   */
+  static long round(long fastNumber6, long unit, RoundingMode roundingMode) {
+    long remainder = fastNumber6 % unit;
+    if (remainder == 0L) {
+      return fastNumber6;
+    }
+    long quotient = fastNumber6 / unit;
+    boolean awayFromZero;
+    switch (roundingMode) {
+      case UP:
+        awayFromZero = true;
+        break;
+      case DOWN:
+        awayFromZero = false;
+        break;
+      case CEILING:
+        awayFromZero = remainder > 0L;
+        break;
+      case FLOOR:
+        awayFromZero = remainder < 0L;
+        break;
+      case HALF_UP:
+        awayFromZero = compareToHalf(remainder, unit) >= 0;
+        break;
+      case HALF_DOWN:
+        awayFromZero = compareToHalf(remainder, unit) > 0;
+        break;
+      case HALF_EVEN:
+        int half = compareToHalf(remainder, unit);
+        awayFromZero = (half > 0) || ((half == 0) && ((quotient & 1L) != 0L));
+        break;
+      case UNNECESSARY:
+        throw new ArithmeticException("Rounding necessary");
+      default:
+        throw new IllegalArgumentException("unknown rounding mode: " + roundingMode);
+    }
+    if (awayFromZero) {
+      quotient += remainder < 0L ? -1L : 1L;
+    }
+    return Math.multiplyExact(quotient, unit);
+  }
+
+  private static int compareToHalf(long remainder, long unit) {
+    // |remainder| < unit <= 10^6 so doubling does not overflow
+    return Long.compare(Math.abs(remainder) << 1, unit);
+  }
+
+  static long divideBigDecimal(long fastNumber6, BigDecimal divisor) {
+    return fromBigDecimal(DecimalMath.bigDecimal(fastNumber6).divide(divisor, FastMoney6.SCALE, RoundingMode.HALF_EVEN));
+  }
+
+  static long divideToIntegralValueBigDecimal(long fastNumber6, BigDecimal divisor) {
+    return fromBigDecimal(DecimalMath.bigDecimal(fastNumber6).divideToIntegralValue(divisor));
+  }
+
+  static long remainderBigDecimal(long fastNumber6, BigDecimal divisor) {
+    return fromBigDecimal(DecimalMath.bigDecimal(fastNumber6).remainder(divisor));
+  }
+
+  static ArithmeticException divisionByZero() {
+    return new ArithmeticException("Division by zero");
+  }
+
+  private static ArithmeticException resultOverflow() {
+    return new ArithmeticException("Overflow: result does not fit into " + FastMoney6.PRECISION + " digits");
+  }
+
   static ArithmeticException scaleTooBig(Number number) {
     return new ArithmeticException(number + " can not be represented by this class, scale > " + FastMoney6.SCALE);
   }
@@ -101,6 +307,21 @@ final class FastNumber6Math {
       return number.doubleValue() == 1.0d;
     }
 
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      return divideBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      return divideToIntegralValueBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      return remainderBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
     @Override
     public BigDecimal convertToBigDecimal(Number number) {
       return BigDecimal.valueOf((double) number);
@@ -125,6 +346,33 @@ final class FastNumber6Math {
       return Math.multiplyExact(fastNumber6, number.longValue());
     }
 
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      try {
+        return FastNumber6Math.divide(fastNumber6, 0, number.longValue());
+      } catch (ArithmeticException e) {
+        return divideBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+      }
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      try {
+        return FastNumber6Math.divideToIntegralValue(fastNumber6, this.convertToNumber6(number));
+      } catch (ArithmeticException e) {
+        return divideToIntegralValueBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+      }
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      try {
+        return FastNumber6Math.remainder(fastNumber6, this.convertToNumber6(number));
+      } catch (ArithmeticException e) {
+        return remainderBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+      }
+    }
+
     @Override
     public BigDecimal convertToBigDecimal(Number number) {
       return BigDecimal.valueOf(number.longValue());
@@ -148,7 +396,22 @@ final class FastNumber6Math {
 
     @Override
     public long multiply(long fastNumber6, Number number) {
-      return Math.multiplyExact(fastNumber6, ((FastNumber6) number).value);
+      return FastNumber6Math.multiply(fastNumber6, ((FastNumber6) number).value);
+    }
+
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      return FastNumber6Math.divide(fastNumber6, FastMoney6.SCALE, ((FastNumber6) number).value);
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      return FastNumber6Math.divideToIntegralValue(fastNumber6, ((FastNumber6) number).value);
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      return FastNumber6Math.remainder(fastNumber6, ((FastNumber6) number).value);
     }
 
     @Override
@@ -174,7 +437,22 @@ final class FastNumber6Math {
 
     @Override
     public long multiply(long fastNumber6, Number number) {
-      return Math.multiplyExact(fastNumber6, ((FastNumberValue6) number).value);
+      return FastNumber6Math.multiply(fastNumber6, ((FastNumberValue6) number).value);
+    }
+
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      return FastNumber6Math.divide(fastNumber6, FastMoney6.SCALE, ((FastNumberValue6) number).value);
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      return FastNumber6Math.divideToIntegralValue(fastNumber6, ((FastNumberValue6) number).value);
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      return FastNumber6Math.remainder(fastNumber6, ((FastNumberValue6) number).value);
     }
 
     @Override
@@ -217,6 +495,21 @@ final class FastNumber6Math {
       return fromBigDecimal(result);
     }
 
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      return divideBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      return divideToIntegralValueBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      return remainderBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
     @Override
     public BigDecimal convertToBigDecimal(Number number) {
       Fraction fraction = (Fraction) number;
@@ -243,12 +536,46 @@ final class FastNumber6Math {
       BigDecimal bigDecimal = (BigDecimal) number;
       try {
         long fastBigDecimal6 = fromBigDecimal(bigDecimal);
-        return Math.multiplyExact(fastNumber6, fastBigDecimal6) / FastMoney6.DIVISOR;
+        return FastNumber6Math.multiply(fastNumber6, fastBigDecimal6);
       } catch (ArithmeticException e) {
         return fromBigDecimal(bigDecimal.multiply(DecimalMath.bigDecimal(fastNumber6)));
       }
     }
 
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      BigDecimal bigDecimal = (BigDecimal) number;
+      int scale = bigDecimal.scale();
+      if ((scale >= 0) && (scale <= DecimalMath.MAX_POWER_OF_TEN) && (bigDecimal.precision() <= DecimalMath.MAX_POWER_OF_TEN)) {
+        try {
+          return FastNumber6Math.divide(fastNumber6, scale, bigDecimal.unscaledValue().longValue());
+        } catch (ArithmeticException e) {
+          // quotient overflow, let BigDecimal report it
+        }
+      }
+      return divideBigDecimal(fastNumber6, bigDecimal);
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      BigDecimal bigDecimal = (BigDecimal) number;
+      try {
+        return FastNumber6Math.divideToIntegralValue(fastNumber6, fromBigDecimal(bigDecimal));
+      } catch (ArithmeticException e) {
+        return divideToIntegralValueBigDecimal(fastNumber6, bigDecimal);
+      }
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      BigDecimal bigDecimal = (BigDecimal) number;
+      try {
+        return FastNumber6Math.remainder(fastNumber6, fromBigDecimal(bigDecimal));
+      } catch (ArithmeticException e) {
+        return remainderBigDecimal(fastNumber6, bigDecimal);
+      }
+    }
+
     @Override
     public BigDecimal convertToBigDecimal(Number number) {
       return (BigDecimal) number;
@@ -283,6 +610,21 @@ final class FastNumber6Math {
       return Math.multiplyExact(fastNumber6, longValue);
     }
 
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      return divideBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      return divideToIntegralValueBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      return remainderBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
     @Override
     public BigDecimal convertToBigDecimal(Number number) {
       return new BigDecimal((BigInteger) number);
@@ -309,6 +651,21 @@ final class FastNumber6Math {
       return fromBigDecimal(asBigDecimal(number).multiply(BigDecimal.valueOf(fastNumber6)));
     }
 
+    @Override
+    public long divide(long fastNumber6, Number number) {
+      return divideBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long divideToIntegralValue(long fastNumber6, Number number) {
+      return divideToIntegralValueBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
+    @Override
+    public long remainder(long fastNumber6, Number number) {
+      return remainderBigDecimal(fastNumber6, this.convertToBigDecimal(number));
+    }
+
     @Override
     public BigDecimal convertToBigDecimal(Number number) {
       return asBigDecimal(number);
@@ -1,8 +1,6 @@
 package com.github.marschall.acme.money;
 
 import static com.github.marschall.acme.money.FractionMath.gcd;
-import static java.lang.Math.multiplyExact;
-import static java.lang.Math.subtractExact;
 
 import java.io.ObjectStreamException;
 
@@ -67,9 +65,7 @@ public final class Fraction extends Number implements Comparable<Fraction> {
 
   @Override
   public int compareTo(Fraction o) {
-    long ad = multiplyExact(this.numerator, o.denominator);
-    long bc = multiplyExact(this.denominator, o.numerator);
-    return Long.signum(subtractExact(ad, bc));
+    return FractionMath.compare(this.numerator, this.denominator, o.numerator, o.denominator);
   }
 
   @Override
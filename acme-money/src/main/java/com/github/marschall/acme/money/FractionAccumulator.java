@@ -0,0 +1,222 @@
+package com.github.marschall.acme.money;
+
+import static com.github.marschall.acme.money.FractionMath.gcd;
+import static java.lang.Math.addExact;
+import static java.lang.Math.multiplyExact;
+import static java.lang.Math.negateExact;
+
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryException;
+
+/**
+ * Mutable accumulator for {@link FractionMoney} amounts of a single currency.
+ *
+ * <p>
+ * Unlike {@link FractionMoney#add(javax.money.MonetaryAmount)} updating an
+ * accumulator does not allocate and does not reduce the running fraction
+ * after every step. Denominators are merged over their least common
+ * multiple so that the running denominator does not grow when all amounts
+ * use the same or dividing denominators like 100, 1000 or 10<sup>6</sup>.
+ * The running fraction is only reduced when an intermediate value would
+ * overflow and by {@link #toFractionMoney()}. In case of an overflow of
+ * the reduced value the accumulator keeps its value.
+ *
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class FractionAccumulator {
+
+  private final CurrencyUnit currency;
+
+  private long numerator;
+
+  private long denominator;
+
+  /**
+   * Creates a new accumulator with a value of zero.
+   *
+   * @param currency the currency of all amounts, not null
+   */
+  public FractionAccumulator(CurrencyUnit currency) {
+    Objects.requireNonNull(currency, "currency");
+    this.currency = currency;
+    this.numerator = 0L;
+    this.denominator = 1L;
+  }
+
+  /**
+   * Creates a new accumulator starting with the given amount.
+   *
+   * @param initial the initial amount, not null
+   */
+  public FractionAccumulator(FractionMoney initial) {
+    Objects.requireNonNull(initial, "initial");
+    this.currency = initial.currency;
+    this.numerator = initial.numerator;
+    this.denominator = initial.denominator;
+  }
+
+  /**
+   * Returns the currency of this accumulator.
+   *
+   * @return the currency, not null
+   */
+  public CurrencyUnit getCurrency() {
+    return this.currency;
+  }
+
+  /**
+   * Adds an amount.
+   *
+   * @param amount the amount to add, not null, same currency
+   * @return this accumulator
+   * @throws MonetaryException if the currency does not match
+   * @throws ArithmeticException on overflow
+   */
+  public FractionAccumulator add(FractionMoney amount) {
+    Objects.requireNonNull(amount, "amount");
+    this.requireSameCurrency(amount.currency);
+    this.add(amount.numerator, amount.denominator);
+    return this;
+  }
+
+  /**
+   * Adds a number.
+   *
+   * @param number the number to add, not null
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FractionAccumulator add(Fraction number) {
+    Objects.requireNonNull(number, "number");
+    this.add(number.numerator, number.denominator);
+    return this;
+  }
+
+  /**
+   * Adds a number of whole currency units.
+   *
+   * @param number the number to add
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FractionAccumulator add(long number) {
+    this.add(number, 1L);
+    return this;
+  }
+
+  /**
+   * Subtracts an amount.
+   *
+   * @param amount the amount to subtract, not null, same currency
+   * @return this accumulator
+   * @throws MonetaryException if the currency does not match
+   * @throws ArithmeticException on overflow
+   */
+  public FractionAccumulator subtract(FractionMoney amount) {
+    Objects.requireNonNull(amount, "amount");
+    this.requireSameCurrency(amount.currency);
+    this.add(negateExact(amount.numerator), amount.denominator);
+    return this;
+  }
+
+  /**
+   * Subtracts a number.
+   *
+   * @param number the number to subtract, not null
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FractionAccumulator subtract(Fraction number) {
+    Objects.requireNonNull(number, "number");
+    this.add(negateExact(number.numerator), number.denominator);
+    return this;
+  }
+
+  /**
+   * Subtracts a number of whole currency units.
+   *
+   * @param number the number to subtract
+   * @return this accumulator
+   * @throws ArithmeticException on overflow
+   */
+  public FractionAccumulator subtract(long number) {
+    this.add(negateExact(number), 1L);
+    return this;
+  }
+
+  private void add(long n, long d) {
+    long currentDenominator = this.denominator;
+    try {
+      if (d == currentDenominator) {
+        this.numerator = addExact(this.numerator, n);
+      } else if ((currentDenominator % d) == 0L) {
+        this.numerator = addExact(this.numerator, multiplyExact(n, currentDenominator / d));
+      } else {
+        // merge over lcm(currentDenominator, d)
+        long g = gcd(currentDenominator, d);
+        long lcm = multiplyExact(currentDenominator, d / g);
+        this.numerator = addExact(multiplyExact(this.numerator, d / g), multiplyExact(n, currentDenominator / g));
+        this.denominator = lcm;
+      }
+    } catch (ArithmeticException e) {
+      // only reduce when we would overflow otherwise
+      this.normalize();
+      Fraction sum = FractionMath.add(this.numerator, this.denominator, n, d);
+      this.numerator = sum.numerator;
+      this.denominator = sum.denominator;
+    }
+  }
+
+  private void normalize() {
+    long gcd = gcd(this.numerator, this.denominator);
+    if (gcd != 1L) {
+      this.numerator /= gcd;
+      this.denominator /= gcd;
+    }
+  }
+
+  /**
+   * Resets the value of this accumulator to zero.
+   *
+   * @return this accumulator
+   */
+  public FractionAccumulator reset() {
+    this.numerator = 0L;
+    this.denominator = 1L;
+    return this;
+  }
+
+  /**
+   * Checks whether the current value is zero.
+   *
+   * @return {@code true} if the current value is zero
+   */
+  public boolean isZero() {
+    return this.numerator == 0L;
+  }
+
+  /**
+   * Creates a {@link FractionMoney} with the current value.
+   *
+   * @return a new amount, reduced, not null
+   */
+  public FractionMoney toFractionMoney() {
+    this.normalize();
+    return new FractionMoney(this.numerator, this.denominator, this.currency);
+  }
+
+  private void requireSameCurrency(CurrencyUnit amountCurrency) {
+    if (!this.currency.equals(amountCurrency)) {
+      throw new MonetaryException("Currency mismatch: " + this.currency + '/' + amountCurrency);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.toFractionMoney().toString();
+  }
+
+}
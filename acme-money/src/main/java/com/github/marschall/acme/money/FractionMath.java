@@ -1,6 +1,8 @@
 package com.github.marschall.acme.money;
 
 import static java.lang.Math.abs;
+import static java.lang.Math.multiplyExact;
+import static java.lang.Math.negateExact;
 
 final class FractionMath {
 
@@ -32,6 +34,15 @@ final class FractionMath {
     return (long) value;
   }
 
+  /**
+   * Computes the greatest common divisor using the binary GCD algorithm.
+   *
+   * @param initialK the first number
+   * @param initialM the second number
+   * @return the positive greatest common divisor, {@code initialM} if
+   *         {@code initialK} is 0
+   * @throws ArithmeticException if either number is {@link Long#MIN_VALUE}
+   */
   static long gcd(long initialK, long initialM) {
     if (initialK == Long.MIN_VALUE) {
       throw new ArithmeticException("overflow");
@@ -44,18 +55,139 @@ final class FractionMath {
     }
     long k = abs(initialK);
     long m = abs(initialM);
-    while (k != m) {
-      if ((k == 1) || (m == 1)) {
-        return 1;
-      }
-
+    if (m == 0) {
+      return k;
+    }
+    // common factors of two
+    int shift = Long.numberOfTrailingZeros(k | m);
+    k >>= Long.numberOfTrailingZeros(k);
+    do {
+      // k is odd, factors of two in m are not common
+      m >>= Long.numberOfTrailingZeros(m);
       if (k > m) {
-        k = k - m;
-      } else {
-        m = m - k;
+        long t = m;
+        m = k;
+        k = t;
       }
+      m -= k;
+    } while (m != 0);
+    return k << shift;
+  }
+
+  /**
+   * Compares two fractions with positive denominators without overflow by
+   * comparing the 128 bit cross products.
+   *
+   * @return a negative number, zero or a positive number if the first
+   *         fraction is less than, equal to or greater than the second
+   */
+  static int compare(long n1, long d1, long n2, long d2) {
+    long high1 = Int128Math.multiplyHigh(n1, d2);
+    long high2 = Int128Math.multiplyHigh(n2, d1);
+    if (high1 != high2) {
+      return high1 < high2 ? -1 : 1;
+    }
+    return Long.compareUnsigned(n1 * d2, n2 * d1);
+  }
+
+  /**
+   * Adds two reduced fractions with positive denominators.
+   *
+   * <p>
+   * The denominators are cross reduced before multiplying and the
+   * numerator is computed in 128 bits so that only results that do not
+   * fit into a {@code long} overflow (Knuth TAOCP 4.5.1).
+   *
+   * @return the reduced sum
+   * @throws ArithmeticException if the reduced sum does not fit
+   */
+  static Fraction add(long n1, long d1, long n2, long d2) {
+    long g = gcd(d1, d2);
+    long d1g = d1 / g;
+    long d2g = d2 / g;
+
+    // t = n1 * (d2 / g) + n2 * (d1 / g) as a 128 bit number
+    long low1 = n1 * d2g;
+    long low2 = n2 * d1g;
+    long low = low1 + low2;
+    long high = Int128Math.multiplyHigh(n1, d2g) + Int128Math.multiplyHigh(n2, d1g)
+        + (Long.compareUnsigned(low, low1) < 0 ? 1L : 0L);
+    if ((high == 0L) && (low == 0L)) {
+      return new Fraction(0L, 1L);
+    }
+    boolean negative = high < 0L;
+    if (negative) {
+      high = ~high + (low == 0L ? 1L : 0L);
+      low = -low;
+    }
+
+    // the only common factors of t and the denominator are in g
+    long g2 = g == 1L ? 1L : gcd(remainderUnsigned(high, low, g), g);
+    if (Long.compareUnsigned(high, g2) >= 0) {
+      throw new ArithmeticException("overflow");
     }
-    return k;
+    long n = Int128Math.divideUnsigned(high, low, g2);
+    if (n < 0L) {
+      throw new ArithmeticException("overflow");
+    }
+    return new Fraction(negative ? -n : n, multiplyExact(d1g, d2 / g2));
+  }
+
+  /**
+   * Subtracts two reduced fractions with positive denominators.
+   *
+   * @return the reduced difference
+   * @throws ArithmeticException if the reduced difference does not fit
+   * @see #add(long, long, long, long)
+   */
+  static Fraction subtract(long n1, long d1, long n2, long d2) {
+    return add(n1, d1, negateExact(n2), d2);
+  }
+
+  /**
+   * Multiplies two reduced fractions with positive denominators, cross
+   * reducing before multiplying.
+   *
+   * @return the reduced product
+   * @throws ArithmeticException if the reduced product does not fit
+   */
+  static Fraction multiply(long n1, long d1, long n2, long d2) {
+    if ((n1 == 0L) || (n2 == 0L)) {
+      return new Fraction(0L, 1L);
+    }
+    long g1 = gcd(n1, d2);
+    long g2 = gcd(n2, d1);
+    return new Fraction(
+        multiplyExact(n1 / g1, n2 / g2),
+        multiplyExact(d1 / g2, d2 / g1));
+  }
+
+  /**
+   * Divides two reduced fractions with positive denominators, cross
+   * reducing before multiplying.
+   *
+   * @return the reduced quotient
+   * @throws ArithmeticException if the divisor is zero or the reduced
+   *                             quotient does not fit
+   */
+  static Fraction divide(long n1, long d1, long n2, long d2) {
+    if (n2 == 0L) {
+      throw new ArithmeticException("division by zero");
+    }
+    if (n2 < 0L) {
+      return multiply(n1, d1, negateExact(d2), negateExact(n2));
+    }
+    return multiply(n1, d1, d2, n2);
+  }
+
+  /**
+   * Computes the remainder of the unsigned 128 bit value
+   * {@code high:low} divided by an unsigned 64 bit divisor.
+   */
+  private static long remainderUnsigned(long high, long low, long divisor) {
+    long highRemainder = Long.remainderUnsigned(high, divisor);
+    long quotient = Int128Math.divideUnsigned(highRemainder, low, divisor);
+    return low - (quotient * divisor);
   }
 
   static int hashCode(long numerator, long denominator) {
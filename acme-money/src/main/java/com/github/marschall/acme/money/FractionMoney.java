@@ -2,13 +2,12 @@ package com.github.marschall.acme.money;
 
 import static com.github.marschall.acme.money.FractionMath.gcd;
 import static com.github.marschall.acme.money.FractionMath.toLongExact;
-import static java.lang.Math.addExact;
 import static java.lang.Math.multiplyExact;
 import static java.lang.Math.negateExact;
-import static java.lang.Math.subtractExact;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.math.BigInteger;
 import java.util.Objects;
 
 import javax.money.CurrencyUnit;
@@ -114,14 +113,10 @@ public final class FractionMoney implements MonetaryAmount, Comparable<MonetaryA
     }
     if (o instanceof FractionMoney) {
       FractionMoney other = (FractionMoney) o;
-      long ad = multiplyExact(this.numerator, other.denominator);
-      long bc = multiplyExact(this.denominator, other.numerator);
-      return Long.signum(subtractExact(ad, bc));
+      return FractionMath.compare(this.numerator, this.denominator, other.numerator, other.denominator);
     }
     Fraction fraction = getFraction(o);
-    long ad = multiplyExact(this.numerator, fraction.getDenominator());
-    long bc = multiplyExact(this.denominator, fraction.getNumerator());
-    return Long.signum(subtractExact(ad, bc));
+    return FractionMath.compare(this.numerator, this.denominator, fraction.getNumerator(), fraction.getDenominator());
   }
 
   private static Fraction getFraction(MonetaryAmount o) {
@@ -176,6 +171,11 @@ public final class FractionMoney implements MonetaryAmount, Comparable<MonetaryA
     }
   }
 
+  private FractionMoney withFraction(Fraction fraction) {
+    // results of FractionMath are already reduced
+    return new FractionMoney(fraction.numerator, fraction.denominator, this.currency);
+  }
+
   private static Fraction convertTOFraction(MonetaryAmount amount) {
     NumberValue numberValue = amount.getNumber();
     Class<? extends Number> numberClass = numberValue.getNumberType().asSubclass(Number.class);
@@ -196,9 +196,7 @@ public final class FractionMoney implements MonetaryAmount, Comparable<MonetaryA
       n = fraction.getNumerator();
       d = fraction.getDenominator();
     }
-    return FractionMoney.of(
-        addExact(multiplyExact(this.numerator, d), multiplyExact(this.denominator, n)),
-        multiplyExact(this.denominator, d), this.currency);
+    return this.withFraction(FractionMath.add(this.numerator, this.denominator, n, d));
   }
 
   @Override
@@ -215,14 +213,12 @@ public final class FractionMoney implements MonetaryAmount, Comparable<MonetaryA
       n = fraction.getNumerator();
       d = fraction.getDenominator();
     }
-    return FractionMoney.of(
-        subtractExact(multiplyExact(this.numerator, d), multiplyExact(this.denominator, n)),
-        multiplyExact(this.denominator, d), this.currency);
+    return this.withFraction(FractionMath.subtract(this.numerator, this.denominator, n, d));
   }
 
   @Override
   public MonetaryAmount multiply(long multiplicand) {
-    return FractionMoney.of(multiplyExact(this.numerator, multiplicand), this.denominator, this.currency);
+    return this.withFraction(FractionMath.multiply(this.numerator, this.denominator, multiplicand, 1L));
   }
 
   @Override
@@ -234,14 +230,12 @@ public final class FractionMoney implements MonetaryAmount, Comparable<MonetaryA
   @Override
   public MonetaryAmount multiply(Number multiplicand) {
     Fraction fraction = ConvertToFraction.convert(multiplicand);
-    long n = multiplyExact(this.numerator, fraction.getNumerator());
-    long d = multiplyExact(this.denominator, fraction.getDenominator());
-    return FractionMoney.of(n, d, this.currency);
+    return this.withFraction(FractionMath.multiply(this.numerator, this.denominator, fraction.getNumerator(), fraction.getDenominator()));
   }
 
   @Override
   public MonetaryAmount divide(long divisor) {
-    return FractionMoney.of(this.numerator, multiplyExact(this.denominator, divisor), this.currency);
+    return this.withFraction(FractionMath.divide(this.numerator, this.denominator, divisor, 1L));
   }
 
   @Override
@@ -253,9 +247,7 @@ public final class FractionMoney implements MonetaryAmount, Comparable<MonetaryA
   @Override
   public MonetaryAmount divide(Number divisor) {
     Fraction fraction = ConvertToFraction.convert(divisor);
-    long n = multiplyExact(this.numerator, fraction.getDenominator());
-    long d = multiplyExact(this.denominator, fraction.getNumerator());
-    return FractionMoney.of(n, d, this.currency);
+    return this.withFraction(FractionMath.divide(this.numerator, this.denominator, fraction.getNumerator(), fraction.getDenominator()));
   }
 
   @Override
@@ -264,57 +256,166 @@ public final class FractionMoney implements MonetaryAmount, Comparable<MonetaryA
     // 7/3 2/1  -> 2/3 : 7/3 - 6/3 -> 1/3
     // 11/2 2/1 -> 3/2
     // 11/2 4/2 -> 3/2
-    long n = this.numerator % (Math.multiplyExact(divisor, this.denominator));
-    return FractionMoney.of(n, this.denominator, this.currency);
+    return this.remainder(divisor, 1L);
   }
 
   @Override
   public MonetaryAmount remainder(double divisor) {
-    // TODO Auto-generated method stub
-    return null;
+    if (isLong(divisor)) {
+      return this.remainder((long) divisor);
+    }
+    Fraction fraction = ConvertToFraction.convert(divisor);
+    return this.remainder(fraction.getNumerator(), fraction.getDenominator());
   }
 
   @Override
   public MonetaryAmount remainder(Number divisor) {
-    // TODO Auto-generated method stub
     // 33/10 3/2 -> 3/10
-    return null;
+    Fraction fraction = ConvertToFraction.convert(divisor);
+    return this.remainder(fraction.getNumerator(), fraction.getDenominator());
   }
 
   @Override
   public MonetaryAmount[] divideAndRemainder(long divisor) {
-    // TODO Auto-generated method stub
-    return null;
+    return this.divideAndRemainder(divisor, 1L);
   }
 
   @Override
   public MonetaryAmount[] divideAndRemainder(double divisor) {
-    // TODO Auto-generated method stub
-    return null;
+    if (isLong(divisor)) {
+      return this.divideAndRemainder((long) divisor, 1L);
+    }
+    Fraction fraction = ConvertToFraction.convert(divisor);
+    return this.divideAndRemainder(fraction.getNumerator(), fraction.getDenominator());
   }
 
   @Override
   public MonetaryAmount[] divideAndRemainder(Number divisor) {
-    // TODO Auto-generated method stub
-    return null;
+    Fraction fraction = ConvertToFraction.convert(divisor);
+    return this.divideAndRemainder(fraction.getNumerator(), fraction.getDenominator());
   }
 
   @Override
   public MonetaryAmount divideToIntegralValue(long divisor) {
-    // TODO Auto-generated method stub
-    return null;
+    return this.divideToIntegralValue(divisor, 1L);
   }
 
   @Override
   public MonetaryAmount divideToIntegralValue(double divisor) {
-    // TODO Auto-generated method stub
-    return null;
+    if (isLong(divisor)) {
+      return this.divideToIntegralValue((long) divisor);
+    }
+    Fraction fraction = ConvertToFraction.convert(divisor);
+    return this.divideToIntegralValue(fraction.getNumerator(), fraction.getDenominator());
   }
 
   @Override
   public MonetaryAmount divideToIntegralValue(Number divisor) {
-    // TODO Auto-generated method stub
-    return null;
+    Fraction fraction = ConvertToFraction.convert(divisor);
+    return this.divideToIntegralValue(fraction.getNumerator(), fraction.getDenominator());
+  }
+
+  // with g = gcd(d1, d2) both n1/d1 and n2/d2 have the common denominator
+  // d1 * d2/g, the integer quotient of their numerators n1 * d2/g and
+  // n2 * d1/g is the integral quotient, their remainder is the numerator
+  // of the remainder, both truncate towards zero like BigDecimal
+  // the numerators are computed as 128 bit products like in FractionMath
+  // so that only results that do not fit into a long overflow
+  // the divisor is always a reduced fraction with a positive denominator
+
+  private FractionMoney divideToIntegralValue(long divisorNumerator, long divisorDenominator) {
+    checkDivisor(divisorNumerator);
+    long g = gcd(this.denominator, divisorDenominator);
+    long quotient = this.integralQuotient(divisorNumerator, divisorDenominator / g, this.denominator / g);
+    return new FractionMoney(quotient, 1L, this.currency);
+  }
+
+  private FractionMoney remainder(long divisorNumerator, long divisorDenominator) {
+    checkDivisor(divisorNumerator);
+    long g = gcd(this.denominator, divisorDenominator);
+    long dividendFactor = divisorDenominator / g;
+    long divisorFactor = this.denominator / g;
+    long quotient = this.integralQuotient(divisorNumerator, dividendFactor, divisorFactor);
+    return this.remainder(divisorNumerator, dividendFactor, divisorFactor, quotient);
+  }
+
+  private FractionMoney[] divideAndRemainder(long divisorNumerator, long divisorDenominator) {
+    checkDivisor(divisorNumerator);
+    long g = gcd(this.denominator, divisorDenominator);
+    long dividendFactor = divisorDenominator / g;
+    long divisorFactor = this.denominator / g;
+    long quotient = this.integralQuotient(divisorNumerator, dividendFactor, divisorFactor);
+    return new FractionMoney[] {
+        new FractionMoney(quotient, 1L, this.currency),
+        this.remainder(divisorNumerator, dividendFactor, divisorFactor, quotient)};
+  }
+
+  private static void checkDivisor(long divisorNumerator) {
+    if (divisorNumerator == 0L) {
+      throw new ArithmeticException("division by zero");
+    }
+  }
+
+  /**
+   * Computes the integral quotient of n1 * d2/g and n2 * d1/g.
+   *
+   * @throws ArithmeticException if the quotient does not fit into a long
+   */
+  private long integralQuotient(long divisorNumerator, long dividendFactor, long divisorFactor) {
+    long dividendHigh = Int128Math.multiplyHigh(this.numerator, dividendFactor);
+    long dividendLow = this.numerator * dividendFactor;
+    long divisorHigh = Int128Math.multiplyHigh(divisorNumerator, divisorFactor);
+    long divisorLow = divisorNumerator * divisorFactor;
+    if (divisorHigh != (divisorLow >> 63)) {
+      // the divisor does not fit into a long, rare enough for BigInteger
+      BigInteger dividend = BigInteger.valueOf(this.numerator).multiply(BigInteger.valueOf(dividendFactor));
+      BigInteger divisor = BigInteger.valueOf(divisorNumerator).multiply(BigInteger.valueOf(divisorFactor));
+      return dividend.divide(divisor).longValueExact();
+    }
+
+    // divide the unsigned magnitudes, Long.MIN_VALUE is 2^63 unsigned
+    boolean negativeDividend = dividendHigh < 0L;
+    long dividendMagnitudeHigh = negativeDividend ? ~dividendHigh + (dividendLow == 0L ? 1L : 0L) : dividendHigh;
+    long dividendMagnitudeLow = negativeDividend ? -dividendLow : dividendLow;
+    long divisorMagnitude = divisorLow < 0L ? -divisorLow : divisorLow;
+    if (Long.compareUnsigned(dividendMagnitudeHigh, divisorMagnitude) >= 0) {
+      throw new ArithmeticException("overflow");
+    }
+    long quotientMagnitude = Int128Math.divideUnsigned(dividendMagnitudeHigh, dividendMagnitudeLow, divisorMagnitude);
+    boolean negativeQuotient = negativeDividend != (divisorLow < 0L);
+    if ((quotientMagnitude < 0L) && !(negativeQuotient && (quotientMagnitude == Long.MIN_VALUE))) {
+      throw new ArithmeticException("overflow");
+    }
+    return negativeQuotient ? -quotientMagnitude : quotientMagnitude;
+  }
+
+  /**
+   * Computes the remainder n1/d1 - quotient * n2/d2.
+   *
+   * @throws ArithmeticException if the reduced remainder does not fit
+   */
+  private FractionMoney remainder(long divisorNumerator, long dividendFactor, long divisorFactor, long quotient) {
+    long divisorHigh = Int128Math.multiplyHigh(divisorNumerator, divisorFactor);
+    long divisorLow = divisorNumerator * divisorFactor;
+    if (divisorHigh != (divisorLow >> 63)) {
+      BigInteger remainder = BigInteger.valueOf(this.numerator).multiply(BigInteger.valueOf(dividendFactor))
+          .subtract(BigInteger.valueOf(quotient).multiply(BigInteger.valueOf(divisorNumerator)).multiply(BigInteger.valueOf(divisorFactor)));
+      BigInteger remainderDenominator = BigInteger.valueOf(this.denominator).multiply(BigInteger.valueOf(dividendFactor));
+      BigInteger g = remainder.gcd(remainderDenominator);
+      return new FractionMoney(remainder.divide(g).longValueExact(), remainderDenominator.divide(g).longValueExact(), this.currency);
+    }
+    // the remainder is smaller than the divisor so it fits into a long,
+    // the low 64 bits of the products are enough
+    long remainder = (this.numerator * dividendFactor) - (quotient * divisorLow);
+    // reduce with the common denominator d1 * d2/g without computing it
+    long g1 = gcd(remainder, this.denominator);
+    long g2 = gcd(remainder / g1, dividendFactor);
+    long remainderDenominator = multiplyExact(this.denominator / g1, dividendFactor / g2);
+    return new FractionMoney(remainder / g1 / g2, remainderDenominator, this.currency);
+  }
+
+  private static boolean isLong(double value) {
+    return (value >= -0x1p63) && (value < 0x1p63) && ((long) value == value);
   }
 
   @Override
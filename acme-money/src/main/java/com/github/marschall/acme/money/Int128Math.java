@@ -0,0 +1,119 @@
+package com.github.marschall.acme.money;
+
+/**
+ * 128 bit integer helpers built from pairs of {@code long}s.
+ *
+ * <p>
+ * We still target Java 8 so we can not use {@code Math.multiplyHigh}.
+ */
+final class Int128Math {
+
+  private static final long LOW_32_BITS = 0xFFFFFFFFL;
+
+  private static final long BASE_32 = 1L << 32;
+
+  private Int128Math() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Returns the high 64 bits of the signed 128 bit product of two longs.
+   *
+   * @param x the first value
+   * @param y the second value
+   * @return the high 64 bits of {@code x * y}
+   */
+  static long multiplyHigh(long x, long y) {
+    if ((x < 0L) || (y < 0L)) {
+      // Hacker's Delight 8-2
+      long x1 = x >> 32;
+      long x2 = x & LOW_32_BITS;
+      long y1 = y >> 32;
+      long y2 = y & LOW_32_BITS;
+      long z2 = x2 * y2;
+      long t = (x1 * y2) + (z2 >>> 32);
+      long z1 = t & LOW_32_BITS;
+      long z0 = t >> 32;
+      z1 += x2 * y1;
+      return (x1 * y1) + z0 + (z1 >> 32);
+    } else {
+      // non-negative values, all intermediates fit
+      long x1 = x >>> 32;
+      long y1 = y >>> 32;
+      long x2 = x & LOW_32_BITS;
+      long y2 = y & LOW_32_BITS;
+      long a = x1 * y1;
+      long b = x2 * y2;
+      long c = (x1 + x2) * (y1 + y2);
+      long k = c - a - b;
+      return (((b >>> 32) + k) >>> 32) + a;
+    }
+  }
+
+  /**
+   * Returns the high 64 bits of the unsigned 128 bit product of two longs.
+   *
+   * @param x the first value, interpreted as unsigned
+   * @param y the second value, interpreted as unsigned
+   * @return the high 64 bits of {@code x * y}
+   */
+  static long unsignedMultiplyHigh(long x, long y) {
+    long result = multiplyHigh(x, y);
+    result += (y & (x >> 63));
+    result += (x & (y >> 63));
+    return result;
+  }
+
+  /**
+   * Divides the unsigned 128 bit value {@code high:low} by an unsigned
+   * 64 bit divisor.
+   *
+   * <p>
+   * The remainder can be computed by the caller as
+   * {@code low - quotient * divisor}.
+   *
+   * @param high the high 64 bits of the dividend, has to be unsigned less
+   *             than {@code divisor} so that the quotient fits
+   * @param low the low 64 bits of the dividend
+   * @param divisor the divisor interpreted as unsigned, not {@code 0}
+   * @return the unsigned 64 bit quotient
+   */
+  static long divideUnsigned(long high, long low, long divisor) {
+    // Hacker's Delight 9-3, divlu with 32 bit digits
+    if (high == 0L) {
+      return Long.divideUnsigned(low, divisor);
+    }
+    int shift = Long.numberOfLeadingZeros(divisor);
+    long v = divisor << shift;
+    long vn1 = v >>> 32;
+    long vn0 = v & LOW_32_BITS;
+
+    long un32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+    long un10 = low << shift;
+    long un1 = un10 >>> 32;
+    long un0 = un10 & LOW_32_BITS;
+
+    long q1 = Long.divideUnsigned(un32, vn1);
+    long rhat = un32 - (q1 * vn1);
+    while ((q1 >= BASE_32) || (Long.compareUnsigned(q1 * vn0, (rhat << 32) + un1) > 0)) {
+      q1 -= 1L;
+      rhat += vn1;
+      if (rhat >= BASE_32) {
+        break;
+      }
+    }
+
+    long un21 = ((un32 << 32) + un1) - (q1 * v);
+    long q0 = Long.divideUnsigned(un21, vn1);
+    rhat = un21 - (q0 * vn1);
+    while ((q0 >= BASE_32) || (Long.compareUnsigned(q0 * vn0, (rhat << 32) + un0) > 0)) {
+      q0 -= 1L;
+      rhat += vn1;
+      if (rhat >= BASE_32) {
+        break;
+      }
+    }
+    return (q1 << 32) | q0;
+  }
+
+}
@@ -1,7 +1,14 @@
 package com.github.marschall.acme.money;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -18,23 +25,92 @@ final class IsoCurrencyCompressor {
     throw new AssertionError("not instantiable");
   }
   
-  static Map<Short, CurrencyUnit> parse() {
+  /**
+   * Loads the currency table, from the binary table generated during the
+   * build if present, otherwise from {@code list_one.xml}.
+   */
+  static IsoCurrencyTable load() {
+    InputStream inputStream = IsoCurrencyCompressor.class.getClassLoader().getResourceAsStream(IsoCurrencyTableFile.RESOURCE_NAME);
+    if (inputStream == null) {
+      return parse();
+    }
+    try (InputStream in = inputStream) {
+      return new IsoCurrencyTable(IsoCurrencyTableFile.read(in));
+    } catch (IOException e) {
+      throw new UncheckedIOException("could not load currencies", e);
+    }
+  }
+
+  static IsoCurrencyTable parse() {
+    return new IsoCurrencyTable(parseCurrencies());
+  }
+
+  static List<IsoCurrencyUnit> parseCurrencies() {
     Map<String, ParsedCurrrency> parsedMap;
     try {
       parsedMap = IsoCurrencyParser.parseToMap();
     } catch (IOException | XMLStreamException e) {
       throw new RuntimeException("could not load currencies", e);
     }
-    
-    Map<Short, CurrencyUnit> currencyMap = new HashMap<>(parsedMap.size());
+    return toCurrencies(parsedMap);
+  }
+
+  /**
+   * Reads currencies from a file, either a binary table or an ISO 4217
+   * {@code list_one.xml}.
+   *
+   * @param path the file to read
+   * @return the currencies in the file
+   * @throws IOException if the file can not be read or is invalid
+   */
+  static List<IsoCurrencyUnit> readCurrencies(Path path) throws IOException {
+    try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(path))) {
+      inputStream.mark(4);
+      DataInputStream dataInputStream = new DataInputStream(inputStream);
+      int magic = dataInputStream.readInt();
+      inputStream.reset();
+      if (magic == IsoCurrencyTableFile.MAGIC) {
+        return IsoCurrencyTableFile.read(inputStream);
+      }
+      try {
+        return toCurrencies(IsoCurrencyParser.parseToMap(inputStream));
+      } catch (XMLStreamException | RuntimeException e) {
+        throw new IOException("invalid currency list: " + path, e);
+      }
+    }
+  }
+
+  private static List<IsoCurrencyUnit> toCurrencies(Map<String, ParsedCurrrency> parsedMap) {
+    List<IsoCurrencyUnit> currencies = new ArrayList<>(parsedMap.size());
     
     for (Entry<String, ParsedCurrrency> entry : parsedMap.entrySet()) {
       String currencyCode = entry.getKey();
       short key = compressCurrencyCode(currencyCode);
       IsoCurrencyUnit currency = new IsoCurrencyUnit(currencyCode, key, entry.getValue().currencyNumber, entry.getValue().minorUnits);
-      currencyMap.put(key, currency);
+      currencies.add(currency);
     }
-    return currencyMap;
+    return currencies;
+  }
+
+  static short compressCurrency(CurrencyUnit currency) {
+    if (currency instanceof IsoCurrencyUnit) {
+      return ((IsoCurrencyUnit) currency).compressedCurrencyCode;
+    }
+    return compressCurrencyCode(currency.getCurrencyCode());
+  }
+
+  /**
+   * Compresses a currency that has to be in the ISO table so that it can
+   * be looked up again from the compressed code.
+   *
+   * @throws IllegalArgumentException if the currency is not in the ISO table
+   */
+  static short compressIsoCurrency(CurrencyUnit currency) {
+    short compressed = compressCurrency(currency);
+    if (IsoCurrencyProvider.findCurrency(compressed) == null) {
+      throw new IllegalArgumentException("not an ISO currency: " + currency.getCurrencyCode());
+    }
+    return compressed;
   }
 
   static short compressCurrencyCode(String currencyCode) {
@@ -47,6 +123,25 @@ final class IsoCurrencyCompressor {
     return (short) index;
   }
 
+  /**
+   * Compresses a currency code given as ASCII bytes or characters.
+   *
+   * @return the compressed currency code or -1 if the bytes are not three
+   *         letters A-Z
+   */
+  static int compressCurrencyCode(int char1, int char2, int char3) {
+    if (!isLetter(char1) || !isLetter(char2) || !isLetter(char3)) {
+      return -1;
+    }
+    return (char1 - 'A')
+        + (char2 - 'A') * LETTERS_IN_ALPHABET
+        + (char3 - 'A') * LETTERS_IN_ALPHABET * LETTERS_IN_ALPHABET;
+  }
+
+  private static boolean isLetter(int b) {
+    return b >= 'A' && b <= 'Z';
+  }
+
   private static int toFactor(char c) {
     if (c < 'A' || c > 'Z') {
       throw invalidFormat();
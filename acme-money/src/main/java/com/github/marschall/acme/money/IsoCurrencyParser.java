@@ -20,12 +20,19 @@ final class IsoCurrencyParser {
   }
 
   static Map<String, ParsedCurrrency> parseToMap() throws IOException, XMLStreamException {
+    try (InputStream inputStream = IsoCurrencyParser.class.getClassLoader().getResourceAsStream("list_one.xml")) {
+      return parseToMap(inputStream);
+    }
+  }
+
+  static Map<String, ParsedCurrrency> parseToMap(InputStream inputStream) throws XMLStreamException {
     Map<String, ParsedCurrrency> parsed = new HashMap<>();
     XMLInputFactory factory = XMLInputFactory.newInstance();
-    try (InputStream inputStream = IsoCurrencyParser.class.getClassLoader().getResourceAsStream("list_one.xml");
-         BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream)) {
-      XMLStreamReader streamReader = factory.createXMLStreamReader(bufferedInputStream);
+    XMLStreamReader streamReader = factory.createXMLStreamReader(new BufferedInputStream(inputStream));
+    try {
       parseDocument(streamReader, parsed);
+    } finally {
+      streamReader.close();
     }
     return parsed;
   }
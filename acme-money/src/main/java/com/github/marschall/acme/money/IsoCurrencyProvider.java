@@ -1,9 +1,16 @@
 package com.github.marschall.acme.money;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.money.CurrencyQuery;
 import javax.money.CurrencyUnit;
@@ -21,42 +28,93 @@ public final class IsoCurrencyProvider implements CurrencyProviderSpi {
     super();
   }
 
-  private static final Map<Short, CurrencyUnit> CURRENCIES = IsoCurrencyCompressor.parse();
+  private static final Object RELOAD_LOCK = new Object();
+
+  /**
+   * The current snapshot, replaced as a whole by {@link #reload(Path)}.
+   */
+  private static volatile IsoCurrencyTable currencies = IsoCurrencyCompressor.load();
 
   @Override
   public String getProviderName() {
     return AcmeMoneyConstants.PROVIDER_NAME;
   }
 
+  /**
+   * Replaces the currencies with the ones from a file.
+   *
+   * <p>
+   * The new currencies are loaded in the calling thread and then published
+   * at once, concurrent lookups see either all old or all new currencies.
+   * Currencies whose numeric code and default fraction digits did not
+   * change keep their instances. Amounts created with a currency that
+   * changed keep the old currency instance.
+   *
+   * @param path either an ISO 4217 {@code list_one.xml} or a binary
+   *             currency table, not null
+   * @throws IOException if the file can not be read or is invalid
+   */
+  public static void reload(Path path) throws IOException {
+    Objects.requireNonNull(path, "path");
+    List<IsoCurrencyUnit> loaded = IsoCurrencyCompressor.readCurrencies(path);
+    synchronized (RELOAD_LOCK) {
+      IsoCurrencyTable updated;
+      try {
+        updated = IsoCurrencyTable.update(currencies, loaded);
+      } catch (IllegalArgumentException e) {
+        // eg. duplicate numeric codes
+        throw new IOException("invalid currencies: " + path, e);
+      }
+      currencies = updated;
+    }
+  }
+
+  /**
+   * Replaces the currencies with the ones from a file in the background.
+   *
+   * @param path either an ISO 4217 {@code list_one.xml} or a binary
+   *             currency table, not null
+   * @param executor the executor in which to load the file, not null
+   * @return the future that completes when the new currencies are published
+   * @see #reload(Path)
+   */
+  public static CompletableFuture<Void> reloadAsync(Path path, Executor executor) {
+    Objects.requireNonNull(path, "path");
+    Objects.requireNonNull(executor, "executor");
+    return CompletableFuture.runAsync(() -> {
+      try {
+        reload(path);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
   @Override
   public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+    IsoCurrencyTable table = currencies;
     Collection<String> currencyCodes = query.getCurrencyCodes();
     if (!currencyCodes.isEmpty()) {
-      return searchByCurrencyCode(currencyCodes);
+      return searchByCurrencyCode(table, currencyCodes);
     }
     if (!query.getCountries().isEmpty()) {
       // countries is treated like all currencies
-      return allCurrencies();
+      return table.allCurrencies();
     }
     Collection<Integer> numericCodes = query.getNumericCodes();
     if (!numericCodes.isEmpty()) {
-      return searchByNumericCode(numericCodes);
+      return searchByNumericCode(table, numericCodes);
     }
     // No known constraints defined, return all.
-    return allCurrencies();
+    return table.allCurrencies();
   }
 
-  private Set<CurrencyUnit> allCurrencies() {
-    // TODO optimize
-    return new HashSet<>(CURRENCIES.values());
-  }
-
-  private Set<CurrencyUnit> searchByCurrencyCode(Collection<String> currencyCodes) {
+  private static Set<CurrencyUnit> searchByCurrencyCode(IsoCurrencyTable table, Collection<String> currencyCodes) {
     // TODO optimize size 1
     Set<CurrencyUnit> result = new HashSet<>();
     for (String currencCode : currencyCodes) {
-      Short compressed = IsoCurrencyCompressor.compressCurrencyCode(currencCode);
-      CurrencyUnit currency = CURRENCIES.get(compressed);
+      short compressed = IsoCurrencyCompressor.compressCurrencyCode(currencCode);
+      CurrencyUnit currency = table.findByCompressedCode(compressed);
       if (currency != null) {
         result.add(currency);
       }
@@ -64,17 +122,19 @@ public final class IsoCurrencyProvider implements CurrencyProviderSpi {
     return result;
   }
   
-  private Set<CurrencyUnit> searchByNumericCode(Collection<Integer> numericCodes) {
-    // TODO optimize size 1
+  private static Set<CurrencyUnit> searchByNumericCode(IsoCurrencyTable table, Collection<Integer> numericCodes) {
+    if (numericCodes.size() == 1) {
+      CurrencyUnit currency = table.findByNumericCode(numericCodes.iterator().next());
+      if (currency == null) {
+        return Collections.emptySet();
+      }
+      return Collections.singleton(currency);
+    }
     Set<CurrencyUnit> result = new HashSet<>();
     for (Integer numericCode : numericCodes) {
-      if (numericCode.intValue() == -1) {
-        continue;
-      }
-      for (CurrencyUnit currency : CURRENCIES.values()) {
-        if (currency.getNumericCode() == numericCode) {
-          result.add(currency);
-        }
+      CurrencyUnit currency = table.findByNumericCode(numericCode);
+      if (currency != null) {
+        result.add(currency);
       }
     }
     return result;
@@ -82,18 +142,46 @@ public final class IsoCurrencyProvider implements CurrencyProviderSpi {
 
   @Override
   public boolean isCurrencyAvailable(CurrencyQuery query) {
-    // TODO Auto-generated method stub
-    return CurrencyProviderSpi.super.isCurrencyAvailable(query);
+    // same logic as #getCurrencies(CurrencyQuery) without creating a Set
+    IsoCurrencyTable table = currencies;
+    Collection<String> currencyCodes = query.getCurrencyCodes();
+    if (!currencyCodes.isEmpty()) {
+      for (String currencCode : currencyCodes) {
+        short compressed = IsoCurrencyCompressor.compressCurrencyCode(currencCode);
+        if (table.findByCompressedCode(compressed) != null) {
+          return true;
+        }
+      }
+      return false;
+    }
+    if (!query.getCountries().isEmpty()) {
+      // countries is treated like all currencies
+      return table.size() > 0;
+    }
+    Collection<Integer> numericCodes = query.getNumericCodes();
+    if (!numericCodes.isEmpty()) {
+      for (Integer numericCode : numericCodes) {
+        if (table.findByNumericCode(numericCode) != null) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return table.size() > 0;
   }
 
   static CurrencyUnit getCurrency(short compressed) {
-    CurrencyUnit currency = CURRENCIES.get(compressed);
+    CurrencyUnit currency = findCurrency(compressed);
     if (currency == null) {
       throw currencyNotFound(compressed);
     }
     return currency;
   }
 
+  static CurrencyUnit findCurrency(short compressed) {
+    return currencies.findByCompressedCode(compressed);
+  }
+
   private static IllegalArgumentException currencyNotFound(short compressed) {
     return new IllegalArgumentException("currency " + IsoCurrencyCompressor.decompressCurrencyCode(compressed) + " not found");
   }
@@ -0,0 +1,125 @@
+package com.github.marschall.acme.money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * Lookup tables for {@link IsoCurrencyUnit} by compressed currency code and
+ * by numeric code.
+ *
+ * <p>
+ * Both codes are dense so every lookup is a single array load without
+ * boxing or hashing. Tables are immutable.
+ */
+final class IsoCurrencyTable {
+
+  /**
+   * The number of possible compressed currency codes, 26<sup>3</sup>.
+   */
+  static final int NUMBER_OF_CURRENCY_CODES = 26 * 26 * 26;
+
+  /**
+   * The number of possible numeric codes, 000 to 999.
+   */
+  static final int NUMBER_OF_NUMERIC_CODES = 1000;
+
+  private final IsoCurrencyUnit[] byCompressedCode;
+
+  private final IsoCurrencyUnit[] byNumericCode;
+
+  private final IsoCurrencyUnit[] currencies;
+
+  IsoCurrencyTable(Collection<IsoCurrencyUnit> currencies) {
+    this.byCompressedCode = new IsoCurrencyUnit[NUMBER_OF_CURRENCY_CODES];
+    this.byNumericCode = new IsoCurrencyUnit[NUMBER_OF_NUMERIC_CODES];
+    this.currencies = currencies.toArray(new IsoCurrencyUnit[0]);
+    Arrays.sort(this.currencies);
+    for (IsoCurrencyUnit currency : this.currencies) {
+      this.byCompressedCode[currency.compressedCurrencyCode] = currency;
+      int numericCode = currency.getNumericCode();
+      if (numericCode != -1) {
+        if (this.byNumericCode[numericCode] != null) {
+          throw new IllegalArgumentException("duplicate numeric code: " + numericCode);
+        }
+        this.byNumericCode[numericCode] = currency;
+      }
+    }
+  }
+
+  /**
+   * Creates a new table that reuses the instances of an other table for all
+   * currencies that did not change.
+   *
+   * <p>
+   * {@link IsoCurrencyUnit#equals(Object)} is based on identity so an
+   * unchanged currency has to remain the same instance.
+   *
+   * @param previous the table to take the instances from
+   * @param currencies the currencies of the new table
+   * @return the new table
+   */
+  static IsoCurrencyTable update(IsoCurrencyTable previous, Collection<IsoCurrencyUnit> currencies) {
+    List<IsoCurrencyUnit> merged = new ArrayList<>(currencies.size());
+    for (IsoCurrencyUnit currency : currencies) {
+      IsoCurrencyUnit existing = previous.findByCompressedCode(currency.compressedCurrencyCode);
+      if (existing != null
+              && existing.getNumericCode() == currency.getNumericCode()
+              && existing.getDefaultFractionDigits() == currency.getDefaultFractionDigits()) {
+        merged.add(existing);
+      } else {
+        merged.add(currency);
+      }
+    }
+    return new IsoCurrencyTable(merged);
+  }
+
+  /**
+   * Looks up a currency by compressed currency code.
+   *
+   * @param compressed the compressed currency code
+   * @return the currency or {@code null} if there is no such currency
+   */
+  IsoCurrencyUnit findByCompressedCode(short compressed) {
+    if (compressed < 0 || compressed >= NUMBER_OF_CURRENCY_CODES) {
+      return null;
+    }
+    return this.byCompressedCode[compressed];
+  }
+
+  /**
+   * Looks up a currency by numeric code.
+   *
+   * @param numericCode the numeric code
+   * @return the currency or {@code null} if there is no such currency
+   */
+  IsoCurrencyUnit findByNumericCode(int numericCode) {
+    if (numericCode < 0 || numericCode >= NUMBER_OF_NUMERIC_CODES) {
+      return null;
+    }
+    return this.byNumericCode[numericCode];
+  }
+
+  /**
+   * Returns a new set of all currencies.
+   *
+   * @return a new, mutable set of all currencies
+   */
+  Set<CurrencyUnit> allCurrencies() {
+    Set<CurrencyUnit> all = new HashSet<>(this.currencies.length * 4 / 3 + 1);
+    for (IsoCurrencyUnit currency : this.currencies) {
+      all.add(currency);
+    }
+    return all;
+  }
+
+  int size() {
+    return this.currencies.length;
+  }
+
+}
@@ -0,0 +1,104 @@
+package com.github.marschall.acme.money;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes the binary form of the ISO currency table.
+ *
+ * <p>
+ * The binary table is generated from {@code list_one.xml} during the build
+ * so that no XML has to be parsed at startup. The format is
+ * <ol>
+ *  <li>{@value #MAGIC} as an {@code int}</li>
+ *  <li>the version as an {@code int}</li>
+ *  <li>the number of currencies as an {@code int}</li>
+ *  <li>for every currency the compressed currency code as a {@code short},
+ *  the numeric code as a {@code short} and the default fraction digits as a
+ *  {@code byte}</li>
+ * </ol>
+ * all in big endian.
+ */
+final class IsoCurrencyTableFile {
+
+  static final String RESOURCE_NAME = "iso_currencies.bin";
+
+  static final int MAGIC = 0x41434D43;
+
+  private static final int VERSION = 1;
+
+  private IsoCurrencyTableFile() {
+    throw new AssertionError("not instantiable");
+  }
+
+  static List<IsoCurrencyUnit> read(InputStream inputStream) throws IOException {
+    DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream));
+    int magic = dataInputStream.readInt();
+    if (magic != MAGIC) {
+      throw new IOException("not a currency table, invalid magic: " + Integer.toHexString(magic));
+    }
+    int version = dataInputStream.readInt();
+    if (version != VERSION) {
+      throw new IOException("unsupported currency table version: " + version);
+    }
+    int size = dataInputStream.readInt();
+    if (size < 0 || size > IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES) {
+      throw new IOException("invalid number of currencies: " + size);
+    }
+    List<IsoCurrencyUnit> currencies = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      short compressed = dataInputStream.readShort();
+      short numericCode = dataInputStream.readShort();
+      byte fractionDigits = dataInputStream.readByte();
+      if (compressed < 0 || compressed >= IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES) {
+        throw new IOException("invalid currency code: " + compressed);
+      }
+      String currencyCode = IsoCurrencyCompressor.decompressCurrencyCode(compressed);
+      currencies.add(new IsoCurrencyUnit(currencyCode, compressed, numericCode, fractionDigits));
+    }
+    return currencies;
+  }
+
+  static void write(Collection<IsoCurrencyUnit> currencies, OutputStream outputStream) throws IOException {
+    DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+    dataOutputStream.writeInt(MAGIC);
+    dataOutputStream.writeInt(VERSION);
+    dataOutputStream.writeInt(currencies.size());
+    for (IsoCurrencyUnit currency : currencies) {
+      dataOutputStream.writeShort(currency.compressedCurrencyCode);
+      dataOutputStream.writeShort(currency.getNumericCode());
+      dataOutputStream.writeByte(currency.getDefaultFractionDigits());
+    }
+    dataOutputStream.flush();
+  }
+
+  /**
+   * Generates the binary table from {@code list_one.xml}, called during the
+   * build.
+   *
+   * @param args the file to write
+   * @throws IOException if writing the file fails
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("usage: IsoCurrencyTableFile <output file>");
+    }
+    Path target = Paths.get(args[0]);
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    try (OutputStream outputStream = Files.newOutputStream(target)) {
+      write(IsoCurrencyCompressor.parseCurrencies(), outputStream);
+    }
+  }
+
+}
@@ -0,0 +1,1036 @@
+package com.github.marschall.acme.money;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.UnknownCurrencyException;
+
+/**
+ * Binary encoding of amounts, numbers and currencies outside of Java
+ * serialization.
+ *
+ * <p>
+ * Two encodings are supported:
+ * <dl>
+ *  <dt>fixed</dt>
+ *  <dd>every {@code long} takes 8 bytes in big endian, a currency takes
+ *  two bytes, the compressed currency code. A {@link FastMoney6} takes
+ *  {@value #FAST_MONEY_6_SIZE} bytes.</dd>
+ *  <dt>compact</dt>
+ *  <dd>signed {@code long}s are zigzag encoded and then written as
+ *  variable length integers of 7 bits per byte, least significant group
+ *  first. Small values take few bytes, a {@link FastMoney6} of 1.00 takes
+ *  five bytes. Denominators are always positive and are written without
+ *  zigzag encoding. Currencies take two bytes like in the fixed
+ *  encoding.</dd>
+ * </dl>
+ *
+ * <p>
+ * Values can be written to and read from a {@link DataOutput} /
+ * {@link DataInput}, a {@link ByteBuffer} or a {@code byte[]}. All three
+ * use the same bytes. {@link ByteBuffer}s are always accessed in big
+ * endian independent of their byte order. Methods that write into a
+ * {@code byte[]} return the offset after the last byte written, methods
+ * that read the compact encoding from a {@code byte[]} can be combined
+ * with the {@code compactSize} methods to find the next offset.
+ *
+ * <p>
+ * Only three letter ISO currency codes are supported, currencies are read
+ * as {@link IsoCurrencyUnit}.
+ */
+public final class MoneyCodec {
+
+  /**
+   * The number of bytes of a currency.
+   */
+  public static final int CURRENCY_SIZE = 2;
+
+  /**
+   * The number of bytes of a {@link FastNumber6} in the fixed encoding.
+   */
+  public static final int FAST_NUMBER_6_SIZE = 8;
+
+  /**
+   * The number of bytes of a {@link FastMoney6} in the fixed encoding.
+   */
+  public static final int FAST_MONEY_6_SIZE = FAST_NUMBER_6_SIZE + CURRENCY_SIZE;
+
+  /**
+   * The number of bytes of a {@link Fraction} in the fixed encoding.
+   */
+  public static final int FRACTION_SIZE = 16;
+
+  /**
+   * The number of bytes of a {@link FractionMoney} in the fixed encoding.
+   */
+  public static final int FRACTION_MONEY_SIZE = FRACTION_SIZE + CURRENCY_SIZE;
+
+  /**
+   * The maximum number of bytes of a variable length {@code long}.
+   */
+  static final int MAX_VAR_LONG_SIZE = 10;
+
+  private static final int LAST_VAR_LONG_SHIFT = 7 * (MAX_VAR_LONG_SIZE - 1);
+
+  private MoneyCodec() {
+    throw new AssertionError("not instantiable");
+  }
+
+  // currencies
+
+  /**
+   * Writes a currency as its compressed currency code.
+   *
+   * @param currency the currency to write, not null, must be an ISO currency
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void write(CurrencyUnit currency, DataOutput out) throws IOException {
+    out.writeShort(IsoCurrencyCompressor.compressIsoCurrency(currency));
+  }
+
+  /**
+   * Writes a currency as its compressed currency code at the position of a
+   * buffer.
+   *
+   * @param currency the currency to write, not null, must be an ISO currency
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void write(CurrencyUnit currency, ByteBuffer buffer) {
+    putCurrency(buffer, IsoCurrencyCompressor.compressIsoCurrency(currency));
+  }
+
+  /**
+   * Writes a currency as its compressed currency code into an array.
+   *
+   * @param currency the currency to write, not null, must be an ISO currency
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static int write(CurrencyUnit currency, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    write(currency, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Reads a currency written as its compressed currency code.
+   *
+   * @param in the input to read from, not null
+   * @return the currency read, not null
+   * @throws IOException if reading fails
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static CurrencyUnit readCurrency(DataInput in) throws IOException {
+    return currency(in.readShort());
+  }
+
+  /**
+   * Reads a currency written as its compressed currency code from the
+   * position of a buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the currency read, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static CurrencyUnit readCurrency(ByteBuffer buffer) {
+    return currency(bigEndianShort(buffer, buffer.getShort()));
+  }
+
+  /**
+   * Reads a currency written as its compressed currency code from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the currency read, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static CurrencyUnit readCurrency(byte[] array, int offset) {
+    return readCurrency(wrap(array, offset));
+  }
+
+  // FastNumber6
+
+  /**
+   * Writes a {@link FastNumber6} in the fixed encoding.
+   *
+   * @param number the number to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   */
+  public static void write(FastNumber6 number, DataOutput out) throws IOException {
+    out.writeLong(number.value);
+  }
+
+  /**
+   * Writes a {@link FastNumber6} in the fixed encoding at the position of a
+   * buffer.
+   *
+   * @param number the number to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   */
+  public static void write(FastNumber6 number, ByteBuffer buffer) {
+    putLong(buffer, number.value);
+  }
+
+  /**
+   * Writes a {@link FastNumber6} in the fixed encoding into an array.
+   *
+   * @param number the number to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   */
+  public static int write(FastNumber6 number, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    write(number, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Writes a {@link FastNumber6} in the compact encoding.
+   *
+   * @param number the number to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   */
+  public static void writeCompact(FastNumber6 number, DataOutput out) throws IOException {
+    writeVarLong(zigzag(number.value), out);
+  }
+
+  /**
+   * Writes a {@link FastNumber6} in the compact encoding at the position of a
+   * buffer.
+   *
+   * @param number the number to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   */
+  public static void writeCompact(FastNumber6 number, ByteBuffer buffer) {
+    writeVarLong(zigzag(number.value), buffer);
+  }
+
+  /**
+   * Writes a {@link FastNumber6} in the compact encoding into an array.
+   *
+   * @param number the number to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   */
+  public static int writeCompact(FastNumber6 number, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    writeCompact(number, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Reads a {@link FastNumber6} in the fixed encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the number read, not null
+   * @throws IOException if reading fails
+   */
+  public static FastNumber6 readFastNumber6(DataInput in) throws IOException {
+    return new FastNumber6(in.readLong());
+  }
+
+  /**
+   * Reads a {@link FastNumber6} in the fixed encoding from the position of a
+   * buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the number read, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   */
+  public static FastNumber6 readFastNumber6(ByteBuffer buffer) {
+    return new FastNumber6(getLong(buffer));
+  }
+
+  /**
+   * Reads a {@link FastNumber6} in the fixed encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the number read, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   */
+  public static FastNumber6 readFastNumber6(byte[] array, int offset) {
+    return readFastNumber6(wrap(array, offset));
+  }
+
+  /**
+   * Reads a {@link FastNumber6} in the compact encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the number read, not null
+   * @throws IOException if reading fails or the input is malformed
+   */
+  public static FastNumber6 readFastNumber6Compact(DataInput in) throws IOException {
+    return new FastNumber6(unzigzag(readVarLong(in)));
+  }
+
+  /**
+   * Reads a {@link FastNumber6} in the compact encoding from the position of
+   * a buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the number read, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the input is malformed
+   */
+  public static FastNumber6 readFastNumber6Compact(ByteBuffer buffer) {
+    return new FastNumber6(unzigzag(readVarLong(buffer)));
+  }
+
+  /**
+   * Reads a {@link FastNumber6} in the compact encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the number read, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the input is malformed
+   */
+  public static FastNumber6 readFastNumber6Compact(byte[] array, int offset) {
+    return readFastNumber6Compact(wrap(array, offset));
+  }
+
+  /**
+   * Returns the number of bytes of a {@link FastNumber6} in the compact
+   * encoding.
+   *
+   * @param number the number to measure, not null
+   * @return the number of bytes written by {@code writeCompact}
+   */
+  public static int compactSize(FastNumber6 number) {
+    return varLongSize(zigzag(number.value));
+  }
+
+  // FastMoney6
+
+  /**
+   * Writes a {@link FastMoney6} in the fixed encoding.
+   *
+   * @param amount the amount to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void write(FastMoney6 amount, DataOutput out) throws IOException {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    out.writeLong(amount.value);
+    out.writeShort(currency);
+  }
+
+  /**
+   * Writes a {@link FastMoney6} in the fixed encoding at the position of a
+   * buffer.
+   *
+   * @param amount the amount to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void write(FastMoney6 amount, ByteBuffer buffer) {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    putLong(buffer, amount.value);
+    putCurrency(buffer, currency);
+  }
+
+  /**
+   * Writes a {@link FastMoney6} in the fixed encoding into an array.
+   *
+   * @param amount the amount to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static int write(FastMoney6 amount, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    write(amount, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Writes a {@link FastMoney6} in the compact encoding.
+   *
+   * @param amount the amount to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void writeCompact(FastMoney6 amount, DataOutput out) throws IOException {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    writeVarLong(zigzag(amount.value), out);
+    out.writeShort(currency);
+  }
+
+  /**
+   * Writes a {@link FastMoney6} in the compact encoding at the position of a
+   * buffer.
+   *
+   * @param amount the amount to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void writeCompact(FastMoney6 amount, ByteBuffer buffer) {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    writeVarLong(zigzag(amount.value), buffer);
+    putCurrency(buffer, currency);
+  }
+
+  /**
+   * Writes a {@link FastMoney6} in the compact encoding into an array.
+   *
+   * @param amount the amount to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static int writeCompact(FastMoney6 amount, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    writeCompact(amount, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Reads a {@link FastMoney6} in the fixed encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the amount read, not null
+   * @throws IOException if reading fails
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FastMoney6 readFastMoney6(DataInput in) throws IOException {
+    long value = in.readLong();
+    return new FastMoney6(value, readCurrency(in));
+  }
+
+  /**
+   * Reads a {@link FastMoney6} in the fixed encoding from the position of a
+   * buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the amount read, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FastMoney6 readFastMoney6(ByteBuffer buffer) {
+    long value = getLong(buffer);
+    return new FastMoney6(value, readCurrency(buffer));
+  }
+
+  /**
+   * Reads a {@link FastMoney6} in the fixed encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the amount read, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FastMoney6 readFastMoney6(byte[] array, int offset) {
+    return readFastMoney6(wrap(array, offset));
+  }
+
+  /**
+   * Reads a {@link FastMoney6} in the compact encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the amount read, not null
+   * @throws IOException if reading fails or the input is malformed
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FastMoney6 readFastMoney6Compact(DataInput in) throws IOException {
+    long value = unzigzag(readVarLong(in));
+    return new FastMoney6(value, readCurrency(in));
+  }
+
+  /**
+   * Reads a {@link FastMoney6} in the compact encoding from the position of a
+   * buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the amount read, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the input is malformed
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FastMoney6 readFastMoney6Compact(ByteBuffer buffer) {
+    long value = unzigzag(readVarLong(buffer));
+    return new FastMoney6(value, readCurrency(buffer));
+  }
+
+  /**
+   * Reads a {@link FastMoney6} in the compact encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the amount read, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the input is malformed
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FastMoney6 readFastMoney6Compact(byte[] array, int offset) {
+    return readFastMoney6Compact(wrap(array, offset));
+  }
+
+  /**
+   * Returns the number of bytes of a {@link FastMoney6} in the compact
+   * encoding.
+   *
+   * @param amount the amount to measure, not null
+   * @return the number of bytes written by {@code writeCompact}
+   */
+  public static int compactSize(FastMoney6 amount) {
+    return varLongSize(zigzag(amount.value)) + CURRENCY_SIZE;
+  }
+
+  // Fraction
+
+  /**
+   * Writes a {@link Fraction} in the fixed encoding.
+   *
+   * @param fraction the fraction to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   */
+  public static void write(Fraction fraction, DataOutput out) throws IOException {
+    out.writeLong(fraction.numerator);
+    out.writeLong(fraction.denominator);
+  }
+
+  /**
+   * Writes a {@link Fraction} in the fixed encoding at the position of a
+   * buffer.
+   *
+   * @param fraction the fraction to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   */
+  public static void write(Fraction fraction, ByteBuffer buffer) {
+    putLong(buffer, fraction.numerator);
+    putLong(buffer, fraction.denominator);
+  }
+
+  /**
+   * Writes a {@link Fraction} in the fixed encoding into an array.
+   *
+   * @param fraction the fraction to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   */
+  public static int write(Fraction fraction, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    write(fraction, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Writes a {@link Fraction} in the compact encoding.
+   *
+   * @param fraction the fraction to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   */
+  public static void writeCompact(Fraction fraction, DataOutput out) throws IOException {
+    writeVarLong(zigzag(fraction.numerator), out);
+    writeVarLong(fraction.denominator, out);
+  }
+
+  /**
+   * Writes a {@link Fraction} in the compact encoding at the position of a
+   * buffer.
+   *
+   * @param fraction the fraction to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   */
+  public static void writeCompact(Fraction fraction, ByteBuffer buffer) {
+    writeVarLong(zigzag(fraction.numerator), buffer);
+    writeVarLong(fraction.denominator, buffer);
+  }
+
+  /**
+   * Writes a {@link Fraction} in the compact encoding into an array.
+   *
+   * @param fraction the fraction to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   */
+  public static int writeCompact(Fraction fraction, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    writeCompact(fraction, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Reads a {@link Fraction} in the fixed encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the fraction read, reduced, not null
+   * @throws IOException if reading fails or the input is malformed
+   */
+  public static Fraction readFraction(DataInput in) throws IOException {
+    long numerator = in.readLong();
+    return Fraction.of(numerator, readDenominator(in, false));
+  }
+
+  /**
+   * Reads a {@link Fraction} in the fixed encoding from the position of a
+   * buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the fraction read, reduced, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the input is malformed
+   */
+  public static Fraction readFraction(ByteBuffer buffer) {
+    long numerator = getLong(buffer);
+    return Fraction.of(numerator, readDenominator(buffer, false));
+  }
+
+  /**
+   * Reads a {@link Fraction} in the fixed encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the fraction read, reduced, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the input is malformed
+   */
+  public static Fraction readFraction(byte[] array, int offset) {
+    return readFraction(wrap(array, offset));
+  }
+
+  /**
+   * Reads a {@link Fraction} in the compact encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the fraction read, reduced, not null
+   * @throws IOException if reading fails or the input is malformed
+   */
+  public static Fraction readFractionCompact(DataInput in) throws IOException {
+    long numerator = unzigzag(readVarLong(in));
+    return Fraction.of(numerator, readDenominator(in, true));
+  }
+
+  /**
+   * Reads a {@link Fraction} in the compact encoding from the position of a
+   * buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the fraction read, reduced, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the input is malformed
+   */
+  public static Fraction readFractionCompact(ByteBuffer buffer) {
+    long numerator = unzigzag(readVarLong(buffer));
+    return Fraction.of(numerator, readDenominator(buffer, true));
+  }
+
+  /**
+   * Reads a {@link Fraction} in the compact encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the fraction read, reduced, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the input is malformed
+   */
+  public static Fraction readFractionCompact(byte[] array, int offset) {
+    return readFractionCompact(wrap(array, offset));
+  }
+
+  /**
+   * Returns the number of bytes of a {@link Fraction} in the compact
+   * encoding.
+   *
+   * @param fraction the fraction to measure, not null
+   * @return the number of bytes written by {@code writeCompact}
+   */
+  public static int compactSize(Fraction fraction) {
+    return varLongSize(zigzag(fraction.numerator)) + varLongSize(fraction.denominator);
+  }
+
+  // FractionMoney
+
+  /**
+   * Writes a {@link FractionMoney} in the fixed encoding.
+   *
+   * @param amount the amount to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void write(FractionMoney amount, DataOutput out) throws IOException {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    out.writeLong(amount.numerator);
+    out.writeLong(amount.denominator);
+    out.writeShort(currency);
+  }
+
+  /**
+   * Writes a {@link FractionMoney} in the fixed encoding at the position of a
+   * buffer.
+   *
+   * @param amount the amount to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void write(FractionMoney amount, ByteBuffer buffer) {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    putLong(buffer, amount.numerator);
+    putLong(buffer, amount.denominator);
+    putCurrency(buffer, currency);
+  }
+
+  /**
+   * Writes a {@link FractionMoney} in the fixed encoding into an array.
+   *
+   * @param amount the amount to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static int write(FractionMoney amount, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    write(amount, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Writes a {@link FractionMoney} in the compact encoding.
+   *
+   * @param amount the amount to write, not null
+   * @param out the output to write to, not null
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void writeCompact(FractionMoney amount, DataOutput out) throws IOException {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    writeVarLong(zigzag(amount.numerator), out);
+    writeVarLong(amount.denominator, out);
+    out.writeShort(currency);
+  }
+
+  /**
+   * Writes a {@link FractionMoney} in the compact encoding at the position of
+   * a buffer.
+   *
+   * @param amount the amount to write, not null
+   * @param buffer the buffer to write to, not null
+   * @throws BufferOverflowException if the buffer is too small
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static void writeCompact(FractionMoney amount, ByteBuffer buffer) {
+    short currency = IsoCurrencyCompressor.compressIsoCurrency(amount.currency);
+    writeVarLong(zigzag(amount.numerator), buffer);
+    writeVarLong(amount.denominator, buffer);
+    putCurrency(buffer, currency);
+  }
+
+  /**
+   * Writes a {@link FractionMoney} in the compact encoding into an array.
+   *
+   * @param amount the amount to write, not null
+   * @param array the array to write to, not null
+   * @param offset the index of the first byte to write
+   * @return the index after the last byte written
+   * @throws BufferOverflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the currency is not an ISO currency
+   */
+  public static int writeCompact(FractionMoney amount, byte[] array, int offset) {
+    ByteBuffer buffer = wrap(array, offset);
+    writeCompact(amount, buffer);
+    return buffer.position();
+  }
+
+  /**
+   * Reads a {@link FractionMoney} in the fixed encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the amount read, reduced, not null
+   * @throws IOException if reading fails or the input is malformed
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FractionMoney readFractionMoney(DataInput in) throws IOException {
+    long numerator = in.readLong();
+    long denominator = readDenominator(in, false);
+    return FractionMoney.of(numerator, denominator, readCurrency(in));
+  }
+
+  /**
+   * Reads a {@link FractionMoney} in the fixed encoding from the position of
+   * a buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the amount read, reduced, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the input is malformed
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FractionMoney readFractionMoney(ByteBuffer buffer) {
+    long numerator = getLong(buffer);
+    long denominator = readDenominator(buffer, false);
+    return FractionMoney.of(numerator, denominator, readCurrency(buffer));
+  }
+
+  /**
+   * Reads a {@link FractionMoney} in the fixed encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the amount read, reduced, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the input is malformed
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FractionMoney readFractionMoney(byte[] array, int offset) {
+    return readFractionMoney(wrap(array, offset));
+  }
+
+  /**
+   * Reads a {@link FractionMoney} in the compact encoding.
+   *
+   * @param in the input to read from, not null
+   * @return the amount read, reduced, not null
+   * @throws IOException if reading fails or the input is malformed
+   * @throws IllegalArgumentException if the compressed currency code is
+   *                                  invalid
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FractionMoney readFractionMoneyCompact(DataInput in) throws IOException {
+    long numerator = unzigzag(readVarLong(in));
+    long denominator = readDenominator(in, true);
+    return FractionMoney.of(numerator, denominator, readCurrency(in));
+  }
+
+  /**
+   * Reads a {@link FractionMoney} in the compact encoding from the position
+   * of a buffer.
+   *
+   * @param buffer the buffer to read from, not null
+   * @return the amount read, reduced, not null
+   * @throws BufferUnderflowException if the buffer is too short
+   * @throws IllegalArgumentException if the input is malformed
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FractionMoney readFractionMoneyCompact(ByteBuffer buffer) {
+    long numerator = unzigzag(readVarLong(buffer));
+    long denominator = readDenominator(buffer, true);
+    return FractionMoney.of(numerator, denominator, readCurrency(buffer));
+  }
+
+  /**
+   * Reads a {@link FractionMoney} in the compact encoding from an array.
+   *
+   * @param array the array to read from, not null
+   * @param offset the index of the first byte to read
+   * @return the amount read, reduced, not null
+   * @throws BufferUnderflowException if the array is too short
+   * @throws IndexOutOfBoundsException if the offset is outside the array
+   * @throws IllegalArgumentException if the input is malformed
+   * @throws UnknownCurrencyException if the currency is not known
+   */
+  public static FractionMoney readFractionMoneyCompact(byte[] array, int offset) {
+    return readFractionMoneyCompact(wrap(array, offset));
+  }
+
+  /**
+   * Returns the number of bytes of a {@link FractionMoney} in the compact
+   * encoding.
+   *
+   * @param amount the amount to measure, not null
+   * @return the number of bytes written by {@code writeCompact}
+   */
+  public static int compactSize(FractionMoney amount) {
+    return varLongSize(zigzag(amount.numerator)) + varLongSize(amount.denominator) + CURRENCY_SIZE;
+  }
+
+  // primitives
+
+  static long zigzag(long l) {
+    return (l << 1) ^ (l >> 63);
+  }
+
+  static long unzigzag(long l) {
+    return (l >>> 1) ^ -(l & 1L);
+  }
+
+  static int varLongSize(long l) {
+    // 1 byte for up to 7 significant bits, 10 bytes for 64
+    int significantBits = Long.SIZE - Long.numberOfLeadingZeros(l | 1L);
+    return (significantBits + 6) / 7;
+  }
+
+  static void writeVarLong(long l, DataOutput out) throws IOException {
+    long remaining = l;
+    while ((remaining & ~0x7FL) != 0L) {
+      out.writeByte((int) ((remaining & 0x7FL) | 0x80L));
+      remaining >>>= 7;
+    }
+    out.writeByte((int) remaining);
+  }
+
+  static void writeVarLong(long l, ByteBuffer buffer) {
+    long remaining = l;
+    while ((remaining & ~0x7FL) != 0L) {
+      buffer.put((byte) ((remaining & 0x7FL) | 0x80L));
+      remaining >>>= 7;
+    }
+    buffer.put((byte) remaining);
+  }
+
+  static long readVarLong(DataInput in) throws IOException {
+    long result = 0L;
+    for (int shift = 0; shift < LAST_VAR_LONG_SHIFT; shift += 7) {
+      byte b = in.readByte();
+      result |= (b & 0x7FL) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    // the tenth byte may only contain the highest bit
+    byte b = in.readByte();
+    if ((b & ~1) != 0) {
+      throw new IOException("malformed variable length long");
+    }
+    return result | ((long) b << LAST_VAR_LONG_SHIFT);
+  }
+
+  static long readVarLong(ByteBuffer buffer) {
+    long result = 0L;
+    for (int shift = 0; shift < LAST_VAR_LONG_SHIFT; shift += 7) {
+      byte b = buffer.get();
+      result |= (b & 0x7FL) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    // the tenth byte may only contain the highest bit
+    byte b = buffer.get();
+    if ((b & ~1) != 0) {
+      throw new IllegalArgumentException("malformed variable length long");
+    }
+    return result | ((long) b << LAST_VAR_LONG_SHIFT);
+  }
+
+  /**
+   * Reads a denominator, the input is not trusted so the denominator has
+   * to be checked, the fraction is reduced by the caller.
+   */
+  private static long readDenominator(DataInput in, boolean compact) throws IOException {
+    long denominator = compact ? readVarLong(in) : in.readLong();
+    if (denominator <= 0L) {
+      throw new IOException("invalid denominator: " + denominator);
+    }
+    return denominator;
+  }
+
+  private static long readDenominator(ByteBuffer buffer, boolean compact) {
+    long denominator = compact ? readVarLong(buffer) : getLong(buffer);
+    if (denominator <= 0L) {
+      throw new IllegalArgumentException("invalid denominator: " + denominator);
+    }
+    return denominator;
+  }
+
+  private static void putLong(ByteBuffer buffer, long l) {
+    buffer.putLong(buffer.order() == ByteOrder.BIG_ENDIAN ? l : Long.reverseBytes(l));
+  }
+
+  private static long getLong(ByteBuffer buffer) {
+    long l = buffer.getLong();
+    return buffer.order() == ByteOrder.BIG_ENDIAN ? l : Long.reverseBytes(l);
+  }
+
+  private static void putCurrency(ByteBuffer buffer, short compressed) {
+    buffer.putShort(bigEndianShort(buffer, compressed));
+  }
+
+  private static short bigEndianShort(ByteBuffer buffer, short s) {
+    return buffer.order() == ByteOrder.BIG_ENDIAN ? s : Short.reverseBytes(s);
+  }
+
+  private static ByteBuffer wrap(byte[] array, int offset) {
+    Objects.requireNonNull(array, "array");
+    return ByteBuffer.wrap(array, offset, array.length - offset);
+  }
+
+  static CurrencyUnit currency(short compressed) {
+    CurrencyUnit currency = IsoCurrencyProvider.findCurrency(compressed);
+    if (currency == null) {
+      if (compressed < 0 || compressed >= IsoCurrencyTable.NUMBER_OF_CURRENCY_CODES) {
+        throw new IllegalArgumentException("invalid compressed currency code: " + compressed);
+      }
+      throw new UnknownCurrencyException(IsoCurrencyCompressor.decompressCurrencyCode(compressed));
+    }
+    return currency;
+  }
+
+}
@@ -0,0 +1,82 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryException;
+
+import org.junit.jupiter.api.Test;
+
+class FastMoney6AccumulatorTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  @Test
+  void sum() {
+    FastMoney6Accumulator accumulator = new FastMoney6Accumulator(CHF);
+    assertTrue(accumulator.isZero());
+    FastMoney6 expected = FastMoney6.of(0L, CHF);
+    for (int i = 0; i < 1_000; i++) {
+      FastMoney6 lineItem = FastMoney6.of(BigDecimal.valueOf(i, 2), CHF);
+      accumulator.add(lineItem);
+      expected = expected.add(lineItem);
+    }
+    assertFalse(accumulator.isZero());
+    assertEquals(expected, accumulator.toFastMoney6());
+    assertSame(CHF, accumulator.getCurrency());
+  }
+
+  @Test
+  void operations() {
+    FastMoney6Accumulator accumulator = new FastMoney6Accumulator(FastMoney6.of(10L, CHF));
+    assertSame(accumulator, accumulator.add(1L));
+    assertEquals(FastMoney6.of(11L, CHF), accumulator.toFastMoney6());
+
+    accumulator.subtract(FastMoney6.of(new BigDecimal("0.5"), CHF));
+    assertEquals(FastMoney6.of(new BigDecimal("10.5"), CHF), accumulator.toFastMoney6());
+
+    accumulator.add(FastNumber6.parse("0.25")).subtract(FastNumber6.parse("0.75")).subtract(2L);
+    assertEquals(FastMoney6.of(8L, CHF), accumulator.toFastMoney6());
+
+    accumulator.multiply(FastNumber6.parse("1.5"));
+    assertEquals(FastMoney6.of(12L, CHF), accumulator.toFastMoney6());
+
+    accumulator.multiply(-2L);
+    assertEquals(FastMoney6.of(-24L, CHF), accumulator.toFastMoney6());
+
+    accumulator.reset();
+    assertTrue(accumulator.isZero());
+  }
+
+  @Test
+  void overflow() {
+    FastMoney6Accumulator accumulator = new FastMoney6Accumulator(new FastMoney6(Long.MAX_VALUE, CHF));
+    assertThrows(ArithmeticException.class, () -> accumulator.add(FastMoney6.of(new BigDecimal("0.000001"), CHF)));
+    assertThrows(ArithmeticException.class, () -> accumulator.add(1L));
+    assertThrows(ArithmeticException.class, () -> accumulator.multiply(2L));
+    assertThrows(ArithmeticException.class, () -> accumulator.multiply(FastNumber6.parse("1.1")));
+    // unchanged after overflow
+    assertEquals(new FastMoney6(Long.MAX_VALUE, CHF), accumulator.toFastMoney6());
+
+    FastMoney6Accumulator negative = new FastMoney6Accumulator(new FastMoney6(Long.MIN_VALUE, CHF));
+    assertThrows(ArithmeticException.class, () -> negative.subtract(FastNumber6.parse("0.000001")));
+    assertThrows(ArithmeticException.class, () -> negative.subtract(1L));
+  }
+
+  @Test
+  void currencyMismatch() {
+    FastMoney6Accumulator accumulator = new FastMoney6Accumulator(CHF);
+    assertThrows(MonetaryException.class, () -> accumulator.add(FastMoney6.of(1L, EUR)));
+    assertThrows(MonetaryException.class, () -> accumulator.subtract(FastMoney6.of(1L, EUR)));
+  }
+
+}
@@ -0,0 +1,111 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryException;
+
+import org.junit.jupiter.api.Test;
+
+class FastMoney6AdderTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  @Test
+  void addAndSubtract() {
+    FastMoney6Adder adder = new FastMoney6Adder(CHF);
+    assertTrue(adder.sum().isZero());
+    assertSame(CHF, adder.getCurrency());
+
+    adder.add(FastMoney6.of(new BigDecimal("10.25"), CHF));
+    adder.add(FastMoney6.of(new BigDecimal("0.75"), CHF));
+    adder.subtract(FastMoney6.of(1L, CHF));
+    assertEquals(FastMoney6.of(10L, CHF), adder.sum());
+
+    adder.reset();
+    assertTrue(adder.sum().isZero());
+  }
+
+  @Test
+  void overflowIntoOtherCells() {
+    FastMoney6 max = new FastMoney6(Long.MAX_VALUE, CHF);
+    FastMoney6 one = new FastMoney6(1L, CHF);
+
+    FastMoney6Adder adder = new FastMoney6Adder(CHF, 1);
+    adder.add(max);
+    adder.add(one);
+    // the total temporarily exceeds the range
+    assertThrows(ArithmeticException.class, adder::sum);
+    adder.subtract(one);
+    assertEquals(max, adder.sum());
+
+    adder.add(max);
+    adder.add(max);
+    assertThrows(ArithmeticException.class, adder::sum);
+    adder.subtract(max);
+    adder.subtract(max);
+    assertEquals(max, adder.sum());
+  }
+
+  @Test
+  void minValue() {
+    FastMoney6 min = new FastMoney6(Long.MIN_VALUE, CHF);
+    FastMoney6Adder adder = new FastMoney6Adder(CHF, 4);
+    adder.add(min);
+    assertEquals(min, adder.sum());
+    adder.subtract(min);
+    assertTrue(adder.sum().isZero());
+    adder.subtract(min);
+    assertThrows(ArithmeticException.class, adder::sum);
+  }
+
+  @Test
+  void concurrentAdds() throws InterruptedException {
+    int threadCount = 8;
+    int iterations = 10_000;
+    FastMoney6Adder adder = new FastMoney6Adder(CHF, threadCount);
+    FastMoney6 amount = FastMoney6.of(new BigDecimal("0.05"), CHF);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int j = 0; j < iterations; j++) {
+          adder.add(amount);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(amount.multiply((long) threadCount * iterations), adder.sum());
+  }
+
+  @Test
+  void currencyMismatch() {
+    FastMoney6Adder adder = new FastMoney6Adder(CHF);
+    assertThrows(MonetaryException.class, () -> adder.add(FastMoney6.of(1L, EUR)));
+    assertThrows(MonetaryException.class, () -> adder.subtract(FastMoney6.of(1L, EUR)));
+    assertThrows(IllegalArgumentException.class, () -> new FastMoney6Adder(CHF, 0));
+  }
+
+}
@@ -0,0 +1,157 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.junit.jupiter.api.Test;
+
+class FastMoney6AllocatorTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit JPY = Monetary.getCurrency("JPY");
+
+  private static FastMoney6 chf(String value) {
+    return FastMoney6.of(new BigDecimal(value), CHF);
+  }
+
+  private static long raw(String value) {
+    return chf(value).value;
+  }
+
+  @Test
+  void allocate() {
+    long[] result = new long[3];
+    FastMoney6Allocator.allocate(chf("100"), new long[] {1L, 1L, 1L}, result);
+    assertArrayEquals(new long[] {raw("33.34"), raw("33.33"), raw("33.33")}, result);
+
+    FastMoney6Allocator.allocate(chf("-100"), new long[] {1L, 1L, 1L}, result);
+    assertArrayEquals(new long[] {raw("-33.34"), raw("-33.33"), raw("-33.33")}, result);
+
+    FastMoney6Allocator.allocate(chf("0.05"), new long[] {3L, 7L, 0L}, result);
+    assertArrayEquals(new long[] {raw("0.02"), raw("0.03"), 0L}, result);
+  }
+
+  @Test
+  void largestRemainderAndRoundRobin() {
+    long[] result = new long[2];
+    // 1.4 and 5.6 minor units
+    FastMoney6Allocator.allocate(chf("0.07"), new long[] {1L, 4L}, result);
+    assertArrayEquals(new long[] {raw("0.01"), raw("0.06")}, result);
+
+    FastMoney6Allocator.allocateRoundRobin(chf("0.07"), new long[] {1L, 4L}, result);
+    assertArrayEquals(new long[] {raw("0.02"), raw("0.05")}, result);
+
+    result = new long[3];
+    FastMoney6Allocator.allocateRoundRobin(chf("0.03"), new long[] {0L, 1L, 1L}, result);
+    assertArrayEquals(new long[] {0L, raw("0.02"), raw("0.01")}, result);
+  }
+
+  @Test
+  void subMinorUnit() {
+    long[] result = new long[3];
+    FastMoney6Allocator.split(chf("1.000001"), 3, result);
+    assertArrayEquals(new long[] {raw("0.340001"), raw("0.33"), raw("0.33")}, result);
+
+    FastMoney6Allocator.allocate(chf("1.000001"), new long[] {0L, 1L, 1L}, result);
+    assertArrayEquals(new long[] {0L, raw("0.500001"), raw("0.50")}, result);
+  }
+
+  @Test
+  void split() {
+    long[] result = new long[3];
+    FastMoney6Allocator.split(FastMoney6.of(100L, JPY), 3, result);
+    assertArrayEquals(new long[] {
+        FastMoney6.of(34L, JPY).value,
+        FastMoney6.of(33L, JPY).value,
+        FastMoney6.of(33L, JPY).value}, result);
+
+    FastMoney6Array array = new FastMoney6Array();
+    FastMoney6Allocator.split(chf("-0.10"), 4, array);
+    assertEquals(4, array.size());
+    assertEquals(chf("-0.03"), array.get(0));
+    assertEquals(chf("-0.03"), array.get(1));
+    assertEquals(chf("-0.02"), array.get(2));
+    assertEquals(chf("-0.02"), array.get(3));
+  }
+
+  @Test
+  void conservesSum() {
+    Random random = new Random(42L);
+    int size = 100_000;
+    long[] ratios = new long[size];
+    for (int i = 0; i < size; i++) {
+      ratios[i] = random.nextInt(1_000_000);
+    }
+    long[] result = new long[size];
+    FastMoney6 total = chf("123456789.12");
+    long unit = FastMoney6Allocator.minorUnit(CHF);
+    long ratioSum = 0L;
+    for (long ratio : ratios) {
+      ratioSum += ratio;
+    }
+
+    FastMoney6Allocator.allocate(total, ratios, result);
+    long sum = 0L;
+    for (int i = 0; i < size; i++) {
+      sum += result[i];
+      // within one minor unit of the exact share
+      BigDecimal exact = BigDecimal.valueOf(total.value).multiply(BigDecimal.valueOf(ratios[i]))
+          .divide(BigDecimal.valueOf(ratioSum), 6, RoundingMode.DOWN);
+      assertTrue(BigDecimal.valueOf(result[i]).subtract(exact).abs().compareTo(BigDecimal.valueOf(unit)) < 0);
+    }
+    assertEquals(total.value, sum);
+
+    FastMoney6Allocator.allocateRoundRobin(total, ratios, result);
+    sum = 0L;
+    for (long value : result) {
+      sum += value;
+    }
+    assertEquals(total.value, sum);
+  }
+
+  @Test
+  void equalRatiosLikeSplit() {
+    int size = 100_000;
+    long[] ratios = new long[size];
+    Arrays.fill(ratios, 7L);
+    long[] allocated = new long[size];
+    long[] split = new long[size];
+    FastMoney6 total = chf("12345.67");
+    FastMoney6Allocator.allocate(total, ratios, allocated);
+    FastMoney6Allocator.split(total, size, split);
+    assertArrayEquals(split, allocated);
+  }
+
+  @Test
+  void extremes() {
+    long[] result = new long[2];
+    FastMoney6Allocator.allocate(new FastMoney6(Long.MIN_VALUE, CHF), new long[] {Long.MAX_VALUE - 1L, 1L}, result);
+    assertEquals(Long.MIN_VALUE, result[0] + result[1]);
+
+    FastMoney6Allocator.split(new FastMoney6(Long.MAX_VALUE, CHF), 2, result);
+    assertEquals(Long.MAX_VALUE, result[0] + result[1]);
+  }
+
+  @Test
+  void invalidArguments() {
+    FastMoney6 total = chf("1");
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6Allocator.allocate(total, new long[] {1L, -1L}, new long[2]));
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6Allocator.allocate(total, new long[] {0L, 0L}, new long[2]));
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6Allocator.allocate(total, new long[] {1L, 1L}, new long[1]));
+    assertThrows(ArithmeticException.class, () -> FastMoney6Allocator.allocate(total, new long[] {Long.MAX_VALUE, 1L}, new long[2]));
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6Allocator.split(total, 0, new long[2]));
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6Allocator.split(total, 3, new long[2]));
+  }
+
+}
@@ -0,0 +1,139 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryException;
+
+import org.javamoney.moneta.CurrencyUnitBuilder;
+import org.junit.jupiter.api.Test;
+
+class FastMoney6ArrayTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  @Test
+  void addAndGet() {
+    FastMoney6Array array = new FastMoney6Array(1);
+    assertTrue(array.isEmpty());
+    for (int i = 0; i < 100; i++) {
+      array.add(FastMoney6.of(BigDecimal.valueOf(i, 2), (i % 2) == 0 ? CHF : EUR));
+    }
+    assertFalse(array.isEmpty());
+    assertEquals(100, array.size());
+    for (int i = 0; i < 100; i++) {
+      CurrencyUnit expectedCurrency = (i % 2) == 0 ? CHF : EUR;
+      assertEquals(FastMoney6.of(BigDecimal.valueOf(i, 2), expectedCurrency), array.get(i));
+      assertEquals(expectedCurrency, array.getCurrency(i));
+    }
+
+    array.set(3, FastMoney6.of(-1L, CHF));
+    assertEquals(FastMoney6.of(-1L, CHF), array.get(3));
+
+    assertThrows(IndexOutOfBoundsException.class, () -> array.get(100));
+    assertThrows(IndexOutOfBoundsException.class, () -> array.get(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> array.set(100, FastMoney6.of(1L, CHF)));
+
+    array.clear();
+    assertTrue(array.isEmpty());
+  }
+
+  @Test
+  void addAll() {
+    FastMoney6Array array = new FastMoney6Array(0);
+    array.addAll(Arrays.asList(FastMoney6.of(1L, CHF), FastMoney6.of(2L, EUR)));
+
+    FastMoney6Array other = new FastMoney6Array();
+    other.add(FastMoney6.of(3L, CHF));
+    other.addAll(array);
+    other.addAll(CHF, new long[] {0L, 1_000_000L, 2_000_000L}, 1, 2);
+
+    assertEquals(5, other.size());
+    assertEquals(FastMoney6.of(3L, CHF), other.get(0));
+    assertEquals(FastMoney6.of(1L, CHF), other.get(1));
+    assertEquals(FastMoney6.of(2L, EUR), other.get(2));
+    assertEquals(FastMoney6.of(1L, CHF), other.get(3));
+    assertEquals(FastMoney6.of(2L, CHF), other.get(4));
+  }
+
+  @Test
+  void nonIsoCurrency() {
+    // three letters but not in the ISO table
+    CurrencyUnit custom = CurrencyUnitBuilder.of("XAB", "test").build();
+    FastMoney6Array array = new FastMoney6Array();
+    assertThrows(IllegalArgumentException.class, () -> array.add(FastMoney6.of(1L, custom)));
+    assertTrue(array.isEmpty());
+    array.add(FastMoney6.of(1L, CHF));
+    assertThrows(IllegalArgumentException.class, () -> array.set(0, FastMoney6.of(2L, custom)));
+    assertEquals(FastMoney6.of(1L, CHF), array.get(0));
+
+    // rolled back, the amount before the invalid one is not appended either
+    assertThrows(IllegalArgumentException.class,
+        () -> array.addAll(Arrays.asList(FastMoney6.of(2L, CHF), FastMoney6.of(3L, custom))));
+    assertEquals(1, array.size());
+    assertEquals(FastMoney6.of(1L, CHF), array.get(0));
+  }
+
+  @Test
+  void sum() {
+    FastMoney6Array array = new FastMoney6Array();
+    array.add(FastMoney6.of(new BigDecimal("1.25"), CHF));
+    array.add(FastMoney6.of(new BigDecimal("7"), EUR));
+    array.add(FastMoney6.of(new BigDecimal("-0.25"), CHF));
+    assertEquals(FastMoney6.of(1L, CHF), array.sum(CHF));
+    assertEquals(FastMoney6.of(7L, EUR), array.sum(EUR));
+    assertTrue(array.sum(Monetary.getCurrency("USD")).isZero());
+
+    array.add(new FastMoney6(Long.MAX_VALUE, CHF));
+    assertThrows(ArithmeticException.class, () -> array.sum(CHF));
+  }
+
+  @Test
+  void view() {
+    FastMoney6Array array = new FastMoney6Array();
+    array.add(FastMoney6.of(new BigDecimal("1.25"), CHF));
+    array.add(FastMoney6.of(0L, EUR));
+    array.add(FastMoney6.of(new BigDecimal("-2.5"), CHF));
+
+    FastMoney6Array.View view = array.view();
+    FastMoney6Accumulator accumulator = new FastMoney6Accumulator(CHF);
+    int count = 0;
+    while (view.next()) {
+      assertEquals(count, view.getIndex());
+      assertEquals(array.get(count), view.toFastMoney6());
+      assertEquals(array.get(count).signum(), view.signum());
+      assertEquals(array.get(count).isZero(), view.isZero());
+      if (view.getCurrency().equals(CHF)) {
+        view.addTo(accumulator);
+      }
+      count += 1;
+    }
+    assertEquals(3, count);
+    assertEquals(FastMoney6.of(new BigDecimal("-1.25"), CHF), accumulator.toFastMoney6());
+
+    assertSame(view, view.moveTo(1));
+    assertEquals(EUR, view.getCurrency());
+    assertThrows(MonetaryException.class, () -> view.addTo(accumulator));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(3));
+  }
+
+  @Test
+  void testToString() {
+    FastMoney6Array array = new FastMoney6Array();
+    assertEquals("[]", array.toString());
+    array.add(FastMoney6.of(new BigDecimal("1.25"), CHF));
+    array.add(FastMoney6.of(2L, EUR));
+    assertEquals("[CHF 1.250000, EUR 2.000000]", array.toString());
+  }
+
+}
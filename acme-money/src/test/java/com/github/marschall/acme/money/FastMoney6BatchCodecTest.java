@@ -0,0 +1,150 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.money.CurrencyUnit;
+
+import org.junit.jupiter.api.Test;
+
+class FastMoney6BatchCodecTest {
+
+  private static final CurrencyUnit CHF = IsoCurrencyProvider.getCurrency(IsoCurrencyCompressor.compressCurrencyCode("CHF"));
+
+  private static final CurrencyUnit EUR = IsoCurrencyProvider.getCurrency(IsoCurrencyCompressor.compressCurrencyCode("EUR"));
+
+  private static void assertSameAmounts(FastMoney6Array expected, FastMoney6Array actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), actual.get(i));
+    }
+  }
+
+  private static void assertRoundTrip(FastMoney6Array amounts) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    FastMoney6BatchCodec.write(amounts, new DataOutputStream(bytes));
+    byte[] expected = bytes.toByteArray();
+    assertTrue(expected.length <= FastMoney6BatchCodec.maxSize(amounts));
+    assertSameAmounts(amounts, FastMoney6BatchCodec.read(new DataInputStream(new ByteArrayInputStream(expected))));
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) FastMoney6BatchCodec.maxSize(amounts));
+    FastMoney6BatchCodec.write(amounts, buffer);
+    buffer.flip();
+    assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.limit()));
+    assertSameAmounts(amounts, FastMoney6BatchCodec.read(buffer));
+
+    byte[] array = new byte[expected.length + 2];
+    assertEquals(array.length, FastMoney6BatchCodec.write(amounts, array, 2));
+    assertSameAmounts(amounts, FastMoney6BatchCodec.read(array, 2));
+  }
+
+  @Test
+  void roundTrip() throws IOException {
+    FastMoney6Array amounts = new FastMoney6Array();
+    assertRoundTrip(amounts);
+
+    amounts.add(new FastMoney6(Long.MIN_VALUE, CHF));
+    amounts.add(new FastMoney6(Long.MAX_VALUE, CHF));
+    amounts.add(new FastMoney6(0L, EUR));
+    amounts.add(new FastMoney6(-1L, CHF));
+    amounts.add(new FastMoney6(1L, CHF));
+    assertRoundTrip(amounts);
+  }
+
+  @Test
+  void singleCurrencyIsSmall() throws IOException {
+    FastMoney6Array amounts = new FastMoney6Array();
+    for (int i = 0; i < 1000; i++) {
+      amounts.add(FastMoney6.of(1000L + i, CHF));
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    FastMoney6BatchCodec.write(amounts, new DataOutputStream(bytes));
+    // 10 bytes per amount with the fixed encoding
+    assertTrue(bytes.size() < amounts.size() * MoneyCodec.FAST_MONEY_6_SIZE / 3, () -> "size: " + bytes.size());
+    assertRoundTrip(amounts);
+  }
+
+  @Test
+  void readInto() {
+    FastMoney6Array amounts = new FastMoney6Array();
+    amounts.add(FastMoney6.of(1L, CHF));
+    byte[] array = new byte[(int) FastMoney6BatchCodec.maxSize(amounts)];
+    int end = FastMoney6BatchCodec.write(amounts, array, 0);
+
+    FastMoney6Array target = new FastMoney6Array();
+    target.add(FastMoney6.of(2L, EUR));
+    FastMoney6BatchCodec.readInto(ByteBuffer.wrap(array, 0, end), target);
+    assertEquals(2, target.size());
+    assertEquals(FastMoney6.of(2L, EUR), target.get(0));
+    assertEquals(FastMoney6.of(1L, CHF), target.get(1));
+  }
+
+  @Test
+  void readIntoRollsBack() {
+    FastMoney6Array amounts = new FastMoney6Array();
+    amounts.add(FastMoney6.of(1L, CHF));
+    amounts.add(FastMoney6.of(2L, EUR));
+    byte[] array = new byte[(int) FastMoney6BatchCodec.maxSize(amounts)];
+    int end = FastMoney6BatchCodec.write(amounts, array, 0);
+
+    FastMoney6Array target = new FastMoney6Array();
+    target.add(FastMoney6.of(3L, EUR));
+    // truncated after the first run
+    assertThrows(BufferUnderflowException.class, () -> FastMoney6BatchCodec.readInto(ByteBuffer.wrap(array, 0, end - 2), target));
+    assertEquals(1, target.size());
+    assertThrows(IOException.class,
+        () -> FastMoney6BatchCodec.readInto(new DataInputStream(new ByteArrayInputStream(array, 0, end - 2)), target));
+    assertEquals(1, target.size());
+    assertEquals(FastMoney6.of(3L, EUR), target.get(0));
+
+    List<FastMoney6> list = new ArrayList<>();
+    assertThrows(BufferUnderflowException.class, () -> FastMoney6BatchCodec.readInto(ByteBuffer.wrap(array, 0, end - 2), list));
+    assertTrue(list.isEmpty());
+  }
+
+  @Test
+  void list() throws IOException {
+    List<FastMoney6> amounts = Arrays.asList(FastMoney6.of(1L, CHF), FastMoney6.of(2L, CHF), FastMoney6.of(-3L, EUR));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    FastMoney6BatchCodec.write(amounts, new DataOutputStream(bytes));
+    List<FastMoney6> read = new ArrayList<>();
+    FastMoney6BatchCodec.readInto(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), read);
+    assertEquals(amounts, read);
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) FastMoney6BatchCodec.maxSize(amounts));
+    FastMoney6BatchCodec.write(amounts, buffer);
+    buffer.flip();
+    assertArrayEquals(bytes.toByteArray(), Arrays.copyOf(buffer.array(), buffer.limit()));
+    read.clear();
+    FastMoney6BatchCodec.readInto(buffer, read);
+    assertEquals(amounts, read);
+  }
+
+  @Test
+  void invalid() {
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6BatchCodec.read(new byte[8], 0));
+
+    FastMoney6Array amounts = new FastMoney6Array();
+    amounts.add(FastMoney6.of(1L, CHF));
+    byte[] array = new byte[(int) FastMoney6BatchCodec.maxSize(amounts)];
+    int end = FastMoney6BatchCodec.write(amounts, array, 0);
+    // run length longer than the number of amounts
+    array[6] = 2;
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6BatchCodec.read(ByteBuffer.wrap(array, 0, end)));
+    assertThrows(IOException.class, () -> FastMoney6BatchCodec.read(new DataInputStream(new ByteArrayInputStream(array, 0, end))));
+  }
+
+}
@@ -0,0 +1,184 @@
+package com.github.marschall.acme.money;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.javamoney.moneta.CurrencyUnitBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FastMoney6LedgerTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void appendAndReopen() throws IOException {
+    Path file = this.directory.resolve("ledger");
+    // 7 records per chunk so that the file has to grow several times
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 7)) {
+      assertEquals(0L, ledger.size());
+      for (int i = 0; i < 50; i++) {
+        assertEquals(i, ledger.append(1000L + i, FastMoney6.of(BigDecimal.valueOf(i, 1), (i % 2) == 0 ? CHF : EUR)));
+      }
+      assertEquals(50L, ledger.size());
+    }
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 7)) {
+      assertEquals(50L, ledger.size());
+      for (int i = 0; i < 50; i++) {
+        assertEquals(FastMoney6.of(BigDecimal.valueOf(i, 1), (i % 2) == 0 ? CHF : EUR), ledger.get(i));
+        assertEquals(1000L + i, ledger.getKey(i));
+      }
+      assertThrows(IndexOutOfBoundsException.class, () -> ledger.get(50L));
+      ledger.append(-1L, FastMoney6.of(1L, CHF));
+      assertEquals(51L, ledger.size());
+    }
+  }
+
+  @Test
+  void scan() throws IOException {
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(this.directory.resolve("ledger"), 4)) {
+      ledger.append(1L, FastMoney6.of(new BigDecimal("10.5"), CHF));
+      ledger.append(2L, FastMoney6.of(new BigDecimal("3"), EUR));
+      ledger.append(3L, FastMoney6.of(new BigDecimal("-2.25"), CHF));
+      ledger.append(4L, FastMoney6.of(new BigDecimal("0"), EUR));
+      ledger.append(5L, FastMoney6.of(new BigDecimal("1"), CHF));
+
+      FastMoney6Ledger.Scanner scanner = ledger.scan(CHF);
+      assertTrue(scanner.next());
+      assertEquals(0L, scanner.getIndex());
+      assertEquals(1L, scanner.getKey());
+      assertEquals(FastMoney6.of(new BigDecimal("10.5"), CHF), scanner.getBalance());
+
+      assertTrue(scanner.next());
+      assertEquals(2L, scanner.getIndex());
+      assertEquals(3L, scanner.getKey());
+      assertEquals(-1, scanner.signum());
+      assertEquals(FastMoney6.of(new BigDecimal("-2.25"), CHF), scanner.getAmount());
+      assertEquals(FastMoney6.of(new BigDecimal("8.25"), CHF), scanner.getBalance());
+
+      assertTrue(scanner.next());
+      assertEquals(4L, scanner.getIndex());
+      assertEquals(FastMoney6.of(new BigDecimal("9.25"), CHF), scanner.getBalance());
+      assertFalse(scanner.next());
+
+      // postings appended later are picked up by the scanner
+      ledger.append(6L, FastMoney6.of(new BigDecimal("0.75"), CHF));
+      assertTrue(scanner.next());
+      assertEquals(FastMoney6.of(10L, CHF), scanner.getBalance());
+    }
+  }
+
+  @Test
+  void recoverTail() throws IOException {
+    Path file = this.directory.resolve("ledger");
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 8)) {
+      for (int i = 0; i < 10; i++) {
+        ledger.append(i, FastMoney6.of(i, CHF));
+      }
+      ledger.sync();
+    }
+    // simulate a crash after record 5 was only partially written
+    // and the header was not updated
+    try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+      ByteBuffer committed = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      committed.putLong(0, 3L);
+      channel.write(committed, 8L);
+      ByteBuffer torn = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      torn.putLong(0, 42L);
+      channel.write(torn, FastMoney6Ledger.HEADER_SIZE + (5L * FastMoney6Ledger.RECORD_SIZE));
+    }
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 8)) {
+      assertEquals(5L, ledger.size());
+      assertEquals(FastMoney6.of(4L, CHF), ledger.get(4L));
+      // the torn record is overwritten
+      ledger.append(100L, FastMoney6.of(100L, CHF));
+      assertEquals(100L, ledger.getKey(5L));
+    }
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 8)) {
+      assertEquals(6L, ledger.size());
+    }
+  }
+
+  @Test
+  void recoverSeveralGaps() throws IOException {
+    Path file = this.directory.resolve("ledger");
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 4)) {
+      for (int i = 0; i < 10; i++) {
+        ledger.append(i, FastMoney6.of(i, CHF));
+      }
+      ledger.sync();
+    }
+    // simulate a crash where records 3 and 6 were only partially written
+    try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+      ByteBuffer committed = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      committed.putLong(0, 2L);
+      channel.write(committed, 8L);
+      for (long torn : new long[] {3L, 6L}) {
+        ByteBuffer value = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        value.putLong(0, 42L);
+        channel.write(value, FastMoney6Ledger.HEADER_SIZE + (torn * FastMoney6Ledger.RECORD_SIZE));
+      }
+    }
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 4)) {
+      assertEquals(3L, ledger.size());
+      // overwrite both gaps
+      for (int i = 0; i < 4; i++) {
+        ledger.append(100L + i, FastMoney6.of(100L + i, CHF));
+      }
+    }
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(file, 4)) {
+      // the records after the second gap must not reappear
+      assertEquals(7L, ledger.size());
+      assertEquals(103L, ledger.getKey(6L));
+    }
+  }
+
+  @Test
+  void nonIsoCurrency() throws IOException {
+    CurrencyUnit custom = CurrencyUnitBuilder.of("XAB", "test").build();
+    try (FastMoney6Ledger ledger = FastMoney6Ledger.open(this.directory.resolve("ledger"))) {
+      assertThrows(IllegalArgumentException.class, () -> ledger.append(1L, FastMoney6.of(1L, custom)));
+      assertEquals(0L, ledger.size());
+      ledger.append(2L, FastMoney6.of(1L, CHF));
+      assertEquals(FastMoney6.of(1L, CHF), ledger.get(0L));
+      assertFalse(ledger.scan(custom).next());
+    }
+  }
+
+  @Test
+  void notALedger() throws IOException {
+    Path file = this.directory.resolve("other");
+    Files.write(file, new byte[64]);
+    assertThrows(IOException.class, () -> FastMoney6Ledger.open(file));
+  }
+
+  @Test
+  void closed() throws IOException {
+    FastMoney6Ledger ledger = FastMoney6Ledger.open(this.directory.resolve("ledger"));
+    ledger.close();
+    assertThrows(IllegalStateException.class, () -> ledger.append(1L, FastMoney6.of(1L, CHF)));
+    assertThrows(IllegalStateException.class, () -> ledger.scan(CHF));
+    ledger.close();
+  }
+
+}
@@ -0,0 +1,165 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import javax.money.format.MonetaryParseException;
+
+import org.junit.jupiter.api.Test;
+
+class FastMoney6LocaleAmountFormatTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+  private static final CurrencyUnit JPY = Monetary.getCurrency("JPY");
+
+  private static final Locale SWISS_GERMAN = new Locale("de", "CH");
+
+  private static final Locale WESTERN_FRISIAN = new Locale("fy", "NL");
+
+  @Test
+  void roundTrip() {
+    Locale[] locales = {Locale.US, Locale.GERMANY, Locale.FRANCE, SWISS_GERMAN, WESTERN_FRISIAN, Locale.JAPAN, Locale.ROOT};
+    FastMoney6[] amounts = {
+        FastMoney6.of(0L, CHF),
+        FastMoney6.of(1234567.89d, EUR),
+        FastMoney6.of(-1234567.89d, USD),
+        FastMoney6.of(-0.05d, USD),
+        FastMoney6.of(123456L, JPY),
+        FastMoney6.of(-1L, JPY)
+    };
+    for (Locale locale : locales) {
+      FastMoney6LocaleAmountFormat format = FastMoney6LocaleAmountFormat.of(locale);
+      for (FastMoney6 amount : amounts) {
+        String formatted = format.format(amount);
+        assertEquals(amount, format.parse(formatted), () -> locale + ": " + formatted);
+      }
+    }
+  }
+
+  @Test
+  void format() {
+    FastMoney6LocaleAmountFormat format = FastMoney6LocaleAmountFormat.of(Locale.US);
+    assertEquals("$1,234,567.89", format.format(FastMoney6.of(1234567.89d, USD)));
+    assertEquals("-$1,234,567.89", format.format(FastMoney6.of(-1234567.89d, USD)));
+    assertEquals("$0.00", format.format(FastMoney6.of(0L, USD)));
+    assertEquals("$999.00", format.format(FastMoney6.of(999L, USD)));
+    assertEquals("$1,000.00", format.format(FastMoney6.of(1000L, USD)));
+    // rounded half even to the fraction digits of the currency
+    assertEquals("$0.12", format.format(FastMoney6.of(0.125d, USD)));
+    assertEquals("$0.14", format.format(FastMoney6.of(0.135d, USD)));
+    assertEquals("$0.00", format.format(FastMoney6.of(-0.004d, USD)));
+    assertEquals("-$9,223,372,036,854.78",
+            format.format(new FastMoney6(Long.MIN_VALUE, USD)));
+  }
+
+  @Test
+  void formatLocales() {
+    FastMoney6 amount = FastMoney6.of(1234.5d, EUR);
+    FastMoney6LocaleAmountFormat germany = FastMoney6LocaleAmountFormat.of(Locale.GERMANY);
+    assertEquals("1.234,50 \u20AC", germany.format(amount).replace('\u00A0', ' '));
+
+    FastMoney6LocaleAmountFormat japan = FastMoney6LocaleAmountFormat.of(Locale.JAPAN);
+    assertEquals(FastMoney6.of(1234L, JPY), japan.parse(japan.format(FastMoney6.of(1234L, JPY))));
+  }
+
+  @Test
+  void negativeSubpattern() {
+    // the minus sign after the number
+    FastMoney6LocaleAmountFormat frisian = FastMoney6LocaleAmountFormat.of(WESTERN_FRISIAN);
+    assertEquals("\u20AC 1.234,50-", frisian.format(FastMoney6.of(-1234.5d, EUR)).replace('\u00A0', ' '));
+    assertEquals("\u20AC 1.234,50", frisian.format(FastMoney6.of(1234.5d, EUR)).replace('\u00A0', ' '));
+    assertEquals(FastMoney6.of(-1234.5d, EUR), frisian.parse("\u20AC 1.234,50-"));
+
+    // the minus sign between the currency and the number
+    FastMoney6LocaleAmountFormat swissGerman = FastMoney6LocaleAmountFormat.of(SWISS_GERMAN);
+    assertEquals("CHF-1\u2019234.50", swissGerman.format(FastMoney6.of(-1234.5d, CHF)));
+
+    FastMoney6LocaleAmountFormat parentheses = new FastMoney6LocaleAmountFormat(Locale.US,
+            DecimalFormatSymbols.getInstance(Locale.US), "\u00A4#,##0.00;(\u00A4#,##0.00)", 3);
+    assertEquals("($1,234.50)", parentheses.format(FastMoney6.of(-1234.5d, USD)));
+    assertEquals("$1,234.50", parentheses.format(FastMoney6.of(1234.5d, USD)));
+    assertEquals(FastMoney6.of(-1234.5d, USD), parentheses.parse("($1,234.50)"));
+    assertEquals(FastMoney6.of(1234.5d, USD), parentheses.parse("$1,234.50"));
+  }
+
+  @Test
+  void smallGroupingSize() {
+    FastMoney6LocaleAmountFormat format = new FastMoney6LocaleAmountFormat(Locale.US,
+            DecimalFormatSymbols.getInstance(Locale.US), "\u00A4#,#0.00", 1);
+    FastMoney6 minimum = new FastMoney6(Long.MIN_VALUE, USD);
+    assertEquals("-$9,2,2,3,3,7,2,0,3,6,8,5,4.78", format.format(minimum));
+    assertEquals(minimum, format.parse("-$9,2,2,3,3,7,2,0,3,6,8,5,4.775808"));
+  }
+
+  @Test
+  void parse() {
+    FastMoney6LocaleAmountFormat format = FastMoney6LocaleAmountFormat.of(Locale.US);
+    assertEquals(FastMoney6.of(1234.5d, USD), format.parse("$1,234.5"));
+    assertEquals(FastMoney6.of(1234.5d, USD), format.parse("$1234.50"));
+    assertEquals(FastMoney6.of(-1234.5d, USD), format.parse("-$1,234.50"));
+    assertEquals(FastMoney6.of(1.123456d, CHF), format.parse("CHF 1.123456"));
+    assertEquals(new FastMoney6(Long.MIN_VALUE, USD), format.parse("-$9223372036854.775808"));
+  }
+
+  @Test
+  void parseErrors() {
+    FastMoney6LocaleAmountFormat format = FastMoney6LocaleAmountFormat.of(Locale.US);
+    assertThrows(MonetaryParseException.class, () -> format.parse("$"));
+    assertThrows(MonetaryParseException.class, () -> format.parse("1.00"));
+    assertThrows(MonetaryParseException.class, () -> format.parse("$1.1234567"));
+    assertThrows(MonetaryParseException.class, () -> format.parse("$9223372036854.775808"));
+    assertThrows(MonetaryParseException.class, () -> format.parse("--$1.00"));
+    assertThrows(MonetaryParseException.class, () -> format.parse("XYZ 1.00"));
+    MonetaryParseException exception = assertThrows(MonetaryParseException.class, () -> format.parse("$ 1.00 USD"));
+    assertEquals(7, exception.getErrorIndex());
+  }
+
+  @Test
+  void provider() {
+    MonetaryAmountFormat format = MonetaryFormats.getAmountFormat(AmountFormatQueryBuilder.of(Locale.GERMANY)
+            .setMonetaryAmountFactory(new FastMoney6AmountFactory())
+            .setProviderName(AcmeMoneyConstants.PROVIDER_NAME)
+            .build());
+    assertSame(FastMoney6LocaleAmountFormat.of(Locale.GERMANY), format);
+    assertEquals(Locale.GERMANY, format.getContext().getLocale());
+  }
+
+  @Test
+  void availableLocales() {
+    AcmeFormatProviderSpi provider = new AcmeFormatProviderSpi();
+    assertTrue(provider.getAvailableLocales().contains(Locale.US));
+    assertTrue(provider.getAvailableLocales().contains(WESTERN_FRISIAN));
+    // Thai digits are not supported
+    assertFalse(provider.getAvailableLocales().contains(new Locale("th", "TH", "TH")));
+  }
+
+  @Test
+  void isSupported() {
+    Locale thai = new Locale("th", "TH", "TH");
+    // the second check is answered from the cache
+    for (int i = 0; i < 2; i++) {
+      assertTrue(FastMoney6LocaleAmountFormat.isSupported(Locale.US));
+      assertTrue(FastMoney6LocaleAmountFormat.isSupported(WESTERN_FRISIAN));
+      assertFalse(FastMoney6LocaleAmountFormat.isSupported(thai));
+    }
+    FastMoney6LocaleAmountFormat.of(Locale.GERMANY);
+    assertTrue(FastMoney6LocaleAmountFormat.isSupported(Locale.GERMANY));
+  }
+
+}
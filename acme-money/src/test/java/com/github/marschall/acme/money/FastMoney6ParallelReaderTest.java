@@ -0,0 +1,167 @@
+package com.github.marschall.acme.money;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.format.MonetaryParseException;
+
+import org.javamoney.moneta.CurrencyUnitBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FastMoney6ParallelReaderTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+  @TempDir
+  Path directory;
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  void setUp() {
+    this.pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.pool.shutdown();
+  }
+
+  private Path writeAmounts(int count) throws IOException {
+    StringBuilder buffer = new StringBuilder();
+    CurrencyUnit[] currencies = {CHF, EUR, USD};
+    for (int i = 0; i < count; i++) {
+      buffer.append(currencies[i % currencies.length].getCurrencyCode())
+        .append(' ')
+        .append(BigDecimal.valueOf(i * 7L - 500L, i % 5))
+        .append(i % 2 == 0 ? "\n" : "\r\n");
+    }
+    Path file = this.directory.resolve("amounts.txt");
+    Files.write(file, buffer.toString().getBytes(US_ASCII));
+    return file;
+  }
+
+  @Test
+  void readInOrder() throws IOException {
+    Path file = this.writeAmounts(1000);
+    FastMoney6Array expected = new FastMoney6Array();
+    new FastMoney6Reader(expected).read(file);
+
+    // chunk sizes smaller than a line and of several lines
+    for (long chunkSize : new long[] {1L, 7L, 100L, 1L << 20}) {
+      FastMoney6ParallelReader reader = new FastMoney6ParallelReader(this.pool, FastMoney6Reader.FAIL, chunkSize);
+      FastMoney6Array actual = reader.read(file);
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.get(i), actual.get(i));
+      }
+    }
+  }
+
+  @Test
+  void sumByCurrency() throws IOException {
+    Path file = this.writeAmounts(1000);
+    FastMoney6Array amounts = new FastMoney6Array();
+    new FastMoney6Reader(amounts).read(file);
+
+    FastMoney6ParallelReader reader = new FastMoney6ParallelReader(this.pool, FastMoney6Reader.FAIL, 64L);
+    Map<CurrencyUnit, FastMoney6> totals = reader.sumByCurrency(file);
+    assertEquals(3, totals.size());
+    assertEquals(amounts.sum(CHF), totals.get(CHF));
+    assertEquals(amounts.sum(EUR), totals.get(EUR));
+    assertEquals(amounts.sum(USD), totals.get(USD));
+
+    assertEquals(totals, new FastMoney6ParallelReader(this.pool).sumByCurrency(file));
+  }
+
+  @Test
+  void errors() throws IOException {
+    Path file = this.directory.resolve("amounts.txt");
+    Files.write(file, "CHF 1\nbad\nCHF 2\nCHF x\nCHF 3".getBytes(US_ASCII));
+
+    ConcurrentLinkedQueue<Long> errorOffsets = new ConcurrentLinkedQueue<>();
+    FastMoney6ParallelReader reader = new FastMoney6ParallelReader(this.pool, (offset, cause) -> errorOffsets.add(offset), 4L);
+    assertEquals(FastMoney6.of(6L, CHF), reader.sumByCurrency(file).get(CHF));
+    assertEquals(2, errorOffsets.size());
+    assertTrue(errorOffsets.contains(6L));
+    assertTrue(errorOffsets.contains(16L));
+
+    assertThrows(MonetaryParseException.class, () -> new FastMoney6ParallelReader(this.pool).read(file));
+  }
+
+  @Test
+  void nonIsoCurrency() throws IOException {
+    // known to Monetary but not in the ISO table
+    CurrencyUnitBuilder.of("XAP", "test").build(true);
+    Path file = this.directory.resolve("amounts.txt");
+    Files.write(file, "CHF 1\nXAP 2\nCHF 3".getBytes(US_ASCII));
+
+    for (long chunkSize : new long[] {1L, 1L << 20}) {
+      ConcurrentLinkedQueue<Long> errorOffsets = new ConcurrentLinkedQueue<>();
+      FastMoney6ParallelReader reader = new FastMoney6ParallelReader(this.pool, (offset, cause) -> errorOffsets.add(offset), chunkSize);
+      FastMoney6Array amounts = reader.read(file);
+      assertEquals(2, amounts.size());
+      assertEquals(FastMoney6.of(1L, CHF), amounts.get(0));
+      assertEquals(FastMoney6.of(3L, CHF), amounts.get(1));
+      Map<CurrencyUnit, FastMoney6> totals = reader.sumByCurrency(file);
+      assertEquals(1, totals.size());
+      assertEquals(FastMoney6.of(4L, CHF), totals.get(CHF));
+      assertEquals(2, errorOffsets.size());
+      assertTrue(errorOffsets.stream().allMatch(offset -> offset == 6L));
+    }
+
+    assertThrows(MonetaryParseException.class, () -> new FastMoney6ParallelReader(this.pool).read(file));
+  }
+
+  @Test
+  void lineTooLong() throws IOException {
+    Path file = this.directory.resolve("amounts.txt");
+    Files.write(file, "CHF 1\nCHF 1234567890123456789012345\nCHF 2\nCHF 3".getBytes(US_ASCII));
+
+    // chunks of at most 16 bytes, the second line is 31 bytes
+    for (long chunkSize : new long[] {1L, 7L, 16L}) {
+      ConcurrentLinkedQueue<Long> errorOffsets = new ConcurrentLinkedQueue<>();
+      FastMoney6ParallelReader reader = new FastMoney6ParallelReader(this.pool, (offset, cause) -> {
+        assertEquals("line too long", cause.getMessage());
+        errorOffsets.add(offset);
+      }, chunkSize, 16L);
+      FastMoney6Array amounts = reader.read(file);
+      assertEquals(3, amounts.size());
+      assertEquals(FastMoney6.of(1L, CHF), amounts.get(0));
+      assertEquals(FastMoney6.of(2L, CHF), amounts.get(1));
+      assertEquals(FastMoney6.of(3L, CHF), amounts.get(2));
+      // reported once like FastMoney6Reader does
+      assertEquals(1, errorOffsets.size());
+      assertTrue(errorOffsets.contains(6L));
+    }
+  }
+
+  @Test
+  void emptyFile() throws IOException {
+    Path file = this.directory.resolve("empty.txt");
+    Files.write(file, new byte[0]);
+    FastMoney6ParallelReader reader = new FastMoney6ParallelReader(this.pool);
+    assertTrue(reader.read(file).isEmpty());
+    assertTrue(reader.sumByCurrency(file).isEmpty());
+  }
+
+}
@@ -0,0 +1,140 @@
+package com.github.marschall.acme.money;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.UnknownCurrencyException;
+import javax.money.format.MonetaryParseException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FastMoney6ReaderTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+  // lines start at the byte offsets 0, 8, 15, 16, 21 and 27
+  private static final String TEXT = "CHF 1.5\nEUR -2\n\nbad\r\nXYZ 1\nUSD 3";
+
+  @TempDir
+  Path directory;
+
+  private static ReadableByteChannel channel(String text) {
+    return Channels.newChannel(new ByteArrayInputStream(text.getBytes(US_ASCII)));
+  }
+
+  private static void assertAmounts(FastMoney6Array array) {
+    assertEquals(3, array.size());
+    assertEquals(FastMoney6.of(new BigDecimal("1.5"), CHF), array.get(0));
+    assertEquals(FastMoney6.of(-2L, EUR), array.get(1));
+    assertEquals(FastMoney6.of(3L, USD), array.get(2));
+  }
+
+  @Test
+  void readChannel() throws IOException {
+    // buffer sizes smaller than, equal to and larger than a line
+    for (int bufferSize : new int[] {8, 9, 13, 64 * 1024}) {
+      FastMoney6Array array = new FastMoney6Array();
+      List<Long> errorOffsets = new ArrayList<>();
+      List<Long> amountOffsets = new ArrayList<>();
+      FastMoney6Reader reader = new FastMoney6Reader((currency, fastValue6, offset) -> {
+        amountOffsets.add(offset);
+        array.add(fastValue6, currency);
+      }, (offset, cause) -> errorOffsets.add(offset), bufferSize, Long.MAX_VALUE);
+
+      assertEquals(3L, reader.read(channel(TEXT)));
+      assertAmounts(array);
+      assertEquals(listOf(0L, 8L, 27L), amountOffsets);
+      assertEquals(listOf(16L, 21L), errorOffsets);
+    }
+  }
+
+  @Test
+  void readFile() throws IOException {
+    Path file = this.directory.resolve("amounts.txt");
+    Files.write(file, TEXT.getBytes(US_ASCII));
+    // mapping sizes smaller than, equal to and larger than a line
+    for (long mappingSize : new long[] {8L, 9L, 13L, 1L << 30}) {
+      FastMoney6Array array = new FastMoney6Array();
+      List<Long> errorOffsets = new ArrayList<>();
+      List<Class<?>> errorTypes = new ArrayList<>();
+      FastMoney6Reader reader = new FastMoney6Reader((currency, fastValue6, offset) -> array.add(fastValue6, currency),
+          (offset, cause) -> {
+            errorOffsets.add(offset);
+            errorTypes.add(cause.getClass());
+          }, 64, mappingSize);
+
+      assertEquals(3L, reader.read(file));
+      assertAmounts(array);
+      assertEquals(listOf(16L, 21L), errorOffsets);
+      assertEquals(MonetaryParseException.class, errorTypes.get(0));
+      assertEquals(UnknownCurrencyException.class, errorTypes.get(1));
+    }
+  }
+
+  @Test
+  void lineTooLong() throws IOException {
+    String text = "CHF 1\nCHF 1234567890123456789012345\nCHF 2\n";
+    FastMoney6Array array = new FastMoney6Array();
+    List<Long> errorOffsets = new ArrayList<>();
+    FastMoney6Reader reader = new FastMoney6Reader((currency, fastValue6, offset) -> array.add(fastValue6, currency),
+        (offset, cause) -> errorOffsets.add(offset), 8, 8L);
+    assertEquals(2L, reader.read(channel(text)));
+    assertEquals(FastMoney6.of(1L, CHF), array.get(0));
+    assertEquals(FastMoney6.of(2L, CHF), array.get(1));
+    assertEquals(listOf(6L), errorOffsets);
+
+    Path file = this.directory.resolve("amounts.txt");
+    Files.write(file, text.getBytes(US_ASCII));
+    array.clear();
+    errorOffsets.clear();
+    assertEquals(2L, reader.read(file));
+    assertEquals(FastMoney6.of(2L, CHF), array.get(1));
+    assertEquals(listOf(6L), errorOffsets);
+  }
+
+  @Test
+  void failOnError() {
+    FastMoney6Array array = new FastMoney6Array();
+    FastMoney6Reader reader = new FastMoney6Reader(array);
+    MonetaryParseException exception = assertThrows(MonetaryParseException.class, () -> reader.read(channel("CHF 1\nCHF 1.a\n")));
+    assertTrue(exception.getMessage().contains("byte offset 6"), exception.getMessage());
+    assertEquals(6, exception.getErrorIndex());
+    assertEquals(1, array.size());
+  }
+
+  @Test
+  void emptyInput() throws IOException {
+    FastMoney6Array array = new FastMoney6Array();
+    assertEquals(0L, new FastMoney6Reader(array).read(channel("")));
+    assertEquals(0L, new FastMoney6Reader(array).read(channel("\n\r\n")));
+    assertTrue(array.isEmpty());
+  }
+
+  private static List<Long> listOf(long... values) {
+    List<Long> list = new ArrayList<>(values.length);
+    for (long value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
+}
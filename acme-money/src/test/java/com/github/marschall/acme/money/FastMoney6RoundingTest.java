@@ -0,0 +1,105 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingQueryBuilder;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+class FastMoney6RoundingTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit JPY = Monetary.getCurrency("JPY");
+
+  @Test
+  void sameAsBigDecimal() {
+    Random random = new Random(42L);
+    long[] values = new long[1_000];
+    for (int i = 0; i < values.length; i++) {
+      // values with few digits have more ties
+      values[i] = i % 2 == 0 ? random.nextLong() : random.nextInt(20_000_000) - 10_000_000;
+    }
+    for (RoundingMode roundingMode : RoundingMode.values()) {
+      if (roundingMode == RoundingMode.UNNECESSARY) {
+        continue;
+      }
+      for (int scale = 0; scale <= FastMoney6.SCALE; scale++) {
+        FastMoney6Rounding rounding = FastMoney6Rounding.of(scale, roundingMode);
+        for (long value : values) {
+          BigDecimal expected = BigDecimal.valueOf(value, FastMoney6.SCALE).setScale(scale, roundingMode);
+          if ((expected.compareTo(FastMoney6.MAX_BD) > 0) || (expected.compareTo(FastMoney6.MIN_BD) < 0)) {
+            FastMoney6 amount = new FastMoney6(value, CHF);
+            assertThrows(ArithmeticException.class, () -> rounding.apply(amount));
+          } else {
+            assertEquals(FastMoney6.of(expected, CHF), rounding.apply(new FastMoney6(value, CHF)));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void alreadyRounded() {
+    FastMoney6 amount = FastMoney6.of(new BigDecimal("1.25"), CHF);
+    assertSame(amount, FastMoney6Rounding.of(2, RoundingMode.UNNECESSARY).apply(amount));
+    assertSame(amount, amount.with(FastMoney6Rounding.of(CHF)));
+    assertThrows(ArithmeticException.class, () -> FastMoney6Rounding.of(1, RoundingMode.UNNECESSARY).apply(amount));
+  }
+
+  @Test
+  void currencyDefault() {
+    FastMoney6Rounding rounding = FastMoney6Rounding.of(CHF);
+    assertEquals(2, rounding.getScale());
+    assertSame(RoundingMode.HALF_EVEN, rounding.getRoundingMode());
+    assertSame(rounding, FastMoney6Rounding.of(2, RoundingMode.HALF_EVEN));
+    assertEquals(FastMoney6.of(new BigDecimal("1.24"), CHF), rounding.apply(FastMoney6.of(new BigDecimal("1.245"), CHF)));
+
+    assertEquals(0, FastMoney6Rounding.of(JPY).getScale());
+    assertEquals(FastMoney6.of(2L, JPY), FastMoney6Rounding.of(JPY, RoundingMode.CEILING).apply(FastMoney6.of(new BigDecimal("1.000001"), JPY)));
+  }
+
+  @Test
+  void otherAmounts() {
+    MonetaryAmount rounded = Money.of(new BigDecimal("-1.255"), CHF).with(FastMoney6Rounding.of(CHF));
+    assertEquals(Money.of(new BigDecimal("-1.26"), CHF), rounded);
+  }
+
+  @Test
+  void invalidScale() {
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6Rounding.of(-1, RoundingMode.HALF_UP));
+    assertThrows(IllegalArgumentException.class, () -> FastMoney6Rounding.of(7, RoundingMode.HALF_UP));
+  }
+
+  @Test
+  void provider() {
+    MonetaryRounding rounding = Monetary.getRounding(RoundingQueryBuilder.of()
+        .setProviderName(AcmeMoneyConstants.PROVIDER_NAME)
+        .setCurrency(CHF)
+        .build());
+    assertSame(FastMoney6Rounding.of(CHF), rounding);
+
+    rounding = Monetary.getRounding(RoundingQueryBuilder.of()
+        .setProviderName(AcmeMoneyConstants.PROVIDER_NAME)
+        .setScale(3)
+        .set(RoundingMode.FLOOR)
+        .build());
+    assertSame(FastMoney6Rounding.of(3, RoundingMode.FLOOR), rounding);
+
+    // we don't replace the default rounding
+    assertFalse(Monetary.getDefaultRounding() instanceof FastMoney6Rounding);
+  }
+
+}
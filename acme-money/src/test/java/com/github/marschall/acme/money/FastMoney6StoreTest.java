@@ -0,0 +1,110 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.javamoney.moneta.CurrencyUnitBuilder;
+import org.junit.jupiter.api.Test;
+
+class FastMoney6StoreTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  @Test
+  void addAndGet() {
+    try (FastMoney6Store store = new FastMoney6Store(100L)) {
+      assertEquals(100L, store.capacity());
+      assertEquals(0L, store.size());
+      for (int i = 0; i < 100; i++) {
+        store.add(FastMoney6.of(BigDecimal.valueOf(i, 2), (i % 2) == 0 ? CHF : EUR));
+      }
+      assertThrows(IllegalStateException.class, () -> store.add(FastMoney6.of(1L, CHF)));
+      assertEquals(100L, store.size());
+      for (int i = 0; i < 100; i++) {
+        CurrencyUnit expectedCurrency = (i % 2) == 0 ? CHF : EUR;
+        assertEquals(FastMoney6.of(BigDecimal.valueOf(i, 2), expectedCurrency), store.get(i));
+        assertEquals(expectedCurrency, store.getCurrency(i));
+      }
+      store.set(42L, new FastMoney6(Long.MIN_VALUE, EUR));
+      assertEquals(new FastMoney6(Long.MIN_VALUE, EUR), store.get(42L));
+      assertThrows(IndexOutOfBoundsException.class, () -> store.get(100L));
+    }
+  }
+
+  @Test
+  void nonIsoCurrency() {
+    CurrencyUnit custom = CurrencyUnitBuilder.of("XAB", "test").build();
+    try (FastMoney6Store store = new FastMoney6Store(2L)) {
+      assertThrows(IllegalArgumentException.class, () -> store.add(FastMoney6.of(1L, custom)));
+      assertEquals(0L, store.size());
+      store.add(FastMoney6.of(1L, CHF));
+      assertThrows(IllegalArgumentException.class, () -> store.set(0L, FastMoney6.of(2L, custom)));
+      assertEquals(FastMoney6.of(1L, CHF), store.get(0L));
+    }
+  }
+
+  @Test
+  void chunks() {
+    // 7 records per chunk so that reads and writes cross chunk boundaries
+    try (FastMoney6Store store = new FastMoney6Store(50L, 7)) {
+      FastMoney6Accumulator expected = new FastMoney6Accumulator(CHF);
+      for (int i = 0; i < 50; i++) {
+        FastMoney6 amount = FastMoney6.of(BigDecimal.valueOf(i * 3L, 1), CHF);
+        store.add(amount);
+        expected.add(amount);
+      }
+      for (int i = 0; i < 50; i++) {
+        assertEquals(FastMoney6.of(BigDecimal.valueOf(i * 3L, 1), CHF), store.get(i));
+      }
+      assertEquals(expected.toFastMoney6(), store.sum(CHF));
+      assertTrue(store.sum(EUR).isZero());
+    }
+  }
+
+  @Test
+  void view() {
+    try (FastMoney6Store store = new FastMoney6Store(3L, 2)) {
+      store.add(FastMoney6.of(new BigDecimal("1.25"), CHF));
+      store.add(FastMoney6.of(0L, EUR));
+      store.add(FastMoney6.of(new BigDecimal("-2.5"), CHF));
+
+      FastMoney6Store.View view = store.view();
+      FastMoney6Accumulator accumulator = new FastMoney6Accumulator(CHF);
+      long count = 0L;
+      while (view.next()) {
+        assertEquals(count, view.getIndex());
+        assertEquals(store.get(count), view.toFastMoney6());
+        assertEquals(store.get(count).signum(), view.signum());
+        assertEquals(store.get(count).isZero(), view.isZero());
+        if (view.getCurrency().equals(CHF)) {
+          view.addTo(accumulator);
+        }
+        count += 1L;
+      }
+      assertEquals(3L, count);
+      assertEquals(FastMoney6.of(new BigDecimal("-1.25"), CHF), accumulator.toFastMoney6());
+      assertEquals(EUR, view.moveTo(1L).getCurrency());
+    }
+  }
+
+  @Test
+  void close() {
+    FastMoney6Store store = new FastMoney6Store(1L);
+    store.add(FastMoney6.of(1L, CHF));
+    store.close();
+    assertThrows(IllegalStateException.class, () -> store.get(0L));
+    assertThrows(IllegalStateException.class, () -> store.add(FastMoney6.of(1L, CHF)));
+    assertThrows(IllegalStateException.class, () -> store.sum(CHF));
+    assertFalse(store.size() > 0L);
+  }
+
+}
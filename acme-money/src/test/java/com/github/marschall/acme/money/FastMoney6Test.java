@@ -1,5 +1,6 @@
 package com.github.marschall.acme.money;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.comparesEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -12,6 +13,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -20,6 +25,7 @@ import javax.money.Monetary;
 import javax.money.MonetaryAmountFactory;
 import javax.money.MonetaryContext;
 import javax.money.NumberValue;
+import javax.money.UnknownCurrencyException;
 import javax.money.format.MonetaryParseException;
 
 import org.junit.jupiter.api.Test;
@@ -210,6 +216,108 @@ class FastMoney6Test {
     assertThrows(MonetaryParseException.class, () -> FastMoney6.parse("CHF 12345678901234"));
   }
 
+  @Test
+  void printBytes() {
+    long[] values = {0L, 1L, -1L, 9L, 10L, 999_999L, 1_000_000L, -500_000L, 1_250_000L, -99_000_001L,
+        123_456_789_012_345_678L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1L};
+    byte[] target = new byte[32];
+    ByteBuffer direct = ByteBuffer.allocateDirect(32);
+    for (long value : values) {
+      FastMoney6 amount = new FastMoney6(value, CHF);
+      String expected = amount.toString();
+
+      int end = amount.print(target, 2);
+      assertEquals(2 + expected.length(), end, expected);
+      assertEquals(expected, new String(target, 2, end - 2, US_ASCII));
+
+      direct.clear().position(1);
+      assertEquals(1 + expected.length(), amount.print(direct));
+      assertEquals(1 + expected.length(), direct.position());
+      byte[] written = new byte[expected.length()];
+      direct.flip().position(1);
+      direct.get(written);
+      assertEquals(expected, new String(written, US_ASCII));
+
+      ByteBuffer heap = ByteBuffer.wrap(new byte[40], 3, 30).slice();
+      assertEquals(expected.length(), amount.print(heap));
+      assertEquals(expected, new String(heap.array(), 3, expected.length(), US_ASCII));
+    }
+    // "CHF -9223372036854.775808" needs 25 bytes
+    FastMoney6 min = new FastMoney6(Long.MIN_VALUE, CHF);
+    assertThrows(IndexOutOfBoundsException.class, () -> min.print(new byte[24], 0));
+    assertThrows(BufferOverflowException.class, () -> min.print(ByteBuffer.allocate(24)));
+    assertThrows(ReadOnlyBufferException.class, () -> min.print(ByteBuffer.allocate(32).asReadOnlyBuffer()));
+  }
+
+  @Test
+  void parseManyDigits() {
+    String[] texts = {"CHF 12345678", "CHF 123456789", "CHF 9223372036854", "CHF -1234567890123.456789", "CHF 00000000.1"};
+    for (String text : texts) {
+      BigDecimal expected = new BigDecimal(text.substring(4));
+      assertThat(text, FastMoney6.parse(text).getNumber().numberValueExact(BigDecimal.class), comparesEqualTo(expected));
+      assertThat(text, FastMoney6.parse(text.getBytes(US_ASCII), 0, text.length()).getNumber().numberValueExact(BigDecimal.class), comparesEqualTo(expected));
+      ByteBuffer direct = ByteBuffer.allocateDirect(text.length());
+      direct.put(text.getBytes(US_ASCII)).flip();
+      assertThat(text, FastMoney6.parse(direct).getNumber().numberValueExact(BigDecimal.class), comparesEqualTo(expected));
+    }
+
+    // errors inside an eight digit block are reported at the offending character
+    String[] invalid = {"CHF 1234a678901", "CHF 1234\u0131678901", "CHF 12345678:", "CHF 1234567/9"};
+    int[] errorIndices = {8, 8, 12, 11};
+    for (int i = 0; i < invalid.length; i++) {
+      String text = invalid[i];
+      MonetaryParseException exception = assertThrows(MonetaryParseException.class, () -> FastMoney6.parse(text));
+      assertEquals(errorIndices[i], exception.getErrorIndex(), text);
+    }
+  }
+
+  @Test
+  void parseBytes() {
+    String[] texts = {"CHF 1", "CHF 1.0", "CHF -1", "CHF -1.123456", "CHF 1.123", "EUR -9223372036854.775808"};
+    for (String text : texts) {
+      FastMoney6 expected = FastMoney6.parse(text);
+      byte[] bytes = ("xx" + text + "yy").getBytes(US_ASCII);
+      assertEquals(expected, FastMoney6.parse(bytes, 2, text.length()));
+      // all paths resolve the currency the same way
+      assertSame(expected.getCurrency(), FastMoney6.parse(bytes, 2, text.length()).getCurrency());
+
+      ByteBuffer heap = ByteBuffer.wrap(bytes, 2, text.length());
+      assertEquals(expected, FastMoney6.parse(heap));
+      assertEquals(2, heap.position());
+      assertEquals(expected, FastMoney6.parse(heap.slice()));
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes);
+      direct.position(2).limit(2 + text.length());
+      assertEquals(expected, FastMoney6.parse(direct));
+      assertEquals(expected, FastMoney6.parse(heap.asReadOnlyBuffer()));
+    }
+  }
+
+  @Test
+  void parseBytesError() {
+    String[] texts = {"CHF", "CHF ", "CHF a", "CHF -", "CHF .1", "CHF 1.", "CHF 1.a", "CHF 1.1234567", "CHF 12345678901234"};
+    for (String text : texts) {
+      MonetaryParseException expected = assertThrows(MonetaryParseException.class, () -> FastMoney6.parse(text));
+      byte[] bytes = ("xx" + text + "yy").getBytes(US_ASCII);
+      MonetaryParseException actual = assertThrows(MonetaryParseException.class, () -> FastMoney6.parse(bytes, 2, text.length()));
+      assertEquals(expected.getErrorIndex(), actual.getErrorIndex(), text);
+      assertEquals(expected.getInput(), actual.getInput(), text);
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes);
+      direct.position(2).limit(2 + text.length());
+      actual = assertThrows(MonetaryParseException.class, () -> FastMoney6.parse(direct));
+      assertEquals(expected.getErrorIndex(), actual.getErrorIndex(), text);
+      assertEquals(expected.getInput(), actual.getInput(), text);
+    }
+    assertThrows(UnknownCurrencyException.class, () -> FastMoney6.parse("XYZ 1"));
+    assertThrows(UnknownCurrencyException.class, () -> FastMoney6.parse("XYZ 1".getBytes(US_ASCII), 0, 5));
+    assertThrows(UnknownCurrencyException.class, () -> FastMoney6.parse("chf 1".getBytes(US_ASCII), 0, 5));
+    assertThrows(UnknownCurrencyException.class, () -> FastMoney6.parse(ByteBuffer.wrap("CHFF 1".getBytes(US_ASCII)).asReadOnlyBuffer()));
+    assertThrows(IndexOutOfBoundsException.class, () -> FastMoney6.parse(new byte[4], 2, 3));
+  }
+
   @Test
   void fromFractionMoney() {
     FractionMoney fractionMoney = FractionMoney.of(3, 4, CHF);
@@ -473,6 +581,62 @@ class FastMoney6Test {
     assertTrue(greater.isGreaterThanOrEqualTo(smaller));
   }
 
+  @Test
+  void multiplyFastNumber() {
+    FastMoney6 money = FastMoney6.of(new BigDecimal("10.25"), CHF);
+    FastNumber6 onePointFive = FastNumber6.parse("1.5");
+    assertEquals(FastMoney6.of(new BigDecimal("15.375"), CHF), money.multiply(onePointFive));
+    assertEquals(FastMoney6.of(new BigDecimal("15.375"), CHF), money.multiply(FastNumberValue6.parse("1.5")));
+    assertEquals(FastMoney6.of(new BigDecimal("-15.375"), CHF), money.multiply(FastNumber6.parse("-1.5")));
+    assertSame(money, money.multiply(FastNumber6.parse("1")));
+  }
+
+  @Test
+  void multiplyFastNumberHalfEven() {
+    FastMoney6 money = FastMoney6.of(new BigDecimal("0.000005"), CHF);
+    assertEquals(FastMoney6.of(new BigDecimal("0.000002"), CHF), money.multiply(FastNumber6.parse("0.5")));
+    assertEquals(FastMoney6.of(new BigDecimal("-0.000002"), CHF), money.negate().multiply(FastNumber6.parse("0.5")));
+
+    money = FastMoney6.of(new BigDecimal("0.000003"), CHF);
+    assertEquals(FastMoney6.of(new BigDecimal("0.000002"), CHF), money.multiply(FastNumber6.parse("0.5")));
+    assertEquals(FastMoney6.of(new BigDecimal("-0.000002"), CHF), money.negate().multiply(FastNumber6.parse("0.5")));
+  }
+
+  @Test
+  void multiplyFastNumberLarge() {
+    // the unscaled product overflows a long but the result fits
+    FastMoney6 money = FastMoney6.of(new BigDecimal("1111111111111.111111"), CHF);
+    // 1666666666666.6666665 is a tie and rounds to even
+    assertEquals(FastMoney6.of(new BigDecimal("1666666666666.666666"), CHF), money.multiply(FastNumber6.parse("1.5")));
+
+    FastMoney6 max = new FastMoney6(Long.MAX_VALUE, CHF);
+    assertEquals(new FastMoney6(Long.MAX_VALUE / 2L + 1L, CHF), max.multiply(FastNumber6.parse("0.5")));
+    assertThrows(ArithmeticException.class, () -> max.multiply(FastNumber6.parse("1.000001")));
+
+    FastMoney6 min = new FastMoney6(Long.MIN_VALUE, CHF);
+    assertEquals(min, min.multiply(FastNumber6.parse("1")));
+    assertThrows(ArithmeticException.class, () -> min.multiply(FastNumber6.parse("-1")));
+  }
+
+  @Test
+  void multiplyFastNumberMatchesBigDecimal() {
+    long[] values = {0L, 1L, -1L, 5L, 999_999L, 1_000_000L, 1_500_000L, 123_456_789_012L,
+        Long.MAX_VALUE / 3L, Long.MAX_VALUE, Long.MIN_VALUE + 1L};
+    String[] multiplicands = {"1", "-1", "3", "1.5", "-0.7", "0.000001", "0.5", "7.000003", "1000000", "123456.789012"};
+    for (long value : values) {
+      FastMoney6 money = new FastMoney6(value, CHF);
+      for (String multiplicand : multiplicands) {
+        FastNumber6 fastNumber = FastNumber6.parse(multiplicand);
+        BigDecimal expected = DecimalMath.bigDecimal(value).multiply(new BigDecimal(multiplicand)).setScale(FastMoney6.SCALE, RoundingMode.HALF_EVEN);
+        if ((expected.compareTo(FastMoney6.MAX_BD) > 0) || (expected.compareTo(FastMoney6.MIN_BD) < 0)) {
+          assertThrows(ArithmeticException.class, () -> money.multiply(fastNumber));
+        } else {
+          assertThat(money.multiply(fastNumber).getNumber().numberValueExact(BigDecimal.class), comparesEqualTo(expected));
+        }
+      }
+    }
+  }
+
   @Test
   void multiplyFraction() {
     FastMoney6 money = FastMoney6.of(BigDecimal.valueOf(5000000000000L), CHF);
@@ -549,6 +713,94 @@ class FastMoney6Test {
     assertEquals(quotient, FastMoney6.of(3L, CHF));
   }
 
+  @Test
+  void divideFastNumber() {
+    FastMoney6 money = FastMoney6.of(BigDecimal.ONE, CHF);
+    FastNumber6 onePointFive = FastNumber6.parse("1.5");
+    assertEquals(FastMoney6.of(new BigDecimal("0.666667"), CHF), money.divide(onePointFive));
+    assertEquals(FastMoney6.of(new BigDecimal("0.666667"), CHF), money.divide(FastNumberValue6.parse("1.5")));
+    assertEquals(FastMoney6.of(new BigDecimal("-0.666667"), CHF), money.negate().divide(onePointFive));
+    assertEquals(FastMoney6.of(new BigDecimal("-0.666667"), CHF), money.divide(FastNumber6.parse("-1.5")));
+    assertThrows(ArithmeticException.class, () -> money.divide(FastNumber6.parse("0")));
+  }
+
+  @Test
+  void divideHalfEven() {
+    FastMoney6 money = FastMoney6.of(new BigDecimal("0.000005"), CHF);
+    assertEquals(FastMoney6.of(new BigDecimal("0.000002"), CHF), money.divide(2L));
+    assertEquals(FastMoney6.of(new BigDecimal("0.000002"), CHF), money.divide(Long.valueOf(2L)));
+    assertEquals(FastMoney6.of(new BigDecimal("0.000002"), CHF), money.divide(Integer.valueOf(2)));
+    assertEquals(FastMoney6.of(new BigDecimal("-0.000002"), CHF), money.divide(Integer.valueOf(-2)));
+
+    money = FastMoney6.of(new BigDecimal("0.000007"), CHF);
+    assertEquals(FastMoney6.of(new BigDecimal("0.000004"), CHF), money.divide(Long.valueOf(2L)));
+    assertEquals(FastMoney6.of(new BigDecimal("-0.000004"), CHF), money.negate().divide(Long.valueOf(2L)));
+  }
+
+  @Test
+  void divideMatchesBigDecimal() {
+    long[] values = {0L, 1L, -1L, 5L, 999_999L, 1_000_000L, 1_500_000L, 123_456_789_012L,
+        Long.MAX_VALUE / 3L, Long.MAX_VALUE, Long.MIN_VALUE + 1L};
+    String[] divisors = {"1", "-1", "3", "1.5", "-0.7", "0.000001", "0.0000001", "7.000003", "1000000", "123456.789012"};
+    for (long value : values) {
+      FastMoney6 money = new FastMoney6(value, CHF);
+      for (String divisor : divisors) {
+        BigDecimal bigDecimalDivisor = new BigDecimal(divisor);
+        BigDecimal expected = DecimalMath.bigDecimal(value).divide(bigDecimalDivisor, FastMoney6.SCALE, RoundingMode.HALF_EVEN);
+        if ((expected.compareTo(FastMoney6.MAX_BD) > 0) || (expected.compareTo(FastMoney6.MIN_BD) < 0)) {
+          assertThrows(ArithmeticException.class, () -> money.divide(bigDecimalDivisor));
+        } else {
+          assertThat(money.divide(bigDecimalDivisor).getNumber().numberValueExact(BigDecimal.class), comparesEqualTo(expected));
+          if (bigDecimalDivisor.scale() <= FastMoney6.SCALE) {
+            assertThat(money.divide(FastNumber6.parse(divisor)).getNumber().numberValueExact(BigDecimal.class), comparesEqualTo(expected));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void divideOverflow() {
+    FastMoney6 max = new FastMoney6(Long.MAX_VALUE, CHF);
+    assertThrows(ArithmeticException.class, () -> max.divide(FastNumber6.parse("0.5")));
+    assertThrows(ArithmeticException.class, () -> max.divide(new BigDecimal("0.5")));
+
+    FastMoney6 min = new FastMoney6(Long.MIN_VALUE, CHF);
+    assertEquals(min, min.divide(FastNumber6.parse("1")));
+    assertThrows(ArithmeticException.class, () -> min.divide(FastNumber6.parse("-1")));
+    assertThrows(ArithmeticException.class, () -> min.divide(Long.valueOf(-1L)));
+    assertEquals(new FastMoney6(Long.MIN_VALUE / 2L, CHF), min.divide(Long.valueOf(2L)));
+  }
+
+  @Test
+  void divideAndRemainderFastNumber() {
+    FastMoney6 money = FastMoney6.of(new BigDecimal("10.5"), CHF);
+    FastMoney6[] divideAndRemainder = money.divideAndRemainder(FastNumber6.parse("3"));
+    assertEquals(FastMoney6.of(3L, CHF), divideAndRemainder[0]);
+    assertEquals(FastMoney6.of(new BigDecimal("1.5"), CHF), divideAndRemainder[1]);
+
+    divideAndRemainder = money.negate().divideAndRemainder(Long.valueOf(4L));
+    assertEquals(FastMoney6.of(-2L, CHF), divideAndRemainder[0]);
+    assertEquals(FastMoney6.of(new BigDecimal("-2.5"), CHF), divideAndRemainder[1]);
+
+    divideAndRemainder = money.divideAndRemainder(BigDecimal.ONE);
+    assertEquals(FastMoney6.of(10L, CHF), divideAndRemainder[0]);
+    assertEquals(FastMoney6.of(new BigDecimal("0.5"), CHF), divideAndRemainder[1]);
+
+    divideAndRemainder = money.divideAndRemainder(Long.valueOf(Long.MAX_VALUE));
+    assertTrue(divideAndRemainder[0].isZero());
+    assertEquals(money, divideAndRemainder[1]);
+  }
+
+  @Test
+  void divideToIntegralValueFastNumber() {
+    FastMoney6 money = FastMoney6.of(new BigDecimal("10.5"), CHF);
+    assertEquals(FastMoney6.of(7L, CHF), money.divideToIntegralValue(FastNumber6.parse("1.5")));
+    assertEquals(FastMoney6.of(-7L, CHF), money.divideToIntegralValue(new BigDecimal("-1.5")));
+    assertEquals(FastMoney6.of(10L, CHF), money.divideToIntegralValue(Integer.valueOf(1)));
+    assertThrows(ArithmeticException.class, () -> money.divideToIntegralValue(FastNumber6.parse("0")));
+  }
+
   private static void validateContext(MonetaryContext context) {
     assertEquals(19, context.getPrecision());
     assertEquals(6, context.getMaxScale());
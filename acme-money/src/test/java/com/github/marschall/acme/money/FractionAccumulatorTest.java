@@ -0,0 +1,94 @@
+package com.github.marschall.acme.money;
+
+import static com.github.marschall.acme.money.HasValue.hasValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
+
+import org.junit.jupiter.api.Test;
+
+class FractionAccumulatorTest {
+
+  private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+  private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+  @Test
+  void sum() {
+    FractionAccumulator accumulator = new FractionAccumulator(CHF);
+    assertTrue(accumulator.isZero());
+    MonetaryAmount expected = FractionMoney.of(0L, 1L, CHF);
+    long[] denominators = {100L, 1_000L, 1_000_000L, 3L, 7L};
+    for (int i = 0; i < 1_000; i++) {
+      FractionMoney share = FractionMoney.of(i, denominators[i % denominators.length], CHF);
+      accumulator.add(share);
+      expected = expected.add(share);
+    }
+    assertFalse(accumulator.isZero());
+    assertEquals(expected, accumulator.toFractionMoney());
+    assertSame(CHF, accumulator.getCurrency());
+  }
+
+  @Test
+  void commonDenominators() {
+    FractionAccumulator accumulator = new FractionAccumulator(CHF);
+    for (int i = 0; i < 1_000; i++) {
+      accumulator.add(FractionMoney.of(1L, 100L, CHF));
+      accumulator.add(FractionMoney.of(1L, 1_000L, CHF));
+      accumulator.add(FractionMoney.of(1L, 1_000_000L, CHF));
+    }
+    assertThat(accumulator.toFractionMoney(), hasValue(11_001L, 1_000L));
+  }
+
+  @Test
+  void operations() {
+    FractionAccumulator accumulator = new FractionAccumulator(FractionMoney.of(10L, 1L, CHF));
+    assertSame(accumulator, accumulator.add(1L));
+    assertThat(accumulator.toFractionMoney(), hasValue(11L, 1L));
+
+    accumulator.subtract(FractionMoney.of(1L, 2L, CHF));
+    assertThat(accumulator.toFractionMoney(), hasValue(21L, 2L));
+
+    accumulator.add(Fraction.of(1L, 3L)).subtract(Fraction.of(5L, 6L)).subtract(2L);
+    assertThat(accumulator.toFractionMoney(), hasValue(8L, 1L));
+
+    accumulator.reset();
+    assertTrue(accumulator.isZero());
+    assertThat(accumulator.toFractionMoney(), hasValue(0L, 1L));
+  }
+
+  @Test
+  void reduceBeforeOverflow() {
+    FractionAccumulator accumulator = new FractionAccumulator(CHF);
+    // 2/2, not reduced
+    accumulator.add(Fraction.of(1L, 2L)).add(Fraction.of(1L, 2L));
+    // 2/2 + (MAX - 6)/5 overflows, 1/1 + (MAX - 6)/5 does not
+    accumulator.add(Fraction.of(Long.MAX_VALUE - 6L, 5L));
+    assertThat(accumulator.toFractionMoney(), hasValue(Long.MAX_VALUE - 1L, 5L));
+  }
+
+  @Test
+  void overflow() {
+    FractionAccumulator accumulator = new FractionAccumulator(FractionMoney.of(Long.MAX_VALUE, 1L, CHF));
+    assertThrows(ArithmeticException.class, () -> accumulator.add(1L));
+    assertThrows(ArithmeticException.class, () -> accumulator.add(Fraction.of(1L, 2L)));
+    // unchanged after overflow
+    assertThat(accumulator.toFractionMoney(), hasValue(Long.MAX_VALUE, 1L));
+  }
+
+  @Test
+  void currencyMismatch() {
+    FractionAccumulator accumulator = new FractionAccumulator(CHF);
+    assertThrows(MonetaryException.class, () -> accumulator.add(FractionMoney.of(1L, 1L, EUR)));
+    assertThrows(MonetaryException.class, () -> accumulator.subtract(FractionMoney.of(1L, 1L, EUR)));
+  }
+
+}
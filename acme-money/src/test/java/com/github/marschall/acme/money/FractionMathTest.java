@@ -5,6 +5,9 @@ import static com.github.marschall.acme.money.FractionMath.toLongExact;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.math.BigInteger;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 class FractionMathTest {
@@ -34,6 +37,75 @@ class FractionMathTest {
 
     assertEquals(1L, gcd(101L, 23L));
     assertEquals(1L, gcd(23L, 101L));
+
+    assertEquals(1L, gcd(1_000_000_000_000_000_000L, 3L));
+    assertEquals(3L, gcd(3L, 999_999_999_999_999_999L));
+    assertEquals(1L << 62, gcd(1L << 62, 1L << 62));
+    assertEquals(1L << 20, gcd(1L << 62, 3L << 20));
+    assertEquals(1L, gcd(Long.MAX_VALUE, Long.MAX_VALUE - 1L));
+    assertEquals(Long.MAX_VALUE, gcd(-Long.MAX_VALUE, Long.MAX_VALUE));
+    assertEquals(5L, gcd(0L, 5L));
+    assertEquals(5L, gcd(-5L, 0L));
+    assertEquals(6L, gcd(-12L, -18L));
+
+    assertThrows(ArithmeticException.class, () -> gcd(Long.MIN_VALUE, 3L));
+    assertThrows(ArithmeticException.class, () -> gcd(3L, Long.MIN_VALUE));
+  }
+
+  @Test
+  void gcdMatchesEuclid() {
+    long[] values = {1L, 2L, 3L, 6L, 7L, 12L, 64L, 96L, 420L, 1_000_000L, 999_983L, 1L << 40, Long.MAX_VALUE};
+    for (long k : values) {
+      for (long m : values) {
+        assertEquals(euclid(k, m), gcd(k, m), () -> "gcd(" + k + ", " + m + ")");
+        assertEquals(euclid(k, m), gcd(-k, m), () -> "gcd(" + -k + ", " + m + ")");
+      }
+    }
+  }
+
+  @Test
+  void addMatchesBigInteger() {
+    Random random = new Random(42L);
+    for (int i = 0; i < 10_000; i++) {
+      // mix of small, shared power of two and full range values
+      long d1 = randomDenominator(random);
+      long d2 = randomDenominator(random);
+      Fraction f1 = Fraction.of(random.nextLong() >> random.nextInt(64), d1);
+      Fraction f2 = Fraction.of(random.nextLong() >> random.nextInt(64), d2);
+
+      BigInteger n = BigInteger.valueOf(f1.numerator).multiply(BigInteger.valueOf(f2.denominator))
+          .add(BigInteger.valueOf(f2.numerator).multiply(BigInteger.valueOf(f1.denominator)));
+      BigInteger d = BigInteger.valueOf(f1.denominator).multiply(BigInteger.valueOf(f2.denominator));
+      BigInteger gcd = n.gcd(d);
+      n = n.divide(gcd);
+      d = d.divide(gcd);
+      if (n.bitLength() < 64 && d.bitLength() < 64) {
+        Fraction sum = FractionMath.add(f1.numerator, f1.denominator, f2.numerator, f2.denominator);
+        assertEquals(n.longValueExact(), sum.numerator, () -> f1 + " + " + f2);
+        assertEquals(d.longValueExact(), sum.denominator, () -> f1 + " + " + f2);
+      } else {
+        assertThrows(ArithmeticException.class, () -> FractionMath.add(f1.numerator, f1.denominator, f2.numerator, f2.denominator));
+      }
+      int expectedCompare = BigInteger.valueOf(f1.numerator).multiply(BigInteger.valueOf(f2.denominator))
+          .compareTo(BigInteger.valueOf(f2.numerator).multiply(BigInteger.valueOf(f1.denominator)));
+      assertEquals(expectedCompare, FractionMath.compare(f1.numerator, f1.denominator, f2.numerator, f2.denominator));
+    }
+  }
+
+  private static long randomDenominator(Random random) {
+    long d = (random.nextLong() >>> random.nextInt(64)) << random.nextInt(8);
+    return d <= 0L ? 1L : d;
+  }
+
+  private static long euclid(long k, long m) {
+    long a = Math.abs(k);
+    long b = Math.abs(m);
+    while (b != 0L) {
+      long t = a % b;
+      a = b;
+      b = t;
+    }
+    return a;
   }
 
 }
@@ -12,9 +12,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
+import javax.money.MonetaryAmount;
 import javax.money.MonetaryException;
 
 import org.junit.jupiter.api.Test;
@@ -80,6 +82,39 @@ class FractionMoneyTest {
     assertThat(money.multiply(2.0d), hasValue(1L, 2L));
   }
 
+  @Test
+  void addMixedDenominators() {
+    // the product of the denominators does not fit into a long
+    long d1 = 3L << 40;
+    long d2 = 5L << 40;
+    FractionMoney money = FractionMoney.of(1L, d1, CHF);
+    assertThat(money.add(FractionMoney.of(1L, d2, CHF)), hasValue(1L, 15L << 37));
+    assertThat(money.subtract(FractionMoney.of(1L, d2, CHF)), hasValue(1L, 15L << 39));
+
+    // the intermediate numerator does not fit into a long, the reduced one does
+    money = FractionMoney.of(Long.MAX_VALUE - 1L, 3L, CHF);
+    assertThat(money.add(FractionMoney.of(-(Long.MAX_VALUE - 4L), 3L, CHF)), hasValue(1L, 1L));
+    money = FractionMoney.of(Long.MAX_VALUE, 2L, CHF);
+    assertThat(money.add(FractionMoney.of(Long.MAX_VALUE, 2L, CHF)), hasValue(Long.MAX_VALUE, 1L));
+
+    // the reduced result does not fit
+    FractionMoney large = FractionMoney.of(Long.MAX_VALUE, 1L, CHF);
+    assertThrows(ArithmeticException.class, () -> large.add(FractionMoney.of(1L, 1L, CHF)));
+    FractionMoney small = FractionMoney.of(1L, Long.MAX_VALUE, CHF);
+    assertThrows(ArithmeticException.class, () -> small.add(FractionMoney.of(1L, Long.MAX_VALUE - 1L, CHF)));
+  }
+
+  @Test
+  void multiplyCrossReduced() {
+    FractionMoney money = FractionMoney.of(Long.MAX_VALUE, 3L, CHF);
+    assertThat(money.multiply(3L), hasValue(Long.MAX_VALUE, 1L));
+    assertThat(money.divide(Long.MAX_VALUE), hasValue(1L, 3L));
+    assertThat(money.divide(-Long.MAX_VALUE), hasValue(-1L, 3L));
+    assertThat(money.multiply(Fraction.of(6L, Long.MAX_VALUE)), hasValue(2L, 1L));
+    assertThat(money.multiply(0L), hasValue(0L, 1L));
+    assertThrows(ArithmeticException.class, () -> money.divide(0L));
+  }
+
   @Test
   void multiplyNotExact() {
     long l = 4037000499L;
@@ -116,6 +151,17 @@ class FractionMoneyTest {
     assertThrows(MonetaryException.class, () -> chf.isEqualTo(eur));
   }
 
+  @Test
+  void compareLarge() {
+    FractionMoney a = FractionMoney.of(Long.MAX_VALUE, Long.MAX_VALUE - 1L, CHF);
+    FractionMoney b = FractionMoney.of(Long.MAX_VALUE - 1L, Long.MAX_VALUE - 2L, CHF);
+    // (n + 1) / n decreases with n
+    assertTrue(a.isLessThan(b));
+    assertTrue(b.isGreaterThan(a));
+    assertTrue(a.negate().isGreaterThan(b.negate()));
+    assertTrue(a.isEqualTo(a));
+  }
+
   @Test
   void compareToFractionMoney() {
     FractionMoney smaller = FractionMoney.of(1, 2, CHF);
@@ -223,4 +269,92 @@ class FractionMoneyTest {
     assertEquals(FractionMoney.of(3, 10, CHF), money.remainder(Fraction.of(3L, 2L)));
   }
 
+  @Test
+  void remainderDouble() {
+    FractionMoney money = FractionMoney.of(33, 10, CHF); // 3.3
+    assertEquals(FractionMoney.of(3, 10, CHF), money.remainder(1.5d));
+    assertEquals(FractionMoney.of(13, 10, CHF), money.remainder(2.0d));
+    assertEquals(FractionMoney.of(-13, 10, CHF), money.negate().remainder(-2.0d));
+    assertThrows(ArithmeticException.class, () -> money.remainder(0.0d));
+  }
+
+  @Test
+  void divideToIntegralValue() {
+    FractionMoney money = FractionMoney.of(33, 10, CHF); // 3.3
+    assertEquals(FractionMoney.of(2, 1, CHF), money.divideToIntegralValue(Fraction.of(3L, 2L)));
+    assertEquals(FractionMoney.of(2, 1, CHF), money.divideToIntegralValue(1.5d));
+    assertEquals(FractionMoney.of(1, 1, CHF), money.divideToIntegralValue(3L));
+    assertEquals(FractionMoney.of(0, 1, CHF), money.divideToIntegralValue(4L));
+    assertEquals(FractionMoney.of(-1, 1, CHF), money.divideToIntegralValue(-3L));
+    assertEquals(FractionMoney.of(-1, 1, CHF), money.negate().divideToIntegralValue(3L));
+    assertThrows(ArithmeticException.class, () -> money.divideToIntegralValue(0L));
+  }
+
+  @Test
+  void divideAndRemainderSign() {
+    long[] dividends = {33L, -33L, 30L, -30L, 0L};
+    long[][] divisors = {{3L, 2L}, {-3L, 2L}, {7L, 1L}, {-7L, 1L}, {1L, 3L}};
+    for (long dividend : dividends) {
+      FractionMoney money = FractionMoney.of(dividend, 10L, CHF);
+      BigDecimal decimal = BigDecimal.valueOf(dividend, 1);
+      for (long[] divisor : divisors) {
+        MonetaryAmount[] result = money.divideAndRemainder(Fraction.of(divisor[0], divisor[1]));
+        BigDecimal[] expected = decimal.multiply(BigDecimal.valueOf(divisor[1]))
+            .divideAndRemainder(BigDecimal.valueOf(divisor[0]));
+        assertThat(result[0].getNumber().numberValue(BigDecimal.class), comparesEqualTo(expected[0]));
+        // the remainder is scaled by the divisor denominator
+        assertEquals(FractionMoney.of(dividend * divisor[1] - expected[0].longValueExact() * divisor[0] * 10L, 10L * divisor[1], CHF), result[1]);
+        assertEquals(result[0], money.divideToIntegralValue(Fraction.of(divisor[0], divisor[1])));
+        assertEquals(result[1], money.remainder(Fraction.of(divisor[0], divisor[1])));
+      }
+    }
+  }
+
+  @Test
+  void divideAndRemainderLong() {
+    FractionMoney money = FractionMoney.of(11, 2, CHF); // 5.5
+    MonetaryAmount[] result = money.divideAndRemainder(2L);
+    assertEquals(FractionMoney.of(2, 1, CHF), result[0]);
+    assertEquals(FractionMoney.of(3, 2, CHF), result[1]);
+
+    result = money.divideAndRemainder(2.0d);
+    assertEquals(FractionMoney.of(2, 1, CHF), result[0]);
+    assertEquals(FractionMoney.of(3, 2, CHF), result[1]);
+    assertThrows(ArithmeticException.class, () -> money.divideAndRemainder(0L));
+  }
+
+  @Test
+  void divideAndRemainderWide() {
+    // the scaled dividend does not fit into a long but the result does
+    assertDivideAndRemainder(Long.MAX_VALUE, 3L, 5L, 7L);
+    assertDivideAndRemainder(Long.MIN_VALUE + 1L, 3L, 5L, 7L);
+    assertDivideAndRemainder(Long.MAX_VALUE, 3L, -5L, 7L);
+    // the scaled divisor does not fit into a long
+    assertDivideAndRemainder(Long.MAX_VALUE - 1L, Long.MAX_VALUE, Long.MAX_VALUE - 2L, 2L);
+    assertDivideAndRemainder(Long.MAX_VALUE, 7L, Long.MAX_VALUE - 2L, 3L);
+  }
+
+  private static void assertDivideAndRemainder(long n1, long d1, long n2, long d2) {
+    FractionMoney money = FractionMoney.of(n1, d1, CHF);
+    Fraction divisor = Fraction.of(n2, d2);
+
+    BigInteger dividendNumerator = BigInteger.valueOf(n1).multiply(BigInteger.valueOf(d2));
+    BigInteger divisorNumerator = BigInteger.valueOf(n2).multiply(BigInteger.valueOf(d1));
+    BigInteger quotient = dividendNumerator.divide(divisorNumerator);
+    // n1 / d1 - q * n2 / d2
+    BigInteger denominator = BigInteger.valueOf(d1).multiply(BigInteger.valueOf(d2));
+    BigInteger remainderNumerator = dividendNumerator.subtract(quotient.multiply(divisorNumerator));
+    BigInteger gcd = remainderNumerator.gcd(denominator);
+    if (gcd.signum() != 0) {
+      remainderNumerator = remainderNumerator.divide(gcd);
+      denominator = denominator.divide(gcd);
+    }
+
+    MonetaryAmount[] result = money.divideAndRemainder(divisor);
+    assertEquals(FractionMoney.of(quotient.longValueExact(), 1L, CHF), result[0]);
+    assertEquals(FractionMoney.of(remainderNumerator.longValueExact(), denominator.longValueExact(), CHF), result[1]);
+    assertEquals(result[0], money.divideToIntegralValue(divisor));
+    assertEquals(result[1], money.remainder(divisor));
+  }
+
 }
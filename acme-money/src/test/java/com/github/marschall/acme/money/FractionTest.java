@@ -74,6 +74,12 @@ class FractionTest {
     assertEquals(0, f4.compareTo(f4));
     assertEquals(1, f4.compareTo(f5));
     assertEquals(-1, f5.compareTo(f4));
+
+    Fraction large1 = Fraction.of(Long.MAX_VALUE, Long.MAX_VALUE - 1L);
+    Fraction large2 = Fraction.of(Long.MAX_VALUE - 1L, Long.MAX_VALUE - 2L);
+    assertEquals(-1, large1.compareTo(large2));
+    assertEquals(1, large2.compareTo(large1));
+    assertEquals(0, large1.compareTo(Fraction.of(Long.MAX_VALUE, Long.MAX_VALUE - 1L)));
   }
 
   @Test
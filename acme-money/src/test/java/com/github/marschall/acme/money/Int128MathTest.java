@@ -0,0 +1,96 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class Int128MathTest {
+
+  private static final BigInteger TWO_TO_64 = BigInteger.ONE.shiftLeft(64);
+
+  private static final long[] INTERESTING = {
+      0L, 1L, -1L, 2L, -2L, 10L, 1_000_000L, -1_000_000L,
+      Integer.MAX_VALUE, Integer.MIN_VALUE, 0xFFFFFFFFL, 0x1_0000_0000L,
+      Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1L, Long.MIN_VALUE + 1L
+  };
+
+  @Test
+  void multiplyHigh() {
+    for (long x : INTERESTING) {
+      for (long y : INTERESTING) {
+        assertEquals(expectedMultiplyHigh(x, y), Int128Math.multiplyHigh(x, y), () -> x + " * " + y);
+      }
+    }
+    Random random = new Random(42L);
+    for (int i = 0; i < 10_000; i++) {
+      long x = random.nextLong();
+      long y = random.nextLong();
+      assertEquals(expectedMultiplyHigh(x, y), Int128Math.multiplyHigh(x, y), () -> x + " * " + y);
+    }
+  }
+
+  @Test
+  void unsignedMultiplyHigh() {
+    for (long x : INTERESTING) {
+      for (long y : INTERESTING) {
+        assertEquals(expectedUnsignedMultiplyHigh(x, y), Int128Math.unsignedMultiplyHigh(x, y), () -> x + " * " + y);
+      }
+    }
+    Random random = new Random(42L);
+    for (int i = 0; i < 10_000; i++) {
+      long x = random.nextLong();
+      long y = random.nextLong();
+      assertEquals(expectedUnsignedMultiplyHigh(x, y), Int128Math.unsignedMultiplyHigh(x, y), () -> x + " * " + y);
+    }
+  }
+
+  @Test
+  void divideUnsigned() {
+    Random random = new Random(42L);
+    for (int i = 0; i < 10_000; i++) {
+      long divisor = random.nextLong();
+      if (divisor == 0L) {
+        continue;
+      }
+      // make the high word smaller than the divisor so the quotient fits
+      long high = Long.remainderUnsigned(random.nextLong(), divisor);
+      long low = random.nextLong();
+      BigInteger dividend = unsigned(high).shiftLeft(64).or(unsigned(low));
+      BigInteger expected = dividend.divide(unsigned(divisor));
+      assertEquals(expected.longValue(), Int128Math.divideUnsigned(high, low, divisor),
+          () -> dividend + " / " + unsigned(divisor));
+    }
+  }
+
+  @Test
+  void divideUnsignedSmallDivisor() {
+    assertEquals(1_000_000L, Int128Math.divideUnsigned(0L, 1_000_000_000_000L, 1_000_000L));
+    assertEquals(-1L, Int128Math.divideUnsigned(0L, -1L, 1L));
+    // (2^64 + 2) / 2
+    assertEquals(Long.MIN_VALUE + 1L, Int128Math.divideUnsigned(1L, 2L, 2L));
+    // (2^64 * 999999 + 0) / 1000000
+    long high = 999_999L;
+    BigInteger expected = BigInteger.valueOf(high).shiftLeft(64).divide(BigInteger.valueOf(1_000_000L));
+    assertEquals(expected.longValue(), Int128Math.divideUnsigned(high, 0L, 1_000_000L));
+  }
+
+  private static long expectedMultiplyHigh(long x, long y) {
+    return BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)).shiftRight(64).longValue();
+  }
+
+  private static long expectedUnsignedMultiplyHigh(long x, long y) {
+    return unsigned(x).multiply(unsigned(y)).shiftRight(64).longValue();
+  }
+
+  private static BigInteger unsigned(long value) {
+    BigInteger bigInteger = BigInteger.valueOf(value);
+    if (value < 0L) {
+      return bigInteger.add(TWO_TO_64);
+    }
+    return bigInteger;
+  }
+
+}
@@ -1,9 +1,20 @@
 package com.github.marschall.acme.money;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -15,6 +26,7 @@ import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class IsoCurrencyProviderTest {
 
@@ -85,6 +97,110 @@ class IsoCurrencyProviderTest {
     assertTrue(0 > acmeEur.compareTo(acmeUsd));
   }
 
+  @Test
+  void lookup() {
+    CurrencyUnit chf = getAcmeCurrency("CHF");
+    short compressed = IsoCurrencyCompressor.compressCurrencyCode("CHF");
+    assertSame(chf, IsoCurrencyProvider.getCurrency(compressed));
+    assertSame(chf, IsoCurrencyProvider.findCurrency(compressed));
+    assertNull(IsoCurrencyProvider.findCurrency(IsoCurrencyCompressor.compressCurrencyCode("AAA")));
+    assertNull(IsoCurrencyProvider.findCurrency((short) -1));
+    assertNull(IsoCurrencyProvider.findCurrency(Short.MAX_VALUE));
+    assertThrows(IllegalArgumentException.class, () -> IsoCurrencyProvider.getCurrency((short) -1));
+
+    CurrencyQuery query = CurrencyQueryBuilder.of()
+        .setProviderName(AcmeMoneyConstants.PROVIDER_NAME)
+        .setNumericCodes(756, 978, 1000)
+        .build();
+    Set<CurrencyUnit> currencies = new HashSet<>(Monetary.getCurrencies(query));
+    assertEquals(2, currencies.size());
+    assertTrue(currencies.contains(chf));
+    assertTrue(currencies.contains(getAcmeCurrency("EUR")));
+  }
+
+  @Test
+  void searchByNumericCode() {
+    IsoCurrencyProvider provider = new IsoCurrencyProvider();
+    Set<CurrencyUnit> currencies = provider.getCurrencies(CurrencyQueryBuilder.of().setNumericCodes(756).build());
+    assertEquals(1, currencies.size());
+    assertTrue(currencies.contains(getAcmeCurrency("CHF")));
+
+    assertTrue(provider.getCurrencies(CurrencyQueryBuilder.of().setNumericCodes(-1).build()).isEmpty());
+    assertTrue(provider.getCurrencies(CurrencyQueryBuilder.of().setNumericCodes(1).build()).isEmpty());
+  }
+
+  @Test
+  void isCurrencyAvailable() {
+    IsoCurrencyProvider provider = new IsoCurrencyProvider();
+    assertTrue(provider.isCurrencyAvailable(CurrencyQueryBuilder.of().build()));
+    assertTrue(provider.isCurrencyAvailable(CurrencyQueryBuilder.of().setCurrencyCodes("AAA", "CHF").build()));
+    assertFalse(provider.isCurrencyAvailable(CurrencyQueryBuilder.of().setCurrencyCodes("AAA").build()));
+    assertTrue(provider.isCurrencyAvailable(CurrencyQueryBuilder.of().setNumericCodes(1, 978).build()));
+    assertFalse(provider.isCurrencyAvailable(CurrencyQueryBuilder.of().setNumericCodes(1).build()));
+    assertTrue(Monetary.isCurrencyAvailable("CHF", AcmeMoneyConstants.PROVIDER_NAME));
+  }
+
+  @Test
+  void reload(@TempDir Path directory) throws IOException {
+    CurrencyUnit eur = getAcmeCurrency("EUR");
+    CurrencyUnit clf = getAcmeCurrency("CLF");
+    assertEquals(4, clf.getDefaultFractionDigits());
+    short xaa = IsoCurrencyCompressor.compressCurrencyCode("XAA");
+    assertNull(IsoCurrencyProvider.findCurrency(xaa));
+
+    String xml;
+    try (InputStream inputStream = IsoCurrencyProviderTest.class.getClassLoader().getResourceAsStream("list_one.xml")) {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      byte[] chunk = new byte[8192];
+      int read;
+      while ((read = inputStream.read(chunk)) != -1) {
+        buffer.write(chunk, 0, read);
+      }
+      xml = new String(buffer.toByteArray(), UTF_8);
+    }
+    String amended = xml
+        .replaceFirst("(<Ccy>CLF</Ccy>\\s*<CcyNbr>990</CcyNbr>\\s*<CcyMnrUnts>)4", "$12")
+        .replace("</CcyTbl>", "<CcyNtry><CtryNm>TEST</CtryNm><CcyNm>Test</CcyNm><Ccy>XAA</Ccy><CcyNbr>2</CcyNbr><CcyMnrUnts>3</CcyMnrUnts></CcyNtry></CcyTbl>");
+    Path amendedFile = directory.resolve("list_one.xml");
+    Files.write(amendedFile, amended.getBytes(UTF_8));
+
+    Path originalFile = directory.resolve("iso_currencies.bin");
+    try (OutputStream outputStream = Files.newOutputStream(originalFile)) {
+      IsoCurrencyTableFile.write(IsoCurrencyCompressor.parseCurrencies(), outputStream);
+    }
+
+    try {
+      IsoCurrencyProvider.reload(amendedFile);
+      assertSame(eur, getAcmeCurrency("EUR"));
+      CurrencyUnit amendedClf = getAcmeCurrency("CLF");
+      assertNotSame(clf, amendedClf);
+      assertEquals(2, amendedClf.getDefaultFractionDigits());
+      CurrencyUnit added = IsoCurrencyProvider.getCurrency(xaa);
+      assertEquals("XAA", added.getCurrencyCode());
+      assertEquals(2, added.getNumericCode());
+      assertEquals(3, added.getDefaultFractionDigits());
+    } finally {
+      IsoCurrencyProvider.reloadAsync(originalFile, Runnable::run).join();
+    }
+    assertSame(eur, getAcmeCurrency("EUR"));
+    assertEquals(4, getAcmeCurrency("CLF").getDefaultFractionDigits());
+    assertNull(IsoCurrencyProvider.findCurrency(xaa));
+
+    Path invalidFile = directory.resolve("invalid.xml");
+    Files.write(invalidFile, "<invalid/>".getBytes(UTF_8));
+    assertThrows(IOException.class, () -> IsoCurrencyProvider.reload(invalidFile));
+    assertSame(eur, getAcmeCurrency("EUR"));
+
+    // XAA with the numeric code of EUR
+    Path duplicateFile = directory.resolve("duplicate.xml");
+    Files.write(duplicateFile, xml
+        .replace("</CcyTbl>", "<CcyNtry><CtryNm>TEST</CtryNm><CcyNm>Test</CcyNm><Ccy>XAA</Ccy><CcyNbr>978</CcyNbr><CcyMnrUnts>3</CcyMnrUnts></CcyNtry></CcyTbl>")
+        .getBytes(UTF_8));
+    assertThrows(IOException.class, () -> IsoCurrencyProvider.reload(duplicateFile));
+    assertSame(eur, getAcmeCurrency("EUR"));
+    assertNull(IsoCurrencyProvider.findCurrency(xaa));
+  }
+
   private static CurrencyUnit getAcmeCurrency(String currencyCode) {
     return getCurrency(currencyCode, AcmeMoneyConstants.PROVIDER_NAME);
   }
@@ -0,0 +1,58 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IsoCurrencyTableFileTest {
+
+  @Test
+  void roundTrip() throws IOException {
+    List<IsoCurrencyUnit> parsed = IsoCurrencyCompressor.parseCurrencies();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    IsoCurrencyTableFile.write(parsed, outputStream);
+    List<IsoCurrencyUnit> read = IsoCurrencyTableFile.read(new ByteArrayInputStream(outputStream.toByteArray()));
+    assertSameCurrencies(parsed, read);
+  }
+
+  @Test
+  void generatedTableMatchesXml() {
+    assertNotNull(IsoCurrencyTableFile.class.getClassLoader().getResource(IsoCurrencyTableFile.RESOURCE_NAME));
+    IsoCurrencyTable loaded = IsoCurrencyCompressor.load();
+    List<IsoCurrencyUnit> parsed = IsoCurrencyCompressor.parseCurrencies();
+    assertEquals(parsed.size(), loaded.size());
+    for (IsoCurrencyUnit expected : parsed) {
+      IsoCurrencyUnit actual = loaded.findByCompressedCode(expected.compressedCurrencyCode);
+      assertNotNull(actual, expected.getCurrencyCode());
+      assertSameCurrency(expected, actual);
+    }
+  }
+
+  @Test
+  void invalidMagic() {
+    byte[] data = new byte[12];
+    assertThrows(IOException.class, () -> IsoCurrencyTableFile.read(new ByteArrayInputStream(data)));
+  }
+
+  private static void assertSameCurrencies(List<IsoCurrencyUnit> expected, List<IsoCurrencyUnit> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSameCurrency(expected.get(i), actual.get(i));
+    }
+  }
+
+  private static void assertSameCurrency(IsoCurrencyUnit expected, IsoCurrencyUnit actual) {
+    assertEquals(expected.getCurrencyCode(), actual.getCurrencyCode());
+    assertEquals(expected.compressedCurrencyCode, actual.compressedCurrencyCode);
+    assertEquals(expected.getNumericCode(), actual.getNumericCode());
+    assertEquals(expected.getDefaultFractionDigits(), actual.getDefaultFractionDigits());
+  }
+
+}
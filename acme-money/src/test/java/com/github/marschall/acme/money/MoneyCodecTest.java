@@ -0,0 +1,207 @@
+package com.github.marschall.acme.money;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import javax.money.CurrencyUnit;
+import javax.money.UnknownCurrencyException;
+
+import org.javamoney.moneta.CurrencyUnitBuilder;
+import org.junit.jupiter.api.Test;
+
+class MoneyCodecTest {
+
+  private static final CurrencyUnit CHF = IsoCurrencyProvider.getCurrency(IsoCurrencyCompressor.compressCurrencyCode("CHF"));
+
+  private static final long[] VALUES = {
+      0L, 1L, -1L, 63L, -64L, 64L, 1_000_000L, -1_000_000L, 1L << 55, Long.MAX_VALUE, Long.MIN_VALUE
+  };
+
+  @Test
+  void varLong() throws IOException {
+    for (long value : VALUES) {
+      long zigzag = MoneyCodec.zigzag(value);
+      assertEquals(value, MoneyCodec.unzigzag(zigzag));
+
+      ByteBuffer buffer = ByteBuffer.allocate(MoneyCodec.MAX_VAR_LONG_SIZE);
+      MoneyCodec.writeVarLong(zigzag, buffer);
+      assertEquals(MoneyCodec.varLongSize(zigzag), buffer.position());
+      buffer.flip();
+      assertEquals(zigzag, MoneyCodec.readVarLong(buffer));
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      MoneyCodec.writeVarLong(zigzag, new DataOutputStream(bytes));
+      assertArrayEquals(buffer.array(), Arrays.copyOf(bytes.toByteArray(), buffer.capacity()));
+      assertEquals(zigzag, MoneyCodec.readVarLong(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+    assertEquals(1, MoneyCodec.varLongSize(0L));
+    assertEquals(1, MoneyCodec.varLongSize(127L));
+    assertEquals(2, MoneyCodec.varLongSize(128L));
+    assertEquals(10, MoneyCodec.varLongSize(-1L));
+
+    byte[] malformed = new byte[11];
+    Arrays.fill(malformed, (byte) 0x80);
+    assertThrows(IllegalArgumentException.class, () -> MoneyCodec.readVarLong(ByteBuffer.wrap(malformed)));
+    assertThrows(IOException.class, () -> MoneyCodec.readVarLong(new DataInputStream(new ByteArrayInputStream(malformed))));
+
+    // the tenth byte may only carry one bit
+    byte[] overlong = new byte[MoneyCodec.MAX_VAR_LONG_SIZE];
+    Arrays.fill(overlong, (byte) 0xFF);
+    overlong[overlong.length - 1] = 0x01;
+    assertEquals(-1L, MoneyCodec.readVarLong(ByteBuffer.wrap(overlong)));
+    overlong[overlong.length - 1] = 0x03;
+    assertThrows(IllegalArgumentException.class, () -> MoneyCodec.readVarLong(ByteBuffer.wrap(overlong)));
+    assertThrows(IOException.class, () -> MoneyCodec.readVarLong(new DataInputStream(new ByteArrayInputStream(overlong))));
+  }
+
+  @Test
+  void fastMoney6() throws IOException {
+    for (long value : VALUES) {
+      FastMoney6 amount = new FastMoney6(value, CHF);
+
+      // fixed
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      MoneyCodec.write(amount, new DataOutputStream(bytes));
+      byte[] expected = bytes.toByteArray();
+      assertEquals(MoneyCodec.FAST_MONEY_6_SIZE, expected.length);
+      assertEquals(amount, MoneyCodec.readFastMoney6(new DataInputStream(new ByteArrayInputStream(expected))));
+
+      byte[] array = new byte[MoneyCodec.FAST_MONEY_6_SIZE + 3];
+      assertEquals(array.length, MoneyCodec.write(amount, array, 3));
+      assertEquals(amount, MoneyCodec.readFastMoney6(array, 3));
+
+      for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MoneyCodec.FAST_MONEY_6_SIZE).order(order);
+        MoneyCodec.write(amount, buffer);
+        buffer.flip();
+        byte[] written = new byte[buffer.remaining()];
+        buffer.duplicate().get(written);
+        assertArrayEquals(expected, written);
+        assertEquals(amount, MoneyCodec.readFastMoney6(buffer));
+      }
+
+      // compact
+      bytes.reset();
+      MoneyCodec.writeCompact(amount, new DataOutputStream(bytes));
+      expected = bytes.toByteArray();
+      assertEquals(MoneyCodec.compactSize(amount), expected.length);
+      assertEquals(amount, MoneyCodec.readFastMoney6Compact(new DataInputStream(new ByteArrayInputStream(expected))));
+
+      array = new byte[expected.length + 1];
+      assertEquals(array.length, MoneyCodec.writeCompact(amount, array, 1));
+      assertEquals(amount, MoneyCodec.readFastMoney6Compact(array, 1));
+
+      ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+      MoneyCodec.writeCompact(amount, buffer);
+      assertArrayEquals(expected, buffer.array());
+      buffer.flip();
+      assertEquals(amount, MoneyCodec.readFastMoney6Compact(buffer));
+    }
+    assertEquals(5, MoneyCodec.compactSize(FastMoney6.of(1L, CHF)));
+  }
+
+  @Test
+  void fastNumber6() throws IOException {
+    for (long value : VALUES) {
+      FastNumber6 number = new FastNumber6(value);
+      byte[] array = new byte[MoneyCodec.FAST_NUMBER_6_SIZE];
+      assertEquals(array.length, MoneyCodec.write(number, array, 0));
+      assertEquals(number, MoneyCodec.readFastNumber6(array, 0));
+      assertEquals(number, MoneyCodec.readFastNumber6(new DataInputStream(new ByteArrayInputStream(array))));
+
+      array = new byte[MoneyCodec.compactSize(number)];
+      assertEquals(array.length, MoneyCodec.writeCompact(number, array, 0));
+      assertEquals(number, MoneyCodec.readFastNumber6Compact(array, 0));
+      assertEquals(number, MoneyCodec.readFastNumber6Compact(ByteBuffer.wrap(array)));
+    }
+  }
+
+  @Test
+  void fractions() throws IOException {
+    Fraction[] fractions = {Fraction.of(1L, 3L), Fraction.of(-22L, 7L), Fraction.of(-Long.MAX_VALUE, 1L), Fraction.of(1L, Long.MAX_VALUE)};
+    for (Fraction fraction : fractions) {
+      byte[] array = new byte[MoneyCodec.FRACTION_SIZE];
+      assertEquals(array.length, MoneyCodec.write(fraction, array, 0));
+      assertEquals(fraction, MoneyCodec.readFraction(array, 0));
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      MoneyCodec.writeCompact(fraction, new DataOutputStream(bytes));
+      assertEquals(MoneyCodec.compactSize(fraction), bytes.size());
+      assertEquals(fraction, MoneyCodec.readFractionCompact(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+      assertEquals(fraction, MoneyCodec.readFractionCompact(bytes.toByteArray(), 0));
+
+      FractionMoney amount = FractionMoney.of(fraction.numerator, fraction.denominator, CHF);
+      array = new byte[MoneyCodec.FRACTION_MONEY_SIZE];
+      assertEquals(array.length, MoneyCodec.write(amount, array, 0));
+      assertEquals(amount, MoneyCodec.readFractionMoney(ByteBuffer.wrap(array)));
+
+      array = new byte[MoneyCodec.compactSize(amount)];
+      assertEquals(array.length, MoneyCodec.writeCompact(amount, array, 0));
+      assertEquals(amount, MoneyCodec.readFractionMoneyCompact(array, 0));
+    }
+  }
+
+  @Test
+  void invalidDenominator() {
+    for (long denominator : new long[] {0L, -1L, Long.MIN_VALUE}) {
+      ByteBuffer buffer = ByteBuffer.allocate(MoneyCodec.FRACTION_MONEY_SIZE);
+      buffer.putLong(1L).putLong(denominator);
+      MoneyCodec.write(CHF, buffer);
+      byte[] array = buffer.array();
+      assertThrows(IllegalArgumentException.class, () -> MoneyCodec.readFraction(array, 0));
+      assertThrows(IllegalArgumentException.class, () -> MoneyCodec.readFractionMoney(array, 0));
+      assertThrows(IOException.class, () -> MoneyCodec.readFraction(new DataInputStream(new ByteArrayInputStream(array))));
+      assertThrows(IOException.class, () -> MoneyCodec.readFractionMoney(new DataInputStream(new ByteArrayInputStream(array))));
+
+      buffer.clear();
+      MoneyCodec.writeVarLong(MoneyCodec.zigzag(1L), buffer);
+      MoneyCodec.writeVarLong(denominator, buffer);
+      MoneyCodec.write(CHF, buffer);
+      assertThrows(IllegalArgumentException.class, () -> MoneyCodec.readFractionCompact(array, 0));
+      assertThrows(IllegalArgumentException.class, () -> MoneyCodec.readFractionMoneyCompact(array, 0));
+      assertThrows(IOException.class, () -> MoneyCodec.readFractionCompact(new DataInputStream(new ByteArrayInputStream(array))));
+      assertThrows(IOException.class, () -> MoneyCodec.readFractionMoneyCompact(new DataInputStream(new ByteArrayInputStream(array))));
+    }
+    // not reduced fractions are reduced
+    ByteBuffer buffer = ByteBuffer.allocate(MoneyCodec.FRACTION_SIZE);
+    buffer.putLong(2L).putLong(4L);
+    assertEquals(Fraction.of(1L, 2L), MoneyCodec.readFraction(buffer.array(), 0));
+  }
+
+  @Test
+  void currency() throws IOException {
+    byte[] array = new byte[MoneyCodec.CURRENCY_SIZE];
+    assertEquals(array.length, MoneyCodec.write(CHF, array, 0));
+    assertSame(CHF, MoneyCodec.readCurrency(array, 0));
+    assertSame(CHF, MoneyCodec.readCurrency(new DataInputStream(new ByteArrayInputStream(array))));
+
+    // AAA
+    assertThrows(UnknownCurrencyException.class, () -> MoneyCodec.readCurrency(new byte[] {0, 0}, 0));
+    assertThrows(IllegalArgumentException.class, () -> MoneyCodec.readCurrency(new byte[] {(byte) 0xFF, (byte) 0xFF}, 0));
+  }
+
+  @Test
+  void nonIsoCurrency() {
+    CurrencyUnit custom = CurrencyUnitBuilder.of("XAB", "test").build();
+    byte[] array = new byte[MoneyCodec.FAST_MONEY_6_SIZE];
+    assertThrows(IllegalArgumentException.class, () -> MoneyCodec.write(custom, array, 0));
+    assertThrows(IllegalArgumentException.class, () -> MoneyCodec.write(custom, new DataOutputStream(new ByteArrayOutputStream())));
+
+    // nothing is written for a rejected amount
+    ByteBuffer buffer = ByteBuffer.wrap(array);
+    assertThrows(IllegalArgumentException.class, () -> MoneyCodec.write(FastMoney6.of(1L, custom), buffer));
+    assertEquals(0, buffer.position());
+  }
+
+}